@@ -0,0 +1,262 @@
+package com.opt.ssafy.optback.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+/**
+ * 세션별 송신 큐.
+ * 브로커 스레드는 큐에 넣기만 하고 실제 전송은 세션마다 하나의 가상 스레드가 순서대로 처리하므로, 느린 클라이언트가 다른 세션의 전송을 막지 않는다.
+ * 읽음 상태, 챌린지 진행 상황처럼 최신 상태만 의미 있는 프레임(합칠 수 있는 프레임)은 큐에서 대기 중인 같은 구독의 프레임과 합친다.
+ * 큐는 메시지 수와 바이트로 제한하며, 넘치면 정책에 따라 합칠 수 있는 프레임 중 오래된 것부터 버리거나(DROP_OLDEST) 세션을 종료한다(CLOSE).
+ * 채팅 메시지처럼 합칠 수 없는 프레임은 버리지 않으므로, DROP_OLDEST에서도 그런 프레임을 버려야 할 때는 세션을 종료한다.
+ */
+@Slf4j
+public class BoundedOutboundSession extends WebSocketSessionDecorator {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, // 합칠 수 있는 프레임만 오래된 것부터 버림 (버릴 프레임이 없으면 종료)
+        CLOSE
+    }
+
+    private static final String MESSAGE_COMMAND = "MESSAGE\n";
+    private static final String HEADER_END = "\n\n";
+
+    private final OutboundSessionManager manager;
+    private final Deque<Frame> queue = new ArrayDeque<>();
+    private final Map<String, Frame> pendingByKey = new HashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private long queuedBytes;
+    private volatile long sendStartedAt;
+    private volatile boolean closed;
+
+    public BoundedOutboundSession(WebSocketSession delegate, OutboundSessionManager manager) {
+        super(delegate);
+        this.manager = manager;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            return;
+        }
+        if (isSendTimeExceeded(System.currentTimeMillis())) {
+            closed = true;
+            manager.recordClosed();
+            throw new SessionLimitExceededException("전송 시간 제한 초과 (sessionId: " + getId() + ")",
+                    CloseStatus.SESSION_NOT_RELIABLE);
+        }
+        enqueue(toFrame(message));
+        scheduleDrain();
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        discard();
+        super.close(status);
+    }
+
+    public int getQueuedMessages() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public long getQueuedBytes() {
+        synchronized (queue) {
+            return queuedBytes;
+        }
+    }
+
+    public boolean isSendTimeExceeded(long now) {
+        long startedAt = sendStartedAt;
+        return startedAt != 0 && now - startedAt > manager.getSendTimeLimitMs();
+    }
+
+    // 연결 종료 시 대기 중인 프레임 정리
+    public void discard() {
+        closed = true;
+        synchronized (queue) {
+            queue.clear();
+            pendingByKey.clear();
+            queuedBytes = 0;
+        }
+    }
+
+    private void enqueue(Frame frame) {
+        synchronized (queue) {
+            if (frame.key != null && coalesce(pendingByKey.get(frame.key), frame)) {
+                manager.recordCoalesced();
+                return;
+            }
+            while (!queue.isEmpty() && (queue.size() >= manager.getMaxQueuedMessages()
+                    || queuedBytes + frame.size > manager.getMaxQueuedBytes())) {
+                if (manager.getOverflowPolicy() == OverflowPolicy.CLOSE) {
+                    overflow();
+                }
+                if (!dropOldestCoalescible()) {
+                    if (frame.key == null) {
+                        overflow();
+                    }
+                    manager.recordDropped(); // 대기 중인 프레임이 모두 합칠 수 없는 프레임이면 새 프레임을 버림
+                    return;
+                }
+                manager.recordDropped();
+            }
+            queue.add(frame);
+            queuedBytes += frame.size;
+            if (frame.key != null) {
+                pendingByKey.put(frame.key, frame);
+            }
+        }
+    }
+
+    // 대기 중인 프레임 중 합칠 수 있는 가장 오래된 프레임을 버림, 없으면 false
+    private boolean dropOldestCoalescible() {
+        Iterator<Frame> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Frame pending = iterator.next();
+            if (pending.key != null) {
+                iterator.remove();
+                remove(pending);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void overflow() {
+        closed = true;
+        manager.recordClosed();
+        throw new SessionLimitExceededException("송신 큐 한도 초과 (sessionId: " + getId() + ")",
+                CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    // 대기 중인 프레임에 새 프레임을 합침, 합치지 못하면 false
+    private boolean coalesce(Frame pending, Frame frame) {
+        if (pending == null) {
+            return false;
+        }
+        String body = manager.getCoalescer().merge(frame.destination, pending.body, frame.body);
+        if (body == null) {
+            return false;
+        }
+        WebSocketMessage<?> message = body.equals(frame.body) ? frame.message
+                : new TextMessage(frame.headers.replaceFirst("(?m)^content-length:\\d+$",
+                "content-length:" + body.getBytes(StandardCharsets.UTF_8).length)
+                + HEADER_END + body + "\u0000");
+        queuedBytes += message.getPayloadLength() - pending.size;
+        pending.message = message;
+        pending.headers = frame.headers;
+        pending.body = body;
+        pending.size = message.getPayloadLength();
+        return true;
+    }
+
+    private Frame poll() {
+        synchronized (queue) {
+            Frame frame = queue.poll();
+            if (frame != null) {
+                remove(frame);
+            }
+            return frame;
+        }
+    }
+
+    private void remove(Frame frame) {
+        queuedBytes -= frame.size;
+        if (frame.key != null) {
+            pendingByKey.remove(frame.key, frame);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            manager.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Frame frame;
+            while (!closed && (frame = poll()) != null) {
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    getDelegate().sendMessage(frame.message);
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("❌ [WebSocket] 메시지 전송 실패, 세션을 종료합니다. (sessionId: {})", getId(), e);
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+        }
+        // 전송을 마친 직후 추가된 프레임이 있으면 다시 전송
+        if (!closed && getQueuedMessages() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    public void closeQuietly(CloseStatus status) {
+        try {
+            close(status);
+        } catch (IOException e) {
+            log.debug("WebSocket 세션 종료 실패 (sessionId: {})", getId(), e);
+        }
+    }
+
+    private Frame toFrame(WebSocketMessage<?> message) {
+        Frame frame = new Frame(message);
+        if (!(message instanceof TextMessage text) || !text.getPayload().startsWith(MESSAGE_COMMAND)) {
+            return frame;
+        }
+        String payload = text.getPayload();
+        int headerEnd = payload.indexOf(HEADER_END);
+        if (headerEnd < 0) {
+            return frame;
+        }
+        frame.headers = payload.substring(0, headerEnd);
+        frame.body = payload.endsWith("\u0000") ? payload.substring(headerEnd + HEADER_END.length(),
+                payload.length() - 1) : payload.substring(headerEnd + HEADER_END.length());
+
+        String subscription = null;
+        for (String line : frame.headers.split("\n")) {
+            if (line.startsWith("destination:")) {
+                frame.destination = line.substring("destination:".length());
+            } else if (line.startsWith("subscription:")) {
+                subscription = line.substring("subscription:".length());
+            }
+        }
+        String key = manager.getCoalescer().key(frame.destination, frame.body);
+        frame.key = key == null ? null : subscription + "|" + key;
+        return frame;
+    }
+
+    private static class Frame {
+        private WebSocketMessage<?> message;
+        private String headers;
+        private String body;
+        private String destination;
+        private String key;
+        private int size;
+
+        private Frame(WebSocketMessage<?> message) {
+            this.message = message;
+            this.size = message.getPayloadLength();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.opt.ssafy.optback.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 스키마 변경은 db/migration의 스크립트로 관리 (JPA 초기화 전에 실행됨)
+@Configuration
+public class FlywayConfig {
+
+    // 마이그레이션 없이 만들어진 기존 DB는 버전 0으로 기록하고 V1부터 적용
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("0");
+    }
+}
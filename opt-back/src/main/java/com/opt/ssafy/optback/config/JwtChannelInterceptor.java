@@ -1,26 +1,34 @@
 package com.opt.ssafy.optback.config;
 
-import com.opt.ssafy.optback.domain.auth.application.JwtProvider;
+import com.opt.ssafy.optback.domain.auth.application.VerifiedTokenCache;
+import java.security.Principal;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
-import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+/**
+ * STOMP 인증.
+ * CONNECT에서 토큰을 검증하고 인증 정보를 세션의 Principal로 연결하며, 이후 SUBSCRIBE/SEND 프레임은 세션의 Principal을 재사용한다.
+ * 메시지 핸들러는 별도 스레드에서 실행되므로 처리 직전에 SecurityContext를 설정하고 처리 후 비운다.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class JwtChannelInterceptor implements ChannelInterceptor {
+public class JwtChannelInterceptor implements ExecutorChannelInterceptor {
 
-    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     // 메시지 전송 전 실행 (인증된 사용자만)
     @Override
@@ -32,46 +40,50 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
             return message;
         }
 
-        log.info("🟢 [WebSocket] STOMP Command: {}", accessor.getCommand());
+        log.debug("🟢 [WebSocket] STOMP Command: {}", accessor.getCommand());
 
-        // Authorization 헤더 체크
-        if (StompCommand.CONNECT.equals(accessor.getCommand()) ||
-                StompCommand.SUBSCRIBE.equals(accessor.getCommand()) ||
-                StompCommand.SEND.equals(accessor.getCommand())) {
-
-            log.info("🟢 [WebSocket] {} 요청 감지됨", accessor.getCommand());
-
-            // WebSocket 요청에서 JWT 토큰 가져오기
-            String jwtToken = extractToken(accessor);
-            if (jwtToken == null) {
-                log.error("❌ [WebSocket] Authorization 헤더가 존재하지 않음");
-                throw new RuntimeException("❌ [WebSocket] Authorization 헤더가 존재하지 않음");
-            }
-
-            // JWT 검증
-            if (!jwtProvider.validateToken(jwtToken)) {
-                log.error("❌ [WebSocket] JWT 토큰 검증 실패!");
-                throw new RuntimeException("검증되지 않은 JWT토큰");
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            // WebSocket 세션에 인증 정보 연결 (이후 프레임의 simpUser로 전달됨)
+            Authentication authentication = authenticate(accessor);
+            accessor.setUser(authentication);
+            log.info("✅ [WebSocket] 사용자 인증 성공 (사용자명: {})", authentication.getName());
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())
+                || StompCommand.SEND.equals(accessor.getCommand())) {
+            // CONNECT에서 인증되지 않은 세션은 프레임의 Authorization 헤더로 인증
+            if (accessor.getUser() == null) {
+                accessor.setUser(authenticate(accessor));
             }
+        }
 
-            Authentication authentication = jwtProvider.getAuthentication(jwtToken);
-            if (authentication == null) {
-                log.error("❌ [WebSocket] JWT에서 인증 정보를 가져오지 못했습니다.");
-                return message;
-            }
+        return message;
+    }
 
-            // SecurityContext에 저장
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        if (user instanceof Authentication authentication) {
             SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
             securityContext.setAuthentication(authentication);
             SecurityContextHolder.setContext(securityContext);
+        }
+        return message;
+    }
 
-            // WebSocket 세션에서도 인증 정보 설정
-            accessor.setUser(authentication);
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        SecurityContextHolder.clearContext();
+    }
 
-            log.info("✅ [WebSocket] 사용자 인증 성공 (사용자명: {})", authentication.getName());
+    private Authentication authenticate(StompHeaderAccessor accessor) {
+        // WebSocket 요청에서 JWT 토큰 가져오기
+        String jwtToken = extractToken(accessor);
+        if (jwtToken == null) {
+            log.error("❌ [WebSocket] Authorization 헤더가 존재하지 않음");
+            throw new RuntimeException("❌ [WebSocket] Authorization 헤더가 존재하지 않음");
         }
-
-        return message;
+        // JWT 검증 (같은 토큰은 캐시된 인증 정보 사용)
+        return verifiedTokenCache.authenticate(jwtToken);
     }
 
     private String extractToken(StompHeaderAccessor accessor) {
@@ -84,5 +96,5 @@ public class JwtChannelInterceptor implements ChannelInterceptor {
         }
         return null;
     }
-    
+
 }
@@ -0,0 +1,41 @@
+package com.opt.ssafy.optback.config;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessageBucket;
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
+import com.opt.ssafy.optback.domain.push.entity.PushNotification;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+// auto-index-creation을 사용하지 않으므로, 문서에 선언된 인덱스(@CompoundIndex 등)를 시작 시 생성
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private static final List<Class<?>> DOCUMENTS = List.of(ChatMessage.class, ChatMessageBucket.class, ChatRoom.class,
+            PushNotification.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : DOCUMENTS) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(document);
+                resolver.resolveIndexFor(document).forEach(indexOps::ensureIndex);
+            } catch (DataAccessException e) {
+                log.warn("MongoDB 인덱스 생성 실패: {}", document.getSimpleName(), e);
+            }
+        }
+    }
+}
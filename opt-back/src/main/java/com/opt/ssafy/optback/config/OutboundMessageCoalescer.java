@@ -0,0 +1,69 @@
+package com.opt.ssafy.optback.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 송신 큐에 아직 전송되지 않은 프레임이 남아 있을 때 최신 상태 하나로 합칠 수 있는 메시지를 판별하고 합친다.
+ * 읽음 상태는 멤버별 마지막 읽은 시각만 의미가 있으므로 최신 것으로 교체하고,
+ * 챌린지 진행 상황은 멤버별 delta를 더하고 점수/순위/진행률은 최신 값을 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboundMessageCoalescer {
+
+    private static final String READ_STATUS_SUFFIX = "/read-status/v2";
+    private static final String CHALLENGE_PREFIX = "/topic/challenge/";
+    private static final Pattern MEMBER_ID = Pattern.compile("\"memberId\"\\s*:\\s*(\\d+)");
+
+    private final ObjectMapper objectMapper;
+
+    // 합칠 수 있는 메시지의 키, 합칠 수 없으면 null
+    public String key(String destination, String body) {
+        if (destination == null) {
+            return null;
+        }
+        if (destination.endsWith(READ_STATUS_SUFFIX)) {
+            Matcher matcher = MEMBER_ID.matcher(body);
+            return matcher.find() ? destination + "#" + matcher.group(1) : null;
+        }
+        return destination.startsWith(CHALLENGE_PREFIX) ? destination : null;
+    }
+
+    // 이전 본문에 새 본문을 합친 결과, 합칠 수 없으면 null
+    public String merge(String destination, String previous, String next) {
+        if (!destination.startsWith(CHALLENGE_PREFIX)) {
+            return next;
+        }
+        try {
+            JsonNode before = objectMapper.readTree(previous);
+            ObjectNode merged = (ObjectNode) objectMapper.readTree(next);
+
+            Map<Integer, ObjectNode> members = new LinkedHashMap<>();
+            before.path("members").forEach(member -> members.put(member.path("memberId").asInt(), member.deepCopy()));
+            merged.path("members").forEach(member -> {
+                ObjectNode latest = member.deepCopy();
+                ObjectNode pending = members.get(latest.path("memberId").asInt());
+                if (pending != null) {
+                    latest.put("delta", pending.path("delta").asInt() + latest.path("delta").asInt());
+                }
+                members.put(latest.path("memberId").asInt(), latest);
+            });
+            merged.putArray("members").addAll(members.values());
+            return objectMapper.writeValueAsString(merged);
+        } catch (JsonProcessingException | ClassCastException e) {
+            log.warn("챌린지 진행 상황 프레임 병합 실패 ({})", destination, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.opt.ssafy.optback.config;
+
+import com.opt.ssafy.optback.config.BoundedOutboundSession.OverflowPolicy;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+/**
+ * WebSocket 세션을 BoundedOutboundSession으로 감싸 세션별 송신 큐를 관리한다.
+ * 주기적으로 전송이 제한 시간을 넘긴 세션을 종료하고, 송신 큐 상태(세션 수, 대기 프레임, 버림/병합/종료 건수)를 기록한다.
+ */
+@Slf4j
+@Component
+public class OutboundSessionManager implements WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, BoundedOutboundSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+
+    @Getter
+    private final OutboundMessageCoalescer coalescer;
+    @Getter
+    private final int maxQueuedMessages;
+    @Getter
+    private final int maxQueuedBytes;
+    @Getter
+    private final int sendTimeLimitMs;
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    public OutboundSessionManager(OutboundMessageCoalescer coalescer,
+                                  @Value("${websocket.outbound.max-queued-messages:256}") int maxQueuedMessages,
+                                  @Value("${websocket.outbound.max-queued-bytes:524288}") int maxQueuedBytes,
+                                  @Value("${websocket.outbound.send-time-limit-ms:10000}") int sendTimeLimitMs,
+                                  @Value("${websocket.outbound.overflow-policy:DROP_OLDEST}")
+                                  OverflowPolicy overflowPolicy) {
+        this.coalescer = coalescer;
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BoundedOutboundSession outbound = new BoundedOutboundSession(session, OutboundSessionManager.this);
+                sessions.put(session.getId(), outbound);
+                super.afterConnectionEstablished(outbound);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(sessions.getOrDefault(session.getId(), session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(sessions.getOrDefault(session.getId(), session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BoundedOutboundSession outbound = sessions.remove(session.getId());
+                if (outbound != null) {
+                    outbound.discard();
+                }
+                super.afterConnectionClosed(outbound == null ? session : outbound, closeStatus);
+            }
+        };
+    }
+
+    public OutboundStats getStats() {
+        long queuedMessages = 0;
+        long queuedBytes = 0;
+        int maxDepth = 0;
+        for (BoundedOutboundSession session : sessions.values()) {
+            int depth = session.getQueuedMessages();
+            queuedMessages += depth;
+            queuedBytes += session.getQueuedBytes();
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        return new OutboundStats(sessions.size(), queuedMessages, queuedBytes, maxDepth,
+                dropped.get(), coalesced.get(), closed.get());
+    }
+
+    // 전송이 제한 시간을 넘긴 세션 종료 (새 메시지가 오지 않는 세션도 정리되도록 주기적으로 확인)
+    @Scheduled(fixedDelayString = "${websocket.outbound.report-interval-ms:60000}")
+    public void report() {
+        long now = System.currentTimeMillis();
+        sessions.values().stream()
+                .filter(session -> session.isSendTimeExceeded(now))
+                .forEach(session -> {
+                    log.warn("❌ [WebSocket] 전송 시간 제한 초과로 세션을 종료합니다. (sessionId: {})", session.getId());
+                    recordClosed();
+                    session.closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+                });
+
+        OutboundStats stats = getStats();
+        if (stats.sessions() > 0) {
+            log.info("📩 [WebSocket] 송신 큐 - 세션 {}개, 대기 {}건 ({}B), 최대 깊이 {}, 누적 버림 {}건 / 병합 {}건 / 종료 {}건",
+                    stats.sessions(), stats.queuedMessages(), stats.queuedBytes(), stats.maxDepth(),
+                    stats.dropped(), stats.coalesced(), stats.closed());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    void recordCoalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    void recordClosed() {
+        closed.incrementAndGet();
+    }
+
+    public record OutboundStats(int sessions, long queuedMessages, long queuedBytes, int maxDepth,
+                                long dropped, long coalesced, long closed) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.opt.ssafy.optback.config;
+
+import java.time.ZoneId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 기록 날짜, 자정 전환 등 날짜 경계를 계산할 때 사용하는 서비스 시간대 (서버 JVM 시간대와 무관)
+@Configuration
+public class TimeConfig {
+
+    @Bean
+    public ZoneId appZoneId(@Value("${app.time-zone:Asia/Seoul}") String timeZone) {
+        return ZoneId.of(timeZone);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @RequiredArgsConstructor
@@ -18,6 +19,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private static final String PUBLISH = "/app"; // 서버로 메시지를 보낼 때 사용하는 경로
 
     private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final OutboundSessionManager outboundSessionManager;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
@@ -35,4 +37,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(jwtChannelInterceptor);
     }
+
+    // 세션별 송신 큐(OutboundSessionManager)로 감싸고, 그 앞단의 Spring 송신 버퍼도 같은 한도로 제한
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(outboundSessionManager.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(outboundSessionManager.getMaxQueuedBytes())
+                .addDecoratorFactory(outboundSessionManager);
+    }
 }
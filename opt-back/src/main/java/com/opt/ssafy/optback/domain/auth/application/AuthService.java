@@ -11,6 +11,7 @@ import com.opt.ssafy.optback.domain.member.entity.Member;
 import com.opt.ssafy.optback.domain.member.entity.Role;
 import com.opt.ssafy.optback.domain.member.exception.MemberNotFoundException;
 import com.opt.ssafy.optback.domain.member.repository.MemberRepository;
+import com.opt.ssafy.optback.domain.push.application.PushService;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Collections;
@@ -39,8 +40,10 @@ public class AuthService {
     private final JwtProvider jwtProvider;
     private final RestTemplate restTemplate;
     private final TokenBlacklistService tokenBlacklistService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final RedisTemplate<String, String> redisTemplate;
     private final BadgeService badgeService;
+    private final PushService pushService;
 
     public void signUp(SignUpRequest signUpRequest) {
         try {
@@ -171,6 +174,10 @@ public class AuthService {
         if (expirationTime > 0) {
             tokenBlacklistService.blackList(accessToken, expirationTime);
         }
+        // WebSocket 연결에 재사용하던 인증 정보 제거 (다른 서버 포함)
+        verifiedTokenCache.evict(accessToken);
+        // 이 회원의 기기로 가던 푸시 중단
+        pushService.deleteTokens(member.getId());
 
         // 카카오 로그아웃
         boolean kakaoLogoutSuccess = requestKakaoLogout(kakaoAccessToken);
@@ -2,6 +2,7 @@ package com.opt.ssafy.optback.domain.auth.application;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -27,12 +28,15 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtProvider {
     private final Key key;
+    // 파서는 thread-safe하므로 요청마다 만들지 않고 재사용
+    private final JwtParser jwtParser;
     public static final int ACCESS_TOKEN_EXPIRE = 1000 * 60 * 60 * 24;
     public static final int REFRESH_TOKEN_EXPIRE = 1000 * 60 * 60 * 24 * 15;
 
     public JwtProvider(@Value("${jwt.secretKey}") String secretKey) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(Authentication authentication, long expireMills) {
@@ -63,7 +67,11 @@ public class JwtProvider {
     // JWT 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
     public Authentication getAuthentication(String accessToken) {
         // 토큰 복호화
-        Claims claims = parseClaims(accessToken);
+        return createAuthentication(parseClaims(accessToken));
+    }
+
+    // 이미 검증된 claim으로 Authentication 생성
+    public Authentication createAuthentication(Claims claims) {
         // claim에서 권한 정보 가져오기 / claim : 토큰을 복호화 한 것. 유저/토큰의 정보가 들어있음
         Collection<? extends GrantedAuthority> authorities =
                 Arrays.stream(claims.get("auth").toString().split(","))
@@ -76,9 +84,22 @@ public class JwtProvider {
 
     // 토큰 정보를 검증하는 메서드
     public boolean validateToken(String token) {
+        parseVerified(token);
+        return true;
+    }
+
+    // 서명과 만료 검증, claim 추출을 한 번의 파싱으로 처리 (검증 실패 시 validateToken과 같은 예외)
+    public Claims getVerifiedClaims(String token) {
+        Claims claims = parseVerified(token);
+        if (claims.get("auth") == null) {
+            throw new RuntimeException("권한 정보가 없는 토큰입니다.");
+        }
+        return claims;
+    }
+
+    private Claims parseVerified(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (MalformedJwtException e) {
             throw new MalformedJwtException("위조된 토큰");
         } catch (ExpiredJwtException e) {
@@ -94,7 +115,7 @@ public class JwtProvider {
 
     private Claims parseClaims(String accessToken) {
         try {
-            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            Claims claims = jwtParser.parseClaimsJws(accessToken).getBody();
             if (claims.get("auth") == null) {
                 throw new RuntimeException("권한 정보가 없는 토큰입니다.");
             }
@@ -111,7 +132,7 @@ public class JwtProvider {
     // JWT 토큰 만료 시간 가져오기
     public long getExpirationTime(String accessToken) {
         try {
-            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            Claims claims = jwtParser.parseClaimsJws(accessToken).getBody();
             Date expiration = claims.getExpiration();
             return expiration.getTime() - System.currentTimeMillis();
         } catch (ExpiredJwtException e) {
@@ -0,0 +1,80 @@
+package com.opt.ssafy.optback.domain.auth.application;
+
+import com.opt.ssafy.optback.global.cache.NearCache;
+import io.jsonwebtoken.Claims;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검증이 끝난 토큰의 인증 정보 캐시 (key: 토큰의 SHA-256).
+ * 같은 토큰으로 다시 연결하는 WebSocket 세션은 서명 검증과 claim 파싱 없이 인증 정보를 재사용한다.
+ * 항목은 토큰 만료 시각과 TTL 중 이른 시각까지만 사용하고, 최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 제거한다.
+ * 로그아웃한 토큰은 evict하고 Redis 채널(auth:token:invalidate)로 다른 서버에도 알리며, 다시 검증할 때 블랙리스트를 확인한다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String INVALIDATION_CHANNEL = "auth:token:invalidate";
+
+    private final JwtProvider jwtProvider;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final NearCache<String, Verified> cache;
+
+    public VerifiedTokenCache(JwtProvider jwtProvider, TokenBlacklistService tokenBlacklistService,
+                              StringRedisTemplate stringRedisTemplate,
+                              RedisMessageListenerContainer redisMessageListenerContainer,
+                              @Value("${jwt.verified-cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.verified-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.jwtProvider = jwtProvider;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.cache = new NearCache<>("토큰 인증", maxSize, Duration.ofSeconds(ttlSeconds), INVALIDATION_CHANNEL,
+                Function.identity(), stringRedisTemplate, redisMessageListenerContainer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        cache.subscribe();
+    }
+
+    // 검증 실패 시 JwtProvider.validateToken과 같은 예외
+    public Authentication authenticate(String token) {
+        return cache.get(hash(token), key -> verify(token), Verified::expiresAt).authentication();
+    }
+
+    // 이 서버와 다른 서버의 캐시에서 제거
+    public void evict(String token) {
+        cache.evict(hash(token));
+    }
+
+    private Verified verify(String token) {
+        Claims claims = jwtProvider.getVerifiedClaims(token);
+        if (tokenBlacklistService.isBlackListed(token)) {
+            throw new RuntimeException("로그아웃된 토큰입니다.");
+        }
+        long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        return new Verified(jwtProvider.createAuthentication(claims), expiresAt);
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Verified(Authentication authentication, long expiresAt) {
+    }
+}
@@ -15,11 +15,8 @@ import com.opt.ssafy.optback.domain.chat.dto.SystemMessageToMember;
 import com.opt.ssafy.optback.domain.chat.service.SystemMessageService;
 import com.opt.ssafy.optback.domain.member.entity.Member;
 import com.opt.ssafy.optback.domain.push.application.PushService;
-import com.opt.ssafy.optback.domain.push.entity.FcmToken;
-import com.opt.ssafy.optback.domain.push.repository.FcmTokenRepository;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -36,14 +33,12 @@ public class BadgeService {
     private final BadgeRepository badgeRepository;
     private final Map<ActivityType, BadgeEvaluator> evaluators;
     private final PushService pushService;
-    private final FcmTokenRepository fcmTokenRepository;
     private final SystemMessageService systemMessageService;
     private final UserDetailsServiceImpl userDetailsService;
 
     public BadgeService(List<BadgeEvaluator> evaluatorList, BadgeDefinitionRepository badgeDefinitionRepository,
                         MemberBadgeRepository memberBadgeRepository, BadgeRepository badgeRepository,
-                        PushService pushService,
-                        FcmTokenRepository fcmTokenRepository, SystemMessageService systemMessageService,
+                        PushService pushService, SystemMessageService systemMessageService,
                         UserDetailsServiceImpl userDetailsService) {
         this.evaluators = evaluatorList.stream()
                 .collect(Collectors.toMap(BadgeEvaluator::getType, Function.identity()));
@@ -51,7 +46,6 @@ public class BadgeService {
         this.memberBadgeRepository = memberBadgeRepository;
         this.badgeRepository = badgeRepository;
         this.pushService = pushService;
-        this.fcmTokenRepository = fcmTokenRepository;
         this.systemMessageService = systemMessageService;
         this.userDetailsService = userDetailsService;
     }
@@ -119,13 +113,9 @@ public class BadgeService {
             String title = "뱃지 획득 알림";
             String body = "새로운 뱃지를 획득하였습니다";
             Map<String, String> data = Map.of("badgeId", String.valueOf(badge.getId()));
-            Optional<FcmToken> tokens = fcmTokenRepository.findByMemberId((long) member.getId());
-            if (tokens.isEmpty()) {
+            if (pushService.sendPushMessage(member.getId(), title, body, data) == 0) {
                 log.info("토큰 없어서 못보냄");
-                return;
             }
-            String token = tokens.get().getToken();
-            pushService.sendPushMessage(title, body, data, token);
         } catch (Exception e) {
             e.printStackTrace();
             throw new BadgeException("새로운 뱃지 획득 메시지를 보내는 데 실패하였습니다");
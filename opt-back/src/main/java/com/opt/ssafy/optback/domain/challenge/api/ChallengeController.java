@@ -2,13 +2,16 @@ package com.opt.ssafy.optback.domain.challenge.api;
 
 import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
 import com.opt.ssafy.optback.domain.challenge.application.ChallengeService;
+import com.opt.ssafy.optback.domain.challenge.dto.ChallengeCompletionResponse;
 import com.opt.ssafy.optback.domain.challenge.dto.ChallengeRecordRequest;
 import com.opt.ssafy.optback.domain.challenge.dto.ChallengeRecordResponse;
 import com.opt.ssafy.optback.domain.challenge.dto.ChallengeRecordWithRankResponse;
 import com.opt.ssafy.optback.domain.challenge.dto.ChallengeResponse;
 import com.opt.ssafy.optback.domain.challenge.dto.ContributionResponse;
 import com.opt.ssafy.optback.domain.challenge.dto.CreateChallengeRequest;
+import com.opt.ssafy.optback.domain.challenge.dto.CursorPageResponse;
 import com.opt.ssafy.optback.domain.challenge.dto.JoinChallengeRequest;
+import com.opt.ssafy.optback.domain.challenge.dto.LeaderboardEntryResponse;
 import com.opt.ssafy.optback.domain.member.entity.Member;
 import com.opt.ssafy.optback.global.dto.SuccessResponse;
 import java.util.List;
@@ -44,6 +47,17 @@ public class ChallengeController {
         return ResponseEntity.ok(challenges);
     }
 
+    // GET /challenges/scroll?status=PROGRESS&before={cursor}&size=20 - 커서 기반 챌린지 조회
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<ChallengeResponse>> getChallengesByCursor(
+            @RequestParam(defaultValue = "PROGRESS", required = false) String status,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(challengeService.getChallengesByCursor(status, before, after, size, includeTotal));
+    }
+
     // GET /challenges/{id} - 특정 챌린지 상세 조회
     @GetMapping("/{id}")
     public ResponseEntity<ChallengeResponse> getChallenge(@PathVariable int id) {
@@ -55,6 +69,21 @@ public class ChallengeController {
         return ResponseEntity.ok(challengeService.getChallengeContributions(id));
     }
 
+    // GET /challenges/{id}/leaderboard?size=10 - 챌린지 랭킹 상위 N명 조회
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(@PathVariable int id,
+                                                                         @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(challengeService.getLeaderboard(id, size));
+    }
+
+    // GET /challenges/{id}/leaderboard/me?radius=2 - 내 순위 주변 랭킹 조회
+    @GetMapping("/{id}/leaderboard/me")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboardAroundMe(@PathVariable int id,
+                                                                                 @RequestParam(defaultValue = "2") int radius) {
+        return ResponseEntity.ok(challengeService.getLeaderboardAroundMe(id, radius));
+    }
+
     // POST /challenges - 챌린지 생성 (TRAINER 전용)
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('TRAINER')")
@@ -85,6 +114,17 @@ public class ChallengeController {
         return ResponseEntity.ok(records);
     }
 
+    // GET /challenges/record/scroll?before={cursor}&size=20 - 커서 기반 챌린지 수행 기록 조회
+    @GetMapping("/record/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<ChallengeRecordResponse>> getChallengeRecordsByCursor(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        Member member = userDetailsService.getMemberByContextHolder();
+        return ResponseEntity.ok(challengeService.getChallengeRecordsByCursor(member.getId(), before, after, size));
+    }
+
     @GetMapping("/record/{challengeId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ChallengeRecordWithRankResponse> getChallengeRecord(@PathVariable int challengeId) {
@@ -93,6 +133,14 @@ public class ChallengeController {
         return ResponseEntity.ok(record);
     }
 
+    // GET /challenges/record/{challengeId}/completion - 연속 달성 일수, 주간 달성 현황 조회
+    @GetMapping("/record/{challengeId}/completion")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ChallengeCompletionResponse> getChallengeCompletion(@PathVariable int challengeId) {
+        Member member = userDetailsService.getMemberByContextHolder();
+        return ResponseEntity.ok(challengeService.getChallengeCompletion(member.getId(), challengeId));
+    }
+
     // POST /challenges/record - 챌린지 수행 기록 등록
     @PostMapping("/record")
     @PreAuthorize("isAuthenticated()")
@@ -139,12 +187,32 @@ public class ChallengeController {
         return ResponseEntity.ok(challengeService.getCreatedChallenges());
     }
 
+    // GET /challenges/created/scroll?before={cursor}&size=20
+    @GetMapping("/created/scroll")
+    @PreAuthorize("hasRole('TRAINER')")
+    public ResponseEntity<CursorPageResponse<ChallengeResponse>> getCreatedChallengesByCursor(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(challengeService.getCreatedChallengesByCursor(before, after, size));
+    }
+
     // GET /challenges/participating - 내가 참여중인 챌린지 목록
     @GetMapping("/participating")
     public ResponseEntity<List<ChallengeResponse>> getParticipatingChallenges() {
         return ResponseEntity.ok(challengeService.getParticipatingChallenges());
     }
 
+    // GET /challenges/participating/scroll?before={cursor}&size=20
+    @GetMapping("/participating/scroll")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageResponse<ChallengeResponse>> getParticipatingChallengesByCursor(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(challengeService.getParticipatingChallengesByCursor(before, after, size));
+    }
+
     // GET /challenges/applied - 내가 신청한 챌린지 목록
     @GetMapping("/applied")
     @PreAuthorize("isAuthenticated()")
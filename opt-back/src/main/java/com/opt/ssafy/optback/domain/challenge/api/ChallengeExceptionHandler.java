@@ -2,6 +2,7 @@ package com.opt.ssafy.optback.domain.challenge.api;
 
 import com.opt.ssafy.optback.domain.challenge.exception.ChallengeNotFoundException;
 import com.opt.ssafy.optback.domain.challenge.exception.ChallengeRecordNotFoundException;
+import com.opt.ssafy.optback.domain.challenge.exception.InvalidCursorException;
 import com.opt.ssafy.optback.global.dto.ErrorResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,4 +30,13 @@ public class ChallengeExceptionHandler {
                 .body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
 }
@@ -0,0 +1,207 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeMember;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeMemberRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRepository;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 챌린지 참여 인원 제어.
+ * Redis Set(challenge:admission:{challengeId})에 참여 멤버를 두고 Lua 스크립트로 중복 여부와 정원을 한 번에 판단하여,
+ * 정원이 찬 뒤의 요청은 DB에 닿기 전에 거절한다.
+ * DB의 current_participants는 조건부 UPDATE로만 증감하므로 Redis를 사용할 수 없을 때도 정원을 넘지 않는다.
+ * 중복 참여는 challenge_member의 (challenge_id, member_id) unique 제약으로도 막으며, 위반 시 트랜잭션 전체가 롤백된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChallengeAdmissionService {
+
+    private static final String KEY_PREFIX = "challenge:admission:";
+    // 참여자가 없는 챌린지도 초기화 여부를 구분하기 위한 표식 (정원 계산에서 제외)
+    private static final String SEED_MARKER = "-";
+
+    private static final long NOT_SEEDED = -2L;
+    private static final long FULL = -1L;
+    private static final long ALREADY_JOINED = 0L;
+
+    // 1: 참여, 0: 이미 참여, -1: 정원 초과, -2: 초기화 필요
+    private static final RedisScript<Long> ADMIT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end "
+                    + "if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return 0 end "
+                    + "if redis.call('SCARD', KEYS[1]) - 1 >= tonumber(ARGV[2]) then return -1 end "
+                    + "redis.call('SADD', KEYS[1], ARGV[1]) return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeMemberRepository challengeMemberRepository;
+    private final ChallengeListCache challengeListCache;
+
+    // 참여 처리, 이미 참여한 멤버면 아무것도 하지 않고 false 반환
+    @Transactional
+    public boolean join(Challenge challenge, int memberId) {
+        Long result = tryAdmit(challenge, memberId);
+        if (result == null) {
+            // Redis 장애 시 DB로 중복 여부 확인 (동시 요청은 unique 제약 위반으로 DataIntegrityViolationException)
+            if (challengeMemberRepository.existsByChallengeIdAndMemberId(challenge.getId(), memberId)) {
+                return false;
+            }
+        } else if (result == FULL) {
+            throw new IllegalStateException("최대 인원 수에 도달했습니다.");
+        } else if (result == ALREADY_JOINED) {
+            return false;
+        } else {
+            // 이후 DB 반영이 실패하면 자리를 돌려줌
+            releaseOnRollback(challenge.getId(), memberId);
+        }
+
+        if (challengeRepository.increaseParticipantsIfAvailable(challenge.getId()) == 0) {
+            throw new IllegalStateException("최대 인원 수에 도달했습니다.");
+        }
+        challengeMemberRepository.save(ChallengeMember.builder()
+                .challengeId(challenge.getId())
+                .memberId(memberId)
+                .status("APPLIED")
+                .joinAt(new Date())
+                .build());
+        return true;
+    }
+
+    // 탈퇴 처리, 참여하지 않은 멤버면 아무것도 하지 않고 false 반환
+    @Transactional
+    public boolean leave(Challenge challenge, int memberId) {
+        if (challengeMemberRepository.deleteByChallengeIdAndMemberId(challenge.getId(), memberId) == 0) {
+            return false;
+        }
+        challengeRepository.decreaseParticipantsIfPositive(challenge.getId());
+        runAfterCommit(() -> release(challenge.getId(), memberId));
+        return true;
+    }
+
+    public void evict(int challengeId) {
+        stringRedisTemplate.delete(key(challengeId));
+    }
+
+    // 모집 중인 챌린지의 current_participants와 Redis 참여자 수를 challenge_member 기준으로 보정
+    @Scheduled(cron = "30 */5 * * * *")
+    @Transactional
+    public void reconcile() {
+        int corrected = challengeRepository.syncParticipantsByStatus("OPEN");
+
+        List<Integer> drifted = new ArrayList<>();
+        Map<Integer, Integer> participants = new HashMap<>();
+        for (Object[] row : challengeRepository.findParticipantsByStatus("OPEN")) {
+            participants.put((Integer) row[0], row[1] == null ? 0 : (Integer) row[1]);
+        }
+        try {
+            for (Map.Entry<Integer, Integer> entry : participants.entrySet()) {
+                Long size = stringRedisTemplate.opsForSet().size(key(entry.getKey()));
+                if (size != null && size > 0 && size - 1 != entry.getValue()) {
+                    drifted.add(entry.getKey());
+                }
+            }
+            // 다음 참여 요청 시 DB 기준으로 다시 초기화됨
+            drifted.forEach(this::evict);
+        } catch (DataAccessException e) {
+            log.warn("챌린지 참여자 캐시 보정 실패", e);
+        }
+
+        if (corrected > 0) {
+            challengeListCache.invalidate("OPEN");
+        }
+        if (corrected > 0 || !drifted.isEmpty()) {
+            log.info("챌린지 참여 인원 보정 완료 (DB 수정: {}개, 캐시 초기화: {}개)", corrected, drifted.size());
+        }
+    }
+
+    // Redis에서 참여 가능 여부 판단, Redis를 사용할 수 없으면 null
+    private Long tryAdmit(Challenge challenge, int memberId) {
+        String key = key(challenge.getId());
+        try {
+            Long result = admit(key, memberId, challenge.getMaxParticipants());
+            if (result != null && result == NOT_SEEDED) {
+                seed(challenge.getId());
+                result = admit(key, memberId, challenge.getMaxParticipants());
+            }
+            return result;
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 참여 캐시 사용 불가, DB로만 처리합니다.", challenge.getId(), e);
+            return null;
+        }
+    }
+
+    private Long admit(String key, int memberId, int maxParticipants) {
+        return stringRedisTemplate.execute(ADMIT, List.of(key), String.valueOf(memberId),
+                String.valueOf(maxParticipants));
+    }
+
+    // challenge_member로부터 참여자 Set 초기화 (이미 다른 요청이 초기화했다면 그대로 사용)
+    private void seed(int challengeId) {
+        List<String> members = new ArrayList<>();
+        members.add(SEED_MARKER);
+        challengeMemberRepository.findMemberIdsByChallengeId(challengeId)
+                .forEach(memberId -> members.add(String.valueOf(memberId)));
+
+        String tempKey = key(challengeId) + ":seed:" + UUID.randomUUID();
+        stringRedisTemplate.opsForSet().add(tempKey, members.toArray(String[]::new));
+        if (!Boolean.TRUE.equals(stringRedisTemplate.renameIfAbsent(tempKey, key(challengeId)))) {
+            stringRedisTemplate.delete(tempKey);
+        }
+    }
+
+    private void release(int challengeId, int memberId) {
+        try {
+            stringRedisTemplate.opsForSet().remove(key(challengeId), String.valueOf(memberId));
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 참여 캐시 반환 실패 (memberId: {})", challengeId, memberId, e);
+        }
+    }
+
+    private void releaseOnRollback(int challengeId, int memberId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(challengeId, memberId);
+                }
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+
+    private String key(int challengeId) {
+        return KEY_PREFIX + challengeId;
+    }
+}
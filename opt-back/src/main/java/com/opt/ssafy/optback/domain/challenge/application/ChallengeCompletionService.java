@@ -0,0 +1,218 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.dto.ChallengeCompletionResponse;
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeCompletion;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeMember;
+import com.opt.ssafy.optback.domain.challenge.entity.CompletionBitmap;
+import com.opt.ssafy.optback.domain.challenge.event.ChallengeRecordClosedEvent;
+import com.opt.ssafy.optback.domain.challenge.exception.ChallengeNotFoundException;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeCompletionRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeMemberRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRecordRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRepository;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 개인 목표 챌린지(NORMAL, SURVIVAL)의 멤버별 일자 달성 비트맵 관리.
+ * 기록이 통과 처리될 때 비트를 켜고, 연속 달성 일수와 주간 달성 일수(frequency)는 비트 연산으로 계산한다.
+ * 매일 새벽 진행 중인 챌린지를 일괄 평가하여 SURVIVAL 챌린지에서 주간 목표를 더 이상 채울 수 없는 멤버를 탈락 처리한다.
+ * 주 중간에 참여한 멤버는 참여한 주에는 평가하지 않는다.
+ */
+@Slf4j
+@Service
+public class ChallengeCompletionService {
+
+    private static final int WEEK_DAYS = 7;
+
+    private final ChallengeCompletionRepository challengeCompletionRepository;
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeMemberRepository challengeMemberRepository;
+    private final ChallengeRecordRepository challengeRecordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zoneId;
+    private final int chunkSize;
+
+    public ChallengeCompletionService(ChallengeCompletionRepository challengeCompletionRepository,
+                                      ChallengeRepository challengeRepository,
+                                      ChallengeMemberRepository challengeMemberRepository,
+                                      ChallengeRecordRepository challengeRecordRepository,
+                                      ApplicationEventPublisher eventPublisher, ZoneId zoneId,
+                                      @Value("${challenge.lifecycle.chunk-size:1000}") int chunkSize) {
+        this.challengeCompletionRepository = challengeCompletionRepository;
+        this.challengeRepository = challengeRepository;
+        this.challengeMemberRepository = challengeMemberRepository;
+        this.challengeRecordRepository = challengeRecordRepository;
+        this.eventPublisher = eventPublisher;
+        this.zoneId = zoneId;
+        this.chunkSize = chunkSize;
+    }
+
+    // 통과한 기록의 날짜 비트를 켬 (ChallengeRecordWriter 트랜잭션 안에서 호출)
+    public void markPassed(List<PassedDay> passedDays) {
+        List<PassedDay> targets = passedDays.stream()
+                .filter(passed -> !"TEAM".equals(passed.challenge().getType()))
+                .filter(passed -> !passed.day().isBefore(passed.challenge().getStartDate()))
+                .toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, ChallengeCompletion> completions = challengeCompletionRepository.findByChallengeMemberIdIn(
+                        targets.stream().map(PassedDay::challengeMemberId).distinct().toList()).stream()
+                .collect(Collectors.toMap(ChallengeCompletion::getChallengeMemberId, Function.identity()));
+        List<ChallengeCompletion> changed = new ArrayList<>();
+        for (PassedDay passed : targets) {
+            ChallengeCompletion completion = completions.computeIfAbsent(passed.challengeMemberId(),
+                    id -> ChallengeCompletion.builder()
+                            .challengeMemberId(id)
+                            .challengeId(passed.challenge().getId())
+                            .memberId(passed.memberId())
+                            .build());
+            if (completion.markPassed(passed.challenge().getStartDate(), passed.day())) {
+                changed.add(completion);
+            }
+        }
+        challengeCompletionRepository.saveAll(changed);
+    }
+
+    public ChallengeCompletionResponse getCompletion(int challengeId, int memberId) {
+        Challenge challenge = challengeRepository.findById(challengeId)
+                .orElseThrow(() -> new ChallengeNotFoundException("존재하지 않는 챌린지 입니다. with id: " + challengeId));
+        ChallengeMember challengeMember = challengeMemberRepository.findByChallengeIdAndMemberId(challengeId, memberId)
+                .orElseThrow(() -> new IllegalStateException("아직 챌린지에 참여하지 않은 사용자 입니다. 먼저 챌린지에 참여해주세요."));
+        CompletionBitmap bitmap = challengeCompletionRepository.findByChallengeIdAndMemberId(challengeId, memberId)
+                .map(ChallengeCompletion::bitmap)
+                .orElseGet(CompletionBitmap::empty);
+
+        LocalDate now = LocalDate.now(zoneId);
+        LocalDate today = now.isAfter(challenge.getEndDate()) ? challenge.getEndDate() : now;
+        int dayIndex = Math.max(ChallengeCompletion.dayIndex(challenge.getStartDate(), today), 0);
+        int weekStart = dayIndex - dayIndex % WEEK_DAYS;
+        // 오늘 아직 달성하지 않았으면 어제까지의 연속 달성 일수
+        int streak = bitmap.get(dayIndex) ? bitmap.streakEndingAt(dayIndex) : bitmap.streakEndingAt(dayIndex - 1);
+        int weeklyPassed = bitmap.count(weekStart, dayIndex);
+
+        return ChallengeCompletionResponse.builder()
+                .challengeId(challengeId)
+                .passedDays(bitmap.count(0, lastIndex(challenge)))
+                .currentStreak(streak)
+                .weeklyPassed(weeklyPassed)
+                .frequency(challenge.getFrequency())
+                .frequencyMet(weeklyPassed >= requiredInWeek(challenge, weekStart))
+                .eliminated("ELIMINATED".equals(challengeMember.getStatus()))
+                .build();
+    }
+
+    // 전날 기준으로 진행 중인 개인 목표 챌린지를 chunk 단위로 평가
+    @Scheduled(cron = "0 30 0 * * *", zone = "${app.time-zone:Asia/Seoul}")
+    public void evaluate() {
+        LocalDate day = LocalDate.now(zoneId).minusDays(1);
+        long startedAt = System.currentTimeMillis();
+        int challenges = 0;
+        int eliminated = 0;
+        int lastId = 0;
+        List<Challenge> chunk;
+        while (!(chunk = challengeRepository.findByStatusAndTypeNotAndIdGreaterThanOrderByIdAsc("PROGRESS", "TEAM",
+                lastId, PageRequest.ofSize(chunkSize))).isEmpty()) {
+            try {
+                eliminated += evaluateChunk(chunk, day);
+            } catch (RuntimeException e) {
+                log.error("챌린지 달성 평가 실패 (ID {} ~ {})", chunk.get(0).getId(),
+                        chunk.get(chunk.size() - 1).getId(), e);
+            }
+            challenges += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+        log.info("챌린지 달성 평가 완료 (기준일: {}) - 챌린지 {}개, 탈락 {}명 ({}ms)", day, challenges, eliminated,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    public void deleteByChallengeId(int challengeId) {
+        challengeCompletionRepository.deleteByChallengeId(challengeId);
+    }
+
+    private int evaluateChunk(List<Challenge> chunk, LocalDate day) {
+        Map<Integer, Challenge> challenges = chunk.stream()
+                .filter(challenge -> !day.isBefore(challenge.getStartDate()) && !day.isAfter(challenge.getEndDate()))
+                .collect(Collectors.toMap(Challenge::getId, Function.identity()));
+        if (challenges.isEmpty()) {
+            return 0;
+        }
+        List<Integer> challengeIds = List.copyOf(challenges.keySet());
+
+        // 기록 반영 중 누락된 비트가 있으면 challenge_record 기준으로 보정
+        List<PassedDay> passed = new ArrayList<>();
+        for (Object[] row : challengeRecordRepository.findPassedChallengeMembers(challengeIds, Date.valueOf(day))) {
+            passed.add(new PassedDay(challenges.get((Integer) row[1]), (Integer) row[0], (Integer) row[2], day));
+        }
+        markPassed(passed);
+
+        List<Integer> survivalIds = challengeIds.stream()
+                .filter(id -> "SURVIVAL".equals(challenges.get(id).getType()))
+                .toList();
+        if (survivalIds.isEmpty()) {
+            return 0;
+        }
+        List<ChallengeMember> members = challengeMemberRepository.findByChallengeIdInAndStatus(survivalIds, "JOINED");
+        if (members.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, ChallengeCompletion> completions = challengeCompletionRepository.findByChallengeMemberIdIn(
+                        members.stream().map(ChallengeMember::getId).toList()).stream()
+                .collect(Collectors.toMap(ChallengeCompletion::getChallengeMemberId, Function.identity()));
+
+        List<Integer> eliminatedIds = new ArrayList<>();
+        for (ChallengeMember member : members) {
+            ChallengeCompletion completion = completions.get(member.getId());
+            CompletionBitmap bitmap = completion == null ? CompletionBitmap.empty() : completion.bitmap();
+            if (!canMeetWeeklyGoal(challenges.get(member.getChallengeId()), bitmap, day, member.getJoinDate())) {
+                eliminatedIds.add(member.getId());
+            }
+        }
+        if (eliminatedIds.isEmpty()) {
+            return 0;
+        }
+        int eliminated = challengeMemberRepository.updateStatusByIdIn(eliminatedIds, "JOINED", "ELIMINATED");
+        eventPublisher.publishEvent(ChallengeRecordClosedEvent.ofMembers(eliminatedIds));
+        return eliminated;
+    }
+
+    // 이번 주 남은 날을 모두 달성해도 주간 목표에 못 미치면 false (이번 주 중간에 참여했으면 true)
+    static boolean canMeetWeeklyGoal(Challenge challenge, CompletionBitmap bitmap, LocalDate day, LocalDate joinDate) {
+        int dayIndex = ChallengeCompletion.dayIndex(challenge.getStartDate(), day);
+        int weekStart = dayIndex - dayIndex % WEEK_DAYS;
+        if (joinDate != null && ChallengeCompletion.dayIndex(challenge.getStartDate(), joinDate) > weekStart) {
+            return true;
+        }
+        int weekEnd = Math.min(weekStart + WEEK_DAYS - 1, lastIndex(challenge));
+        return bitmap.count(weekStart, dayIndex) + (weekEnd - dayIndex) >= requiredInWeek(challenge, weekStart);
+    }
+
+    // 주간 목표 달성 일수 (frequency가 없거나 7 이상이면 매일, 마지막 주는 남은 기간 이내)
+    private static int requiredInWeek(Challenge challenge, int weekStart) {
+        int frequency = challenge.getFrequency();
+        int perWeek = frequency <= 0 || frequency > WEEK_DAYS ? WEEK_DAYS : frequency;
+        return Math.min(perWeek, lastIndex(challenge) - weekStart + 1);
+    }
+
+    private static int lastIndex(Challenge challenge) {
+        return ChallengeCompletion.dayIndex(challenge.getStartDate(), challenge.getEndDate());
+    }
+
+    public record PassedDay(Challenge challenge, int challengeMemberId, int memberId, LocalDate day) {
+    }
+}
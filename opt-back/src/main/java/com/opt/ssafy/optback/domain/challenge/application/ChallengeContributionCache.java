@@ -0,0 +1,99 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * TEAM 챌린지 멤버별 기여도 합계 스냅샷 캐시.
+ * 챌린지별 버전(challenge:contributions:version:{challengeId})을 키에 포함하여, 기록이 반영될 때 버전만 올려 무효화한다.
+ */
+@Slf4j
+@Component
+public class ChallengeContributionCache {
+
+    private static final String KEY_PREFIX = "challenge:contributions:";
+    private static final String VERSION_PREFIX = KEY_PREFIX + "version:";
+    private static final TypeReference<List<MemberContribution>> SNAPSHOT_TYPE = new TypeReference<>() {
+    };
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public ChallengeContributionCache(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                      @Value("${challenge.contribution.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public List<MemberContribution> get(int challengeId, Supplier<List<MemberContribution>> loader) {
+        String key;
+        try {
+            key = snapshotKey(challengeId);
+            String cached = stringRedisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return objectMapper.readValue(cached, SNAPSHOT_TYPE);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("챌린지 {} 기여도 캐시 조회 실패", challengeId, e);
+            return loader.get();
+        }
+
+        List<MemberContribution> snapshot = loader.get();
+        try {
+            stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(snapshot), ttl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("챌린지 {} 기여도 캐시 저장 실패", challengeId, e);
+        }
+        return snapshot;
+    }
+
+    // 기록이 반영된 챌린지들의 스냅샷 무효화 (트랜잭션 중이면 커밋 이후 실행)
+    public void invalidate(Collection<Integer> challengeIds) {
+        if (challengeIds.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> {
+            try {
+                challengeIds.forEach(id -> stringRedisTemplate.opsForValue().increment(VERSION_PREFIX + id));
+            } catch (DataAccessException e) {
+                log.warn("챌린지 기여도 캐시 무효화 실패 ({})", challengeIds, e);
+            }
+        });
+    }
+
+    private String snapshotKey(int challengeId) {
+        String version = stringRedisTemplate.opsForValue().get(VERSION_PREFIX + challengeId);
+        return KEY_PREFIX + challengeId + ":" + (version == null ? "0" : version);
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+
+    // 멤버별 기록 합계
+    public record MemberContribution(int memberId, String nickname, double measurement) {
+    }
+}
@@ -0,0 +1,459 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.dto.LeaderboardEntryResponse;
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.exception.ChallengeRecordNotFoundException;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRecordRepository;
+import com.opt.ssafy.optback.domain.member.entity.Member;
+import com.opt.ssafy.optback.domain.member.repository.MemberRepository;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 챌린지별 랭킹을 Redis Sorted Set(challenge:leaderboard:{challengeId})으로 관리한다.
+ * TEAM 챌린지는 일별 기록의 합계, NORMAL/SURVIVAL 챌린지는 최고 기록을 점수로 사용한다.
+ * 재구성은 Redis 락(challenge:leaderboard:{challengeId}:lock)을 잡은 한 서버만 수행한다.
+ * 재구성 시점(cut)을 모든 서버에 알려 각 서버가 버퍼링된 기록을 DB에 반영하게 하고, 그 이후의 변화량은
+ * 재구성 토큰별 delta 키에 모았다가 MySQL에서 읽은 점수와 함께 원자적으로 리더보드에 합친다.
+ * 기록이 없는 챌린지는 빈 표식을 잠시 캐시한다.
+ */
+@Slf4j
+@Service
+public class ChallengeLeaderboardService {
+
+    static final int MAX_SIZE = 100;
+    static final int MAX_RADIUS = 50;
+    static final String REBUILD_CHANNEL = "challenge:leaderboard:rebuild";
+    private static final String KEY_PREFIX = "challenge:leaderboard:";
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    /*
+     * 변화량 반영. KEYS: 리더보드, delta, 락 / ARGV: memberId, 값, 재구성 토큰(없으면 ""), SUM|MAX, delta TTL(ms)
+     * 재구성 cut 이후의 변화량은 delta에, 평상시에는 리더보드에 반영한다.
+     * 리더보드 없이 재구성 중이면 cut 이전 변화량이므로 DB에서 읽히고, 둘 다 없으면 0을 반환해 재구성을 요청한다.
+     * MAX는 기존 점수보다 높을 때만 갱신 (ZADD GT를 지원하지 않는 Redis 버전 대응)
+     */
+    private static final RedisScript<Long> APPLY = new DefaultRedisScript<>(
+            "local function apply(key) "
+                    + "if ARGV[4] == 'SUM' then redis.call('ZINCRBY', key, ARGV[2], ARGV[1]) return end "
+                    + "local current = redis.call('ZSCORE', key, ARGV[1]) "
+                    + "if (not current) or tonumber(ARGV[2]) > tonumber(current) then "
+                    + "redis.call('ZADD', key, ARGV[2], ARGV[1]) end end "
+                    + "if ARGV[3] ~= '' and redis.call('GET', KEYS[3]) == ARGV[3] then "
+                    + "apply(KEYS[2]) redis.call('PEXPIRE', KEYS[2], ARGV[5]) return 1 end "
+                    + "if redis.call('EXISTS', KEYS[1]) == 1 then apply(KEYS[1]) return 1 end "
+                    + "if redis.call('EXISTS', KEYS[3]) == 1 then return 1 end "
+                    + "return 0", Long.class);
+
+    /*
+     * 재구성 결과 반영. KEYS: 리더보드, 임시 키, delta, 락, 빈 표식 / ARGV: 재구성 토큰, SUM|MAX, 빈 표식 TTL(초)
+     * 락을 잃었으면 -1, 아니면 DB 점수와 cut 이후 변화량을 합친 리더보드의 인원 수를 반환한다.
+     */
+    private static final RedisScript<Long> MERGE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[4]) ~= ARGV[1] then redis.call('DEL', KEYS[2], KEYS[3]) return -1 end "
+                    + "redis.call('ZUNIONSTORE', KEYS[1], 2, KEYS[2], KEYS[3], 'AGGREGATE', ARGV[2]) "
+                    + "redis.call('DEL', KEYS[2], KEYS[3], KEYS[4]) "
+                    + "local size = redis.call('ZCARD', KEYS[1]) "
+                    + "if size == 0 then redis.call('SET', KEYS[5], '1', 'EX', ARGV[3]) "
+                    + "else redis.call('DEL', KEYS[5]) end "
+                    + "return size", Long.class);
+
+    // 자신이 잡은 락만 해제
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChallengeRecordRepository challengeRecordRepository;
+    private final MemberRepository memberRepository;
+    private final ChallengeRecordBuffer challengeRecordBuffer;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final Duration lockTtl;
+    private final Duration emptyTtl;
+    private final long cutTimeoutMillis;
+    // 콜드 스타트 재구성은 기록 반영 스레드가 아닌 전용 스레드에서 수행 (cut이 기록 변경을 잠시 멈추므로)
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("challenge-leaderboard-rebuild").daemon().factory());
+    private final Set<Integer> rebuildRequested = ConcurrentHashMap.newKeySet();
+
+    public ChallengeLeaderboardService(StringRedisTemplate stringRedisTemplate,
+                                       ChallengeRecordRepository challengeRecordRepository,
+                                       MemberRepository memberRepository, ChallengeRecordBuffer challengeRecordBuffer,
+                                       RedisMessageListenerContainer redisMessageListenerContainer,
+                                       @Value("${challenge.leaderboard.rebuild-lock-ms:10000}") long lockMillis,
+                                       @Value("${challenge.leaderboard.empty-ttl-seconds:60}") long emptyTtlSeconds,
+                                       @Value("${challenge.leaderboard.cut-timeout-ms:3000}") long cutTimeoutMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.challengeRecordRepository = challengeRecordRepository;
+        this.memberRepository = memberRepository;
+        this.challengeRecordBuffer = challengeRecordBuffer;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.lockTtl = Duration.ofMillis(lockMillis);
+        this.emptyTtl = Duration.ofSeconds(emptyTtlSeconds);
+        this.cutTimeoutMillis = cutTimeoutMillis;
+    }
+
+    // 다른 서버의 재구성 시점(cut:{challengeId}:{token}) 및 완료(done:{challengeId}:{token}) 수신
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onRebuildMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(REBUILD_CHANNEL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 재구성하지 못한 리더보드는 다음 기록 또는 조회 시 다시 재구성됨
+        rebuildExecutor.shutdownNow();
+    }
+
+    // 기록 저장 후 리더보드 반영 (트랜잭션 커밋 이후 실행)
+    public void updateScore(Challenge challenge, int memberId, int previousValue, int currentValue) {
+        // 재구성 중인지는 기록이 변경된 시점 기준으로 판단
+        String heldToken = challengeRecordBuffer.heldToken(challenge.getId());
+        runAfterCommit(() -> applyScore(challenge, memberId, previousValue, currentValue, heldToken));
+    }
+
+    private void applyScore(Challenge challenge, int memberId, int previousValue, int currentValue,
+                            String heldToken) {
+        int challengeId = challenge.getId();
+        int value = isTeam(challenge) ? currentValue - previousValue : currentValue;
+        if (isTeam(challenge) && value == 0) {
+            return;
+        }
+        try {
+            Long applied = stringRedisTemplate.execute(APPLY,
+                    List.of(key(challengeId), deltaKey(challengeId, heldToken), lockKey(challengeId)),
+                    String.valueOf(memberId), String.valueOf(value), heldToken == null ? "" : heldToken,
+                    aggregate(challenge), String.valueOf(lockTtl.multipliedBy(2).toMillis()));
+            if (applied != null && applied == 0) {
+                // 콜드 스타트: 방금 버퍼에 반영된 기록까지 포함해 재구성
+                requestRebuild(challenge);
+            }
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 리더보드 갱신 실패 (memberId: {})", challengeId, memberId, e);
+        }
+    }
+
+    // 내 순위 조회 (동점자는 같은 순위), 기록이 없으면 0
+    public int getRank(Challenge challenge, int memberId) {
+        String key = loadedKey(challenge);
+        Double score = stringRedisTemplate.opsForZSet().score(key, String.valueOf(memberId));
+        if (score == null) {
+            return 0;
+        }
+        return countHigherThan(key, score) + 1;
+    }
+
+    // 특정 멤버의 점수와 순위 (닉네임 제외), 기록이 없으면 null
+    public LeaderboardEntryResponse getEntry(Challenge challenge, int memberId) {
+        String key = loadedKey(challenge);
+        Double score = stringRedisTemplate.opsForZSet().score(key, String.valueOf(memberId));
+        if (score == null) {
+            return null;
+        }
+        return LeaderboardEntryResponse.builder()
+                .rank(countHigherThan(key, score) + 1)
+                .memberId(memberId)
+                .measurement(score)
+                .build();
+    }
+
+    // 상위 N명 조회 (1 ~ MAX_SIZE명)
+    public List<LeaderboardEntryResponse> getTop(Challenge challenge, int size, Integer currentMemberId) {
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        String key = loadedKey(challenge);
+        Set<TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1);
+        return toEntries(key, tuples, 0, currentMemberId);
+    }
+
+    // 내 순위 기준 앞뒤 radius명 조회 (0 ~ MAX_RADIUS명)
+    public List<LeaderboardEntryResponse> getAround(Challenge challenge, int memberId, int radius) {
+        radius = Math.max(0, Math.min(radius, MAX_RADIUS));
+        String key = loadedKey(challenge);
+        Long position = stringRedisTemplate.opsForZSet().reverseRank(key, String.valueOf(memberId));
+        if (position == null) {
+            throw new ChallengeRecordNotFoundException(
+                    "challengeId: " + challenge.getId() + "에 대한 챌린지 기록을 찾을 수 없습니다.");
+        }
+        long start = Math.max(0, position - radius);
+        Set<TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(key, start, position + radius);
+        return toEntries(key, tuples, start, memberId);
+    }
+
+    /**
+     * MySQL의 challenge_record로부터 리더보드 재구성.
+     * 락을 잡지 못하면 다른 서버가 재구성 중이므로 반환하며, 재구성 중의 변화량은 그 결과에 합쳐진다.
+     *
+     * @return 이 호출에서 재구성을 수행했으면 true
+     */
+    public boolean rebuild(Challenge challenge) {
+        int challengeId = challenge.getId();
+        String lockKey = lockKey(challengeId);
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl))) {
+            return false;
+        }
+        try {
+            cut(challengeId, token);
+            Long size = load(challenge, token);
+            if (size == null || size < 0) {
+                log.warn("챌린지 {} 리더보드 재구성 중 락 만료, 다시 재구성합니다.", challengeId);
+                requestRebuild(challenge);
+                return false;
+            }
+            log.info("챌린지 {} 리더보드 재구성 완료 ({}명)", challengeId, size);
+            return true;
+        } finally {
+            unlock(lockKey, token);
+            publishRebuild("done", challengeId, token);
+        }
+    }
+
+    public void evict(int challengeId) {
+        stringRedisTemplate.delete(List.of(key(challengeId), emptyKey(challengeId)));
+    }
+
+    private void requestRebuild(Challenge challenge) {
+        if (!rebuildRequested.add(challenge.getId())) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                rebuildRequested.remove(challenge.getId());
+                try {
+                    rebuild(challenge);
+                } catch (DataAccessException e) {
+                    log.warn("챌린지 {} 리더보드 재구성 실패", challenge.getId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildRequested.remove(challenge.getId());
+        }
+    }
+
+    // 모든 서버에 재구성 시점을 알리고, 각 서버가 버퍼를 DB에 반영할 때까지 기다림
+    private void cut(int challengeId, String token) {
+        String ackKey = ackKey(challengeId, token);
+        long receivers = publishRebuild("cut", challengeId, token);
+        long deadline = System.currentTimeMillis() + cutTimeoutMillis;
+        try {
+            while (acked(ackKey) < receivers) {
+                if (System.currentTimeMillis() >= deadline) {
+                    log.warn("챌린지 {} 리더보드 재구성: {}개 서버 중 {}개만 응답, 일부 기록이 늦게 반영될 수 있습니다.",
+                            challengeId, receivers, acked(ackKey));
+                    return;
+                }
+                try {
+                    Thread.sleep(LOCK_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            stringRedisTemplate.delete(ackKey);
+        }
+    }
+
+    private void onRebuildMessage(String body) {
+        String[] parts = body.split(":", 3);
+        if (parts.length != 3) {
+            return;
+        }
+        int challengeId = Integer.parseInt(parts[1]);
+        String token = parts[2];
+        if ("done".equals(parts[0])) {
+            challengeRecordBuffer.release(challengeId, token);
+            return;
+        }
+        challengeRecordBuffer.cut(challengeId, token, lockTtl.toMillis());
+        try {
+            String ackKey = ackKey(challengeId, token);
+            stringRedisTemplate.opsForValue().increment(ackKey);
+            stringRedisTemplate.expire(ackKey, lockTtl);
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 리더보드 재구성 응답 실패", challengeId, e);
+        }
+    }
+
+    // 메시지를 받은 서버 수 반환
+    private long publishRebuild(String type, int challengeId, String token) {
+        try {
+            Long receivers = stringRedisTemplate.convertAndSend(REBUILD_CHANNEL,
+                    type + ":" + challengeId + ":" + token);
+            return receivers == null ? 0 : receivers;
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 리더보드 재구성 알림 실패 ({})", challengeId, type, e);
+            return 0;
+        }
+    }
+
+    private long acked(String ackKey) {
+        String value = stringRedisTemplate.opsForValue().get(ackKey);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    // 락을 잡고 cut한 상태에서 호출, DB 점수를 임시 키에 적재한 뒤 cut 이후 변화량과 함께 리더보드로 교체
+    private Long load(Challenge challenge, String token) {
+        int challengeId = challenge.getId();
+        List<Object[]> scores = isTeam(challenge)
+                ? challengeRecordRepository.sumScoresGroupByMemberId(challengeId)
+                : challengeRecordRepository.maxScoresGroupByMemberId(challengeId);
+
+        String tempKey = key(challengeId) + ":rebuild:" + token;
+        if (!scores.isEmpty()) {
+            Set<TypedTuple<String>> tuples = new HashSet<>();
+            for (Object[] row : scores) {
+                double score = (row[1] instanceof Number) ? ((Number) row[1]).doubleValue() : 0.0;
+                tuples.add(new DefaultTypedTuple<>(String.valueOf(row[0]), score));
+            }
+            stringRedisTemplate.opsForZSet().add(tempKey, tuples);
+            stringRedisTemplate.expire(tempKey, lockTtl);
+        }
+        // 기록이 없는 챌린지도 조회마다 재구성하지 않도록 빈 표식을 캐시
+        return stringRedisTemplate.execute(MERGE,
+                List.of(key(challengeId), tempKey, deltaKey(challengeId, token), lockKey(challengeId),
+                        emptyKey(challengeId)),
+                token, aggregate(challenge), String.valueOf(emptyTtl.toSeconds()));
+    }
+
+    private void unlock(String lockKey, String token) {
+        stringRedisTemplate.execute(UNLOCK, List.of(lockKey), token);
+    }
+
+    // 다른 스레드가 재구성 중이면 끝날 때까지 잠시 기다림
+    private String loadedKey(Challenge challenge) {
+        String key = key(challenge.getId());
+        if (isLoaded(challenge.getId()) || rebuild(challenge)) {
+            return key;
+        }
+        long deadline = System.currentTimeMillis() + lockTtl.toMillis();
+        while (!isLoaded(challenge.getId()) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return key;
+    }
+
+    private boolean isLoaded(int challengeId) {
+        return stringRedisTemplate.countExistingKeys(List.of(key(challengeId), emptyKey(challengeId))) > 0;
+    }
+
+    // start: 조회 구간의 시작 인덱스 (0부터), 동점자는 같은 순위로 계산
+    private List<LeaderboardEntryResponse> toEntries(String key, Set<TypedTuple<String>> tuples, long start,
+                                                     Integer currentMemberId) {
+        if (tuples == null || tuples.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> memberIds = tuples.stream()
+                .map(tuple -> Integer.valueOf(tuple.getValue()))
+                .toList();
+        Map<Integer, String> nicknames = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getId, Member::getNickname, (a, b) -> a));
+
+        List<LeaderboardEntryResponse> entries = new ArrayList<>();
+        Double previousScore = null;
+        int rank = 0;
+        int position = (int) start + 1;
+        for (TypedTuple<String> tuple : tuples) {
+            double score = tuple.getScore() == null ? 0.0 : tuple.getScore();
+            if (previousScore == null) {
+                rank = countHigherThan(key, score) + 1;
+            } else if (score != previousScore) {
+                rank = position;
+            }
+            int memberId = Integer.parseInt(tuple.getValue());
+            entries.add(LeaderboardEntryResponse.builder()
+                    .rank(rank)
+                    .memberId(memberId)
+                    .nickname(nicknames.get(memberId))
+                    .measurement(score)
+                    .isMyRecord(currentMemberId != null && currentMemberId == memberId)
+                    .build());
+            previousScore = score;
+            position++;
+        }
+        return entries;
+    }
+
+    private int countHigherThan(String key, double score) {
+        Long higher = stringRedisTemplate.opsForZSet().count(key, Math.nextUp(score), Double.POSITIVE_INFINITY);
+        return higher == null ? 0 : higher.intValue();
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+
+    private boolean isTeam(Challenge challenge) {
+        return "TEAM".equals(challenge.getType());
+    }
+
+    private String aggregate(Challenge challenge) {
+        return isTeam(challenge) ? "SUM" : "MAX";
+    }
+
+    private String key(int challengeId) {
+        return KEY_PREFIX + challengeId;
+    }
+
+    private String emptyKey(int challengeId) {
+        return key(challengeId) + ":empty";
+    }
+
+    private String lockKey(int challengeId) {
+        return key(challengeId) + ":lock";
+    }
+
+    // 재구성 토큰별 cut 이후 변화량, 재구성 중이 아니면 사용되지 않음
+    private String deltaKey(int challengeId, String token) {
+        return key(challengeId) + ":delta:" + (token == null ? "" : token);
+    }
+
+    private String ackKey(int challengeId, String token) {
+        return key(challengeId) + ":ack:" + token;
+    }
+}
@@ -0,0 +1,192 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.event.ChallengeRecordClosedEvent;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeMemberRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRecordRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 챌린지 상태 전환 (OPEN → PROGRESS → END).
+ * 챌린지 id 기준으로 chunk 단위로 나누어 상태, 멤버 상태, 우승자를 집합 단위 쿼리로 갱신한다.
+ * 평소 전환은 ChallengeTransitionService가 시각에 맞춰 start/end를 호출하고,
+ * 자정 실행은 시작일/종료일이 기준일 이전인데 전환되지 않은 챌린지를 처리하는 안전망 역할을 한다.
+ * 전환 예약(challenge_transition)이 있는 챌린지는 예약 시각에서 유예 시간(overdue-grace-minutes)이 지나도록
+ * 실행되지 않은 경우에만 처리하여, 분산된 전환 시각보다 먼저 한꺼번에 전환하지 않는다.
+ */
+@Slf4j
+@Service
+public class ChallengeLifecycleScheduler {
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeMemberRepository challengeMemberRepository;
+    private final ChallengeRecordRepository challengeRecordRepository;
+    private final ChallengeRecordBuffer challengeRecordBuffer;
+    private final ChallengeListCache challengeListCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zoneId;
+    private final int chunkSize;
+    private final Duration overdueGrace;
+
+    public ChallengeLifecycleScheduler(ChallengeRepository challengeRepository,
+                                       ChallengeMemberRepository challengeMemberRepository,
+                                       ChallengeRecordRepository challengeRecordRepository,
+                                       ChallengeRecordBuffer challengeRecordBuffer,
+                                       ChallengeListCache challengeListCache, JdbcTemplate jdbcTemplate,
+                                       ApplicationEventPublisher eventPublisher, ZoneId zoneId,
+                                       @Value("${challenge.lifecycle.chunk-size:1000}") int chunkSize,
+                                       @Value("${challenge.lifecycle.overdue-grace-minutes:10}") long graceMinutes) {
+        this.challengeRepository = challengeRepository;
+        this.challengeMemberRepository = challengeMemberRepository;
+        this.challengeRecordRepository = challengeRecordRepository;
+        this.challengeRecordBuffer = challengeRecordBuffer;
+        this.challengeListCache = challengeListCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.zoneId = zoneId;
+        this.chunkSize = chunkSize;
+        this.overdueGrace = Duration.ofMinutes(graceMinutes);
+    }
+
+    @Scheduled(cron = "10 0 0 * * *", zone = "${app.time-zone:Asia/Seoul}")
+    public void updateChallengeAndMember() {
+        // 하루 전 날짜 기준 (start_date, end_date), ChallengeTransitionService의 전환 시각과 같은 서비스 시간대
+        LocalDate targetDate = LocalDate.now(zoneId).minusDays(1);
+        log.info("챌린지 상태 변경 스케줄러 실행 (기준일: {})", targetDate);
+
+        long startedAt = System.currentTimeMillis();
+        int started = startChallenges(targetDate);
+        long startElapsed = System.currentTimeMillis() - startedAt;
+
+        // 우승자 집계 전, 버퍼링된 기록을 모두 반영
+        challengeRecordBuffer.flushNow();
+
+        long endingAt = System.currentTimeMillis();
+        int[] ended = endChallenges(targetDate);
+        long endElapsed = System.currentTimeMillis() - endingAt;
+
+        if (started > 0 || ended[0] > 0) {
+            challengeListCache.invalidateAll();
+        }
+
+        log.info("챌린지 상태 변경 완료 - 시작: {}개 ({}ms), 종료: {}개 / 우승자 결정: {}개 ({}ms)",
+                started, startElapsed, ended[0], ended[1], endElapsed);
+    }
+
+    // 지정한 챌린지 중 아직 OPEN인 챌린지만 진행 시작 처리 (ChallengeTransitionService에서 호출)
+    public int start(List<Integer> challengeIds) {
+        List<Integer> ids = challengeRepository.findIdsByIdInAndStatus(challengeIds, "OPEN");
+        int started = ids.isEmpty() ? 0 : startChunk(ids);
+        if (started > 0) {
+            challengeListCache.invalidateAll();
+        }
+        return started;
+    }
+
+    // 지정한 챌린지 중 아직 PROGRESS인 챌린지만 종료 처리 (ChallengeTransitionService에서 호출)
+    public int end(List<Integer> challengeIds) {
+        List<Integer> ids = challengeRepository.findIdsByIdInAndStatus(challengeIds, "PROGRESS");
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        challengeRecordBuffer.flushNow();
+        int ended = endChunk(ids)[0];
+        if (ended > 0) {
+            challengeListCache.invalidateAll();
+        }
+        return ended;
+    }
+
+    // start_date가 기준일 이전인 OPEN 챌린지를 PROGRESS로, 멤버를 JOINED로 변경
+    private int startChallenges(LocalDate targetDate) {
+        int total = 0;
+        int lastId = 0;
+        List<Integer> ids;
+        LocalDateTime overdueBefore = LocalDateTime.now(zoneId).minus(overdueGrace);
+        while (!(ids = challengeRepository.findIdsToStart(targetDate, "OPEN", overdueBefore, lastId,
+                PageRequest.ofSize(chunkSize))).isEmpty()) {
+            total += startChunk(ids);
+            lastId = ids.get(ids.size() - 1);
+            log.info("진행 시작 chunk 처리 (누적 {}개, 마지막 ID: {})", total, lastId);
+        }
+        return total;
+    }
+
+    // end_date가 기준일 이전인 PROGRESS 챌린지의 우승자를 결정하고 END로, 멤버를 ENDED로 변경
+    private int[] endChallenges(LocalDate targetDate) {
+        int total = 0;
+        int winners = 0;
+        int lastId = 0;
+        List<Integer> ids;
+        LocalDateTime overdueBefore = LocalDateTime.now(zoneId).minus(overdueGrace);
+        while (!(ids = challengeRepository.findIdsToEnd(targetDate, "PROGRESS", overdueBefore, lastId,
+                PageRequest.ofSize(chunkSize))).isEmpty()) {
+            int[] result = endChunk(ids);
+            total += result[0];
+            winners += result[1];
+            lastId = ids.get(ids.size() - 1);
+            log.info("종료 chunk 처리 (누적 {}개, 마지막 ID: {})", total, lastId);
+        }
+        return new int[]{total, winners};
+    }
+
+    private int startChunk(List<Integer> ids) {
+        int members = challengeMemberRepository.updateStatusByChallengeIdIn(ids, "JOINED");
+        int challenges = challengeRepository.updateStatusByIdIn(ids, "OPEN", "PROGRESS");
+        log.info("진행 시작 - 챌린지 {}개, 멤버 {}명", challenges, members);
+        return challenges;
+    }
+
+    // {종료된 챌린지 수, 우승자 수}
+    private int[] endChunk(List<Integer> ids) {
+        Map<Integer, Integer> winnerByChallenge = findWinners(ids);
+        updateWinners(winnerByChallenge);
+
+        int members = challengeMemberRepository.updateStatusByChallengeIdIn(ids, "ENDED");
+        // 상태 변경을 마지막에 수행하여, 중간에 실패해도 다음 실행에서 다시 처리되도록 함
+        int challenges = challengeRepository.updateStatusByIdIn(ids, "PROGRESS", "END");
+        eventPublisher.publishEvent(ChallengeRecordClosedEvent.ofChallenges(ids));
+        log.info("종료 - 챌린지 {}개, 멤버 {}명, 우승자 {}명", challenges, members, winnerByChallenge.size());
+        return new int[]{challenges, winnerByChallenge.size()};
+    }
+
+    // 챌린지별 기록 합계가 가장 높은 멤버 (동점이면 먼저 참여한 멤버)
+    private Map<Integer, Integer> findWinners(List<Integer> challengeIds) {
+        Map<Integer, Integer> winners = new HashMap<>();
+        Map<Integer, Long> bestScores = new HashMap<>();
+        for (Object[] row : challengeRecordRepository.sumScoresGroupByChallengeMember(challengeIds)) {
+            int challengeId = (Integer) row[0];
+            int memberId = (Integer) row[1];
+            long score = (row[2] instanceof Number) ? ((Number) row[2]).longValue() : 0L;
+            if (score > bestScores.getOrDefault(challengeId, 0L)) {
+                bestScores.put(challengeId, score);
+                winners.put(challengeId, memberId);
+            }
+        }
+        return winners;
+    }
+
+    private void updateWinners(Map<Integer, Integer> winnerByChallenge) {
+        if (winnerByChallenge.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>();
+        winnerByChallenge.forEach((challengeId, winnerId) -> args.add(new Object[]{winnerId, challengeId}));
+        jdbcTemplate.batchUpdate("UPDATE challenge SET winner_id = ? WHERE id = ?", args);
+    }
+}
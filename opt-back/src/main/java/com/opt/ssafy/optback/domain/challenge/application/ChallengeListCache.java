@@ -0,0 +1,103 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opt.ssafy.optback.domain.challenge.dto.ChallengeResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * GET /challenges 페이지 캐시.
+ * 상태별 버전(challenge:list:version:{status})을 키에 포함하여, 무효화 시 버전만 올리면 이전 페이지들은 TTL로 사라진다.
+ */
+@Slf4j
+@Component
+public class ChallengeListCache {
+
+    private static final String KEY_PREFIX = "challenge:list:";
+    private static final String VERSION_PREFIX = KEY_PREFIX + "version:";
+    private static final List<String> STATUSES = List.of("OPEN", "PROGRESS", "END");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public ChallengeListCache(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                              @Value("${challenge.list.cache.ttl-seconds:10}") long ttlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public Page<ChallengeResponse> get(String status, Pageable pageable, Supplier<Page<ChallengeResponse>> loader) {
+        String key;
+        try {
+            key = pageKey(status, pageable);
+            String cached = stringRedisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                CachedPage page = objectMapper.readValue(cached, CachedPage.class);
+                return new PageImpl<>(page.content(), pageable, page.totalElements());
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("챌린지 목록 캐시 조회 실패 (status: {})", status, e);
+            return loader.get();
+        }
+
+        Page<ChallengeResponse> page = loader.get();
+        try {
+            String value = objectMapper.writeValueAsString(new CachedPage(page.getContent(), page.getTotalElements()));
+            stringRedisTemplate.opsForValue().set(key, value, ttl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("챌린지 목록 캐시 저장 실패 (status: {})", status, e);
+        }
+        return page;
+    }
+
+    // 해당 상태의 목록 캐시 무효화 (트랜잭션 중이면 커밋 이후 실행)
+    public void invalidate(String status) {
+        runAfterCommit(() -> {
+            try {
+                stringRedisTemplate.opsForValue().increment(VERSION_PREFIX + status);
+            } catch (DataAccessException e) {
+                log.warn("챌린지 목록 캐시 무효화 실패 (status: {})", status, e);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        STATUSES.forEach(this::invalidate);
+    }
+
+    private String pageKey(String status, Pageable pageable) {
+        String version = stringRedisTemplate.opsForValue().get(VERSION_PREFIX + status);
+        return KEY_PREFIX + status + ":" + (version == null ? "0" : version) + ":"
+                + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+
+    record CachedPage(List<ChallengeResponse> content, long totalElements) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.dto.ChallengeProgressMessage;
+import com.opt.ssafy.optback.domain.challenge.dto.ChallengeProgressMessage.MemberDelta;
+import com.opt.ssafy.optback.domain.challenge.dto.LeaderboardEntryResponse;
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.chat.service.ChatMessageRelay;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 챌린지 진행 상황을 /topic/challenge/{challengeId}로 전송한다.
+ * 기록이 들어올 때마다 보내지 않고 챌린지별 변경분을 모아 두었다가, 주기마다 챌린지당 최대 한 번만 전송한다.
+ * 기록은 어느 서버로든 들어올 수 있으므로 ChatMessageRelay를 통해 다른 서버의 구독자에게도 전달한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChallengeProgressBroadcaster {
+
+    private static final String DESTINATION_PREFIX = "/topic/challenge/";
+
+    private final Map<Integer, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ChatMessageRelay chatMessageRelay;
+    private final ChallengeLeaderboardService challengeLeaderboardService;
+    private final ChallengeProgressService challengeProgressService;
+
+    // 기록 변화량을 다음 전송 대상에 합침
+    public void publish(Challenge challenge, int memberId, int delta) {
+        pending.compute(challenge.getId(), (id, update) -> {
+            PendingUpdate merged = update == null ? new PendingUpdate(challenge) : update;
+            merged.deltas.merge(memberId, delta, Integer::sum);
+            return merged;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${challenge.progress.broadcast-interval-ms:300}")
+    public void flush() {
+        for (Integer challengeId : pending.keySet()) {
+            PendingUpdate update = pending.remove(challengeId);
+            if (update == null) {
+                continue;
+            }
+            try {
+                chatMessageRelay.publish(DESTINATION_PREFIX + challengeId, toMessage(update));
+            } catch (DataAccessException e) {
+                log.warn("챌린지 {} 진행 상황 전송 실패", challengeId, e);
+            }
+        }
+    }
+
+    private ChallengeProgressMessage toMessage(PendingUpdate update) {
+        Challenge challenge = update.challenge;
+        List<MemberDelta> members = new ArrayList<>();
+        update.deltas.forEach((memberId, delta) -> {
+            LeaderboardEntryResponse entry = challengeLeaderboardService.getEntry(challenge, memberId);
+            members.add(new MemberDelta(memberId, delta,
+                    entry == null ? 0.0 : entry.getMeasurement(), entry == null ? 0 : entry.getRank()));
+        });
+
+        return ChallengeProgressMessage.builder()
+                .challengeId(challenge.getId())
+                .progress("TEAM".equals(challenge.getType()) ? challengeProgressService.getProgress(challenge) : null)
+                .members(members)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    private static class PendingUpdate {
+        private final Challenge challenge;
+        private final Map<Integer, Integer> deltas = new LinkedHashMap<>();
+
+        private PendingUpdate(Challenge challenge) {
+            this.challenge = challenge;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRecordRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRepository;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * TEAM 챌린지의 누적 기록 합계를 Redis Hash(challenge:progress:{challengeId})에 유지한다.
+ * 기록 시 변화량만 더하고, progress는 누적 합계로부터 O(1)로 계산한다.
+ * 보정은 ChallengeRecordBuffer가 버퍼를 비운 뒤 reconcile()을 호출하여 수행하며, 합계를 덮어쓰지 않고 차이만 더한다.
+ * 다른 서버의 버퍼에 남은 기록은 Redis 합계가 DB보다 큰 것처럼 보이므로, 합계를 줄이는 보정은 두 번 연속 관측된 만큼만 적용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChallengeProgressService {
+
+    private static final String KEY_PREFIX = "challenge:progress:";
+    private static final String TOTAL_FIELD = "total";
+    private static final String RECONCILE_LOCK_KEY = "challenge:progress:reconcile:lock";
+    private static final Duration RECONCILE_LOCK_TTL = Duration.ofMinutes(5);
+
+    // DB 합계와의 차이(drift)만 더함, 감소 방향은 직전 보정에서도 관측된 경우에만 작은 쪽만큼 적용. 보정 후 합계 반환
+    private static final RedisScript<Long> CORRECT_TOTAL = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], 'total') "
+                    + "if not current then redis.call('HSET', KEYS[1], 'total', ARGV[1]) return tonumber(ARGV[1]) end "
+                    + "local drift = tonumber(ARGV[1]) - tonumber(current) "
+                    + "local previous = tonumber(redis.call('HGET', KEYS[1], 'drift') or '0') "
+                    + "redis.call('HDEL', KEYS[1], 'drift') "
+                    + "if drift < 0 and previous >= 0 then "
+                    + "redis.call('HSET', KEYS[1], 'drift', drift) return tonumber(current) end "
+                    + "if drift < 0 then drift = math.max(drift, previous) end "
+                    + "return redis.call('HINCRBY', KEYS[1], 'total', drift)", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeRecordRepository challengeRecordRepository;
+    private final ChallengeListCache challengeListCache;
+
+    // 기록 변화량을 누적 합계에 반영 (실패 시 다음 보정에서 복구)
+    public void addDelta(Challenge challenge, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            seedIfAbsent(challenge.getId());
+            stringRedisTemplate.opsForHash().increment(key(challenge.getId()), TOTAL_FIELD, delta);
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 누적 합계 갱신 실패", challenge.getId(), e);
+        }
+    }
+
+    // 누적 합계 기준 현재 progress (challenge 엔티티는 변경하지 않음)
+    public float getProgress(Challenge challenge) {
+        long total;
+        try {
+            seedIfAbsent(challenge.getId());
+            Object value = stringRedisTemplate.opsForHash().get(key(challenge.getId()), TOTAL_FIELD);
+            total = value == null ? 0L : Long.parseLong(value.toString());
+        } catch (DataAccessException e) {
+            log.warn("챌린지 {} 누적 합계 조회 실패, DB 합계로 대체", challenge.getId(), e);
+            total = sumFromRecords(challenge.getId());
+        }
+        return calculateProgress(challenge, total);
+    }
+
+    // 콜드 스타트: DB에 반영된 합계로 초기화
+    private void seedIfAbsent(int challengeId) {
+        String key = key(challengeId);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+            stringRedisTemplate.opsForHash().putIfAbsent(key, TOTAL_FIELD, String.valueOf(sumFromRecords(challengeId)));
+        }
+    }
+
+    // 진행 중인 TEAM 챌린지의 누적 합계를 challenge_record 기준으로 보정 (여러 서버 중 한 곳에서만 수행)
+    @Transactional
+    public void reconcile() {
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(RECONCILE_LOCK_KEY, "1", RECONCILE_LOCK_TTL))) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("TEAM 챌린지 progress 보정 락 획득 실패, 이번 주기는 건너뜁니다.", e);
+            return;
+        }
+        List<Challenge> challenges = challengeRepository.findByTypeAndStatus("TEAM", "PROGRESS");
+        if (challenges.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Long> totals = new HashMap<>();
+        for (Object[] row : challengeRecordRepository.sumScoresGroupByChallengeId("TEAM", "PROGRESS")) {
+            totals.put((Integer) row[0], (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L);
+        }
+
+        int corrected = 0;
+        for (Challenge challenge : challenges) {
+            long total = totals.getOrDefault(challenge.getId(), 0L);
+            try {
+                Long correctedTotal = stringRedisTemplate.execute(CORRECT_TOTAL, List.of(key(challenge.getId())),
+                        String.valueOf(total));
+                if (correctedTotal != null) {
+                    total = correctedTotal;
+                }
+            } catch (DataAccessException e) {
+                log.warn("챌린지 {} 누적 합계 보정 실패", challenge.getId(), e);
+            }
+
+            float progress = calculateProgress(challenge, total);
+            if (challenge.getProgress() == null || challenge.getProgress() != progress) {
+                challengeRepository.updateProgress(challenge.getId(), progress);
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            challengeListCache.invalidate("PROGRESS");
+        }
+        log.info("TEAM 챌린지 progress 보정 완료 (대상: {}개, 수정: {}개)", challenges.size(), corrected);
+    }
+
+    public void evict(int challengeId) {
+        stringRedisTemplate.delete(key(challengeId));
+    }
+
+    private long sumFromRecords(int challengeId) {
+        return challengeRecordRepository.sumScoreByChallengeId(challengeId).orElse(0L);
+    }
+
+    // 목표치 대비 누적 합계 비율 (최대 100)
+    private float calculateProgress(Challenge challenge, long total) {
+        if (challenge.getExerciseCount() != null) {
+            return roundedProgress(total, challenge.getExerciseCount());
+        }
+        if (challenge.getExerciseDuration() != null) {
+            return roundedProgress(total, challenge.getExerciseDuration());
+        }
+        if (challenge.getExerciseDistance() != null && challenge.getExerciseDistance() > 0) {
+            return Math.min(((float) total / challenge.getExerciseDistance()) * 100, 100.0f);
+        }
+        return 0.0f;
+    }
+
+    private float roundedProgress(long total, int target) {
+        if (target <= 0) {
+            return 0.0f;
+        }
+        float progress = Math.round(((float) total / target) * 100);
+        return Math.min(progress, 100.0f);
+    }
+
+    private String key(int challengeId) {
+        return KEY_PREFIX + challengeId;
+    }
+}
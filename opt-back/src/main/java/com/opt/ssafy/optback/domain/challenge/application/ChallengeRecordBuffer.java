@@ -0,0 +1,352 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Change;
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Snapshot;
+import jakarta.annotation.PostConstruct;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 챌린지 기록 write-behind 버퍼.
+ * (챌린지, 멤버, 날짜) 단위로 기록을 메모리에서 합치고, 주기적으로 또는 버퍼가 가득 차면 한 번에 challenge_record에 반영한다.
+ * 모든 변경은 반영 전에 저널에 기록되어 비정상 종료 후에도 재시작 시 복구된다.
+ * 복구는 빈 초기화 시점(스케줄러가 flush를 시작하기 전)에 수행하고, 복구하지 못한 세그먼트는 다음 재시작까지 지우지 않는다.
+ * 리더보드를 재구성하는 동안에는 해당 챌린지의 재구성 시점(cut) 이후 기록을 DB에 반영하지 않는다(hold).
+ */
+@Slf4j
+@Component
+public class ChallengeRecordBuffer {
+
+    private final Map<String, PendingChallengeRecord> records = new ConcurrentHashMap<>();
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 기록 변경과 그 변화량 반영(read) 사이에 TEAM 합계 보정(write)이 끼어들지 않도록 함
+    private final ReadWriteLock changeLock = new ReentrantReadWriteLock();
+    private final ChallengeRecordJournal journal;
+    private final ChallengeRecordWriter writer;
+    private final ChallengeProgressService challengeProgressService;
+    private final ZoneId zoneId;
+    private final int maxDirtyRecords;
+    // 리더보드 재구성 중인 챌린지 (재구성 토큰, 만료 시각)
+    private final Map<Integer, Hold> holds = new ConcurrentHashMap<>();
+    // 복구에 실패한 이전 실행의 세그먼트 (flush에서 삭제하지 않음)
+    private volatile List<Path> unrecovered = List.of();
+
+    public ChallengeRecordBuffer(ChallengeRecordJournal journal, ChallengeRecordWriter writer,
+                                 ChallengeProgressService challengeProgressService, ZoneId zoneId,
+                                 @Value("${challenge.record.buffer.max-size:500}") int maxDirtyRecords) {
+        this.journal = journal;
+        this.writer = writer;
+        this.challengeProgressService = challengeProgressService;
+        this.zoneId = zoneId;
+        this.maxDirtyRecords = maxDirtyRecords;
+    }
+
+    public PendingChallengeRecord get(int challengeId, int memberId, LocalDate day) {
+        return records.get(PendingChallengeRecord.key(challengeId, memberId, day));
+    }
+
+    public PendingChallengeRecord putIfAbsent(PendingChallengeRecord record) {
+        PendingChallengeRecord existing = records.putIfAbsent(record.key(), record);
+        return existing == null ? record : existing;
+    }
+
+    // 기록을 변경하고 저널에 남긴 뒤, 변경 전후 값으로 listener(리더보드, TEAM 합계 반영)를 호출
+    // 저널 fsync는 락을 푼 뒤 기다리므로 동시에 들어온 기록들이 한 번의 fsync로 함께 반영됨
+    // 이미 버퍼에서 제거된 기록(탈락, 종료, 삭제)이면 변경하지 않고 null 반환
+    public Change update(PendingChallengeRecord record, Function<PendingChallengeRecord, Change> operation,
+                         Consumer<Change> listener) {
+        Change change;
+        CompletableFuture<Void> journaled;
+        changeLock.readLock().lock();
+        try {
+            synchronized (record) {
+                if (records.get(record.key()) != record) {
+                    return null;
+                }
+                boolean wasDirty = record.isDirty();
+                change = operation.apply(record);
+                journaled = journal.append(record.snapshot());
+                if (!wasDirty) {
+                    dirtyCount.incrementAndGet();
+                }
+            }
+            listener.accept(change);
+        } finally {
+            changeLock.readLock().unlock();
+        }
+        journal.await(journaled);
+        if (dirtyCount.get() >= maxDirtyRecords) {
+            flush();
+        }
+        return change;
+    }
+
+    @Scheduled(fixedDelayString = "${challenge.record.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // 다른 스레드에서 flush 중
+        }
+        try {
+            List<Path> segments = new ArrayList<>(journal.rotate());
+            segments.removeAll(unrecovered);
+            Set<Integer> held = heldChallengeIds();
+            // 재구성 중이라 반영하지 않은 기록은 새 세그먼트에 다시 남긴 뒤 이전 세그먼트 삭제
+            if (writeDirty(record -> !held.contains(record.getChallenge().getId())) && rejournal(held)) {
+                journal.delete(segments);
+            }
+            evictStale();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 진행 중인 flush가 있으면 기다렸다가 전체 반영 (집계 직전 호출)
+    public void flushNow() {
+        flushLock.lock();
+        try {
+            flush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 조회 전 해당 멤버의 버퍼링된 기록만 즉시 반영 (read-your-writes)
+    public void flushMember(int memberId) {
+        boolean hasPending = records.values().stream()
+                .anyMatch(record -> record.getMemberId() == memberId && record.isDirty());
+        if (!hasPending) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            writeDirty(record -> record.getMemberId() == memberId
+                    && heldToken(record.getChallenge().getId()) == null);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 탈락, 종료, 삭제된 챌린지 기록을 DB에 반영하고 버퍼에서 제거.
+     * 이후 기록은 버퍼에 캐시된 챌린지 정보 대신 DB의 상태를 다시 확인한 뒤 등록된다.
+     * 진행 중인 기록 변경이 끝난 뒤 제거하므로, 제거된 기록에 대한 변경은 update가 null을 반환해 다시 시도된다.
+     */
+    public void evict(Predicate<PendingChallengeRecord> filter) {
+        if (records.values().stream().noneMatch(filter)) {
+            return;
+        }
+        changeLock.writeLock().lock();
+        try {
+            flushLock.lock();
+            try {
+                // 반영에 실패한 기록은 남겨 두고 다음 flush에서 재시도
+                writeDirty(filter);
+                removeClean(filter);
+            } finally {
+                flushLock.unlock();
+            }
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 리더보드 재구성 시점(cut).
+     * 기록 변경을 잠시 멈추고 해당 챌린지의 버퍼링된 기록을 모두 DB에 반영한 뒤, 이후 기록은 release(또는 만료) 전까지 반영하지 않는다.
+     * 따라서 각 기록 변경은 재구성 시 DB에서 읽히거나(cut 이전), heldToken이 재구성 토큰인 상태에서 일어난다(cut 이후).
+     */
+    public void cut(int challengeId, String token, long holdMillis) {
+        changeLock.writeLock().lock();
+        try {
+            flushLock.lock();
+            try {
+                holds.put(challengeId, new Hold(token, System.currentTimeMillis() + holdMillis));
+                if (!writeDirty(record -> record.getChallenge().getId() == challengeId)) {
+                    log.warn("리더보드 재구성 전 챌린지 {} 기록 반영 실패, 재구성 결과에서 일부 기록이 빠질 수 있습니다.", challengeId);
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    public void release(int challengeId, String token) {
+        holds.computeIfPresent(challengeId, (id, hold) -> hold.token().equals(token) ? null : hold);
+    }
+
+    // 재구성 중인 챌린지면 재구성 토큰, 아니면 null
+    public String heldToken(int challengeId) {
+        Hold hold = holds.get(challengeId);
+        if (hold == null) {
+            return null;
+        }
+        if (hold.expiresAt() < System.currentTimeMillis()) {
+            holds.remove(challengeId, hold);
+            return null;
+        }
+        return hold.token();
+    }
+
+    // TEAM progress 보정 전, 버퍼링된 기록을 모두 DB에 반영해 누락을 방지
+    // 보정하는 동안에는 새 기록의 변화량이 Redis에만 먼저 더해지지 않도록 기록 변경을 잠시 멈춤
+    @Scheduled(cron = "0 */10 * * * *")
+    public void reconcileProgress() {
+        changeLock.writeLock().lock();
+        try {
+            flushLock.lock();
+            try {
+                flush();
+                challengeProgressService.reconcile();
+            } finally {
+                flushLock.unlock();
+            }
+        } finally {
+            changeLock.writeLock().unlock();
+        }
+    }
+
+    // 재시작 시 저널에 남은 기록을 DB에 반영 (첫 flush보다 먼저 실행되어야 이전 세그먼트가 삭제되지 않음)
+    @PostConstruct
+    public void recover() {
+        flushLock.lock();
+        List<Path> segments = List.of();
+        try {
+            segments = journal.rotate();
+            if (segments.isEmpty()) {
+                return;
+            }
+            List<Snapshot> snapshots = journal.replay(segments);
+            writer.write(snapshots);
+            journal.delete(segments);
+            log.info("챌린지 기록 저널 복구 완료 ({}건)", snapshots.size());
+        } catch (RuntimeException e) {
+            unrecovered = segments;
+            log.error("챌린지 기록 저널 복구 실패, 다음 재시작 시 다시 시도합니다. ({}개 세그먼트 보존)", segments.size(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean writeDirty(Predicate<PendingChallengeRecord> filter) {
+        List<PendingChallengeRecord> drained = new ArrayList<>();
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (PendingChallengeRecord record : records.values()) {
+            if (!filter.test(record)) {
+                continue;
+            }
+            synchronized (record) {
+                if (record.isDirty()) {
+                    snapshots.add(record.drain());
+                    drained.add(record);
+                    dirtyCount.decrementAndGet();
+                }
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return true;
+        }
+
+        try {
+            Map<String, Integer> recordIds = writer.write(snapshots);
+            for (PendingChallengeRecord record : drained) {
+                Integer recordId = recordIds.get(record.key());
+                if (recordId == null) {
+                    records.remove(record.key(), record); // 반영 대상이 사라진 기록
+                    continue;
+                }
+                synchronized (record) {
+                    record.markPersisted(recordId);
+                }
+            }
+            log.debug("챌린지 기록 {}건 반영", snapshots.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("챌린지 기록 반영 실패, 다음 flush에서 재시도합니다. ({}건)", snapshots.size(), e);
+            for (PendingChallengeRecord record : drained) {
+                synchronized (record) {
+                    if (!record.isDirty()) {
+                        record.markDirty();
+                        dirtyCount.incrementAndGet();
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private Set<Integer> heldChallengeIds() {
+        return holds.keySet().stream()
+                .filter(challengeId -> heldToken(challengeId) != null)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean rejournal(Set<Integer> held) {
+        if (held.isEmpty()) {
+            return true;
+        }
+        List<CompletableFuture<Void>> journaled = new ArrayList<>();
+        for (PendingChallengeRecord record : records.values()) {
+            if (!held.contains(record.getChallenge().getId())) {
+                continue;
+            }
+            synchronized (record) {
+                if (record.isDirty()) {
+                    journaled.add(journal.append(record.snapshot()));
+                }
+            }
+        }
+        try {
+            journal.await(CompletableFuture.allOf(journaled.toArray(CompletableFuture[]::new)));
+            return true;
+        } catch (UncheckedIOException e) {
+            log.warn("재구성 중인 챌린지 기록 저널 재작성 실패, 이전 세그먼트를 유지합니다.", e);
+            return false;
+        }
+    }
+
+    // 지난 날짜의 반영 완료된 기록 제거
+    private void evictStale() {
+        LocalDate today = LocalDate.now(zoneId);
+        removeClean(record -> record.getDay().isBefore(today));
+    }
+
+    // 반영 완료된 기록만 제거 (제거와 동시에 들어온 변경은 update에서 다시 시도)
+    private void removeClean(Predicate<PendingChallengeRecord> filter) {
+        for (PendingChallengeRecord record : records.values()) {
+            if (!filter.test(record)) {
+                continue;
+            }
+            synchronized (record) {
+                if (!record.isDirty()) {
+                    records.remove(record.key(), record);
+                }
+            }
+        }
+    }
+
+    private record Hold(String token, long expiresAt) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.event.ChallengeRecordClosedEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 챌린지 종료, 삭제, 멤버 탈락 시 모든 서버의 ChallengeRecordBuffer에서 해당 기록을 제거한다.
+ * 버퍼는 기록을 처음 등록할 때만 상태를 확인하므로, 제거하지 않으면 탈락한 멤버의 기록이 계속 쌓인다.
+ * 이 서버는 바로 제거하고, 다른 서버에는 Redis 채널(challenge:record:closed)로 알린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChallengeRecordEvictionListener {
+
+    static final String CLOSED_CHANNEL = "challenge:record:closed";
+    private static final String CHALLENGE_PREFIX = "challenge:";
+    private static final String MEMBER_PREFIX = "member:";
+
+    private final ChallengeRecordBuffer challengeRecordBuffer;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CLOSED_CHANNEL));
+    }
+
+    // 상태 변경(탈락, 종료, 삭제)이 커밋된 뒤 발행됨
+    @EventListener
+    public void onClosed(ChallengeRecordClosedEvent event) {
+        evict(event.getChallengeIds(), event.getChallengeMemberIds());
+        try {
+            if (!event.getChallengeIds().isEmpty()) {
+                stringRedisTemplate.convertAndSend(CLOSED_CHANNEL, CHALLENGE_PREFIX + join(event.getChallengeIds()));
+            }
+            if (!event.getChallengeMemberIds().isEmpty()) {
+                stringRedisTemplate.convertAndSend(CLOSED_CHANNEL,
+                        MEMBER_PREFIX + join(event.getChallengeMemberIds()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("챌린지 기록 버퍼 제거 전파 실패", e);
+        }
+    }
+
+    private void onMessage(String body) {
+        if (body.startsWith(CHALLENGE_PREFIX)) {
+            evict(parse(body.substring(CHALLENGE_PREFIX.length())), List.of());
+        } else if (body.startsWith(MEMBER_PREFIX)) {
+            evict(List.of(), parse(body.substring(MEMBER_PREFIX.length())));
+        }
+    }
+
+    private void evict(List<Integer> challengeIds, List<Integer> challengeMemberIds) {
+        Set<Integer> challenges = Set.copyOf(challengeIds);
+        Set<Integer> members = Set.copyOf(challengeMemberIds);
+        challengeRecordBuffer.evict(record -> challenges.contains(record.getChallenge().getId())
+                || members.contains(record.getChallengeMemberId()));
+    }
+
+    private String join(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private List<Integer> parse(String ids) {
+        return Arrays.stream(ids.split(",")).map(Integer::valueOf).toList();
+    }
+}
@@ -0,0 +1,288 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Snapshot;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 버퍼링된 챌린지 기록의 append-only 저널.
+ * 기록이 변경될 때마다 해당 (challengeMember, 날짜)의 전체 값을 한 줄로 남기므로, 재생 시 마지막 줄만 반영하면 된다.
+ * flush 직전에 세그먼트를 교체하고, DB 반영이 끝난 세그먼트는 삭제한다.
+ * 기록마다 fsync하지 않고 group commit한다: append는 메모리의 대기 버퍼에 줄을 추가하고 바로 반환하며,
+ * 전용 스레드가 commit-interval-ms마다(또는 대기 버퍼가 commit-bytes를 넘으면 즉시) 모아서 쓰고 한 번 fsync한다.
+ * append가 반환한 future는 해당 줄이 fsync된 뒤 완료되므로, 호출자는 락 밖에서 기다리면 서버가 비정상 종료되어도 남는다.
+ * 저장 위치(challenge.record.journal.dir)는 작업 디렉토리에 따라 달라지지 않도록 절대 경로로 지정한다.
+ */
+@Slf4j
+@Component
+public class ChallengeRecordJournal {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long commitIntervalMillis;
+    private final int commitBytes;
+    // 세그먼트 쓰기/교체는 commitLock, 대기 버퍼는 this로 보호 (commitLock -> this 순서로만 잡음)
+    private final Object commitLock = new Object();
+    private final Thread committer;
+    private FileChannel channel;
+    private long sequence;
+    private StringBuilder pending = new StringBuilder();
+    private List<CompletableFuture<Void>> waiters = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public ChallengeRecordJournal(
+            @Value("${challenge.record.journal.dir:${user.home}/opt-back/journal/challenge-record}") String directory,
+            @Value("${challenge.record.journal.commit-interval-ms:5}") long commitIntervalMillis,
+            @Value("${challenge.record.journal.commit-bytes:65536}") int commitBytes) {
+        this.directory = Paths.get(directory);
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.commitBytes = commitBytes;
+        if (!this.directory.isAbsolute()) {
+            throw new IllegalStateException("챌린지 기록 저널 디렉토리는 절대 경로여야 합니다: " + directory);
+        }
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("챌린지 기록 저널 디렉토리를 생성할 수 없습니다: " + directory, e);
+        }
+        this.sequence = System.currentTimeMillis();
+        this.committer = Thread.ofPlatform().name("challenge-record-journal").daemon().start(this::runCommitter);
+    }
+
+    // 대기 버퍼에 한 줄 추가, 반환된 future는 해당 줄이 fsync되면 완료 (실패 시 UncheckedIOException)
+    public CompletableFuture<Void> append(Snapshot snapshot) {
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        synchronized (this) {
+            pending.append(format(snapshot)).append(System.lineSeparator());
+            waiters.add(committed);
+            if (waiters.size() == 1 || pending.length() >= commitBytes) {
+                notifyAll();
+            }
+        }
+        if (!running) {
+            // 종료 이후의 기록은 호출한 스레드에서 직접 반영
+            commit();
+        }
+        return committed;
+    }
+
+    // append가 반환한 future를 기다림 (호출자는 락을 잡지 않은 상태에서 호출)
+    public void await(CompletableFuture<Void> committed) {
+        try {
+            committed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 대기 중인 기록을 반영하고 현재 세그먼트를 닫은 뒤, 지금까지 닫힌 모든 세그먼트를 반환 (이후 기록은 새 세그먼트에 작성)
+    public List<Path> rotate() {
+        synchronized (commitLock) {
+            commit();
+            closeWriter();
+            return segments();
+        }
+    }
+
+    public void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("챌린지 기록 저널 세그먼트 삭제 실패: {}", segment, e);
+            }
+        }
+    }
+
+    // 세그먼트 순서대로 읽어 key별 마지막 값만 반환
+    public List<Snapshot> replay(List<Path> segments) {
+        Map<String, Snapshot> latest = new LinkedHashMap<>();
+        for (Path segment : segments) {
+            try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+                lines.filter(line -> !line.isBlank()).forEach(line -> {
+                    try {
+                        Snapshot snapshot = parse(line);
+                        latest.put(snapshot.key(), snapshot);
+                    } catch (RuntimeException e) {
+                        // 비정상 종료로 마지막 줄이 잘린 경우
+                        log.warn("챌린지 기록 저널의 손상된 줄을 건너뜁니다: {}", line);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("챌린지 기록 저널 읽기 실패: " + segment, e);
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (commitLock) {
+            commit();
+            closeWriter();
+        }
+    }
+
+    private void runCommitter() {
+        while (running) {
+            try {
+                synchronized (this) {
+                    while (running && waiters.isEmpty()) {
+                        wait();
+                    }
+                    // 첫 기록 이후 잠시 더 모아서 한 번에 fsync
+                    long deadline = System.currentTimeMillis() + commitIntervalMillis;
+                    long remaining;
+                    while (running && pending.length() < commitBytes
+                            && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                        wait(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            commit();
+        }
+    }
+
+    // 대기 버퍼를 현재 세그먼트에 쓰고 fsync한 뒤, 기다리는 호출자를 한 번에 깨움
+    private void commit() {
+        synchronized (commitLock) {
+            String lines;
+            List<CompletableFuture<Void>> committed;
+            synchronized (this) {
+                if (waiters.isEmpty()) {
+                    return;
+                }
+                lines = pending.toString();
+                committed = waiters;
+                pending = new StringBuilder();
+                waiters = new ArrayList<>();
+            }
+            try {
+                write(lines);
+                committed.forEach(future -> future.complete(null));
+            } catch (IOException e) {
+                // 일부만 쓰인 줄 뒤에 이어 쓰지 않도록 세그먼트를 닫음 (재생 시 잘린 줄은 건너뜀)
+                closeWriter();
+                UncheckedIOException failure = new UncheckedIOException("챌린지 기록 저널 작성 실패", e);
+                committed.forEach(future -> future.completeExceptionally(failure));
+            }
+        }
+    }
+
+    private void write(String lines) throws IOException {
+        if (channel == null) {
+            Path segment = directory.resolve(SEGMENT_PREFIX + (sequence++) + SEGMENT_SUFFIX);
+            channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            syncDirectory();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private void closeWriter() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("챌린지 기록 저널 세그먼트 닫기 실패", e);
+        }
+        channel = null;
+    }
+
+    // 새 세그먼트의 디렉토리 엔트리도 디스크에 반영 (지원하지 않는 파일 시스템에서는 무시)
+    private void syncDirectory() {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            log.debug("챌린지 기록 저널 디렉토리 fsync를 건너뜁니다: {}", directory);
+        }
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("챌린지 기록 저널 목록 조회 실패", e);
+        }
+    }
+
+    // challengeId,challengeMemberId,memberId,day,recordId,count,duration,distance,writerId,addedDistance
+    private String format(Snapshot snapshot) {
+        return String.join(",",
+                String.valueOf(snapshot.challengeId()),
+                String.valueOf(snapshot.challengeMemberId()),
+                String.valueOf(snapshot.memberId()),
+                snapshot.day().toString(),
+                nullable(snapshot.recordId()),
+                nullable(snapshot.count()),
+                nullable(snapshot.duration()),
+                nullable(snapshot.distance()),
+                snapshot.writerId(),
+                nullable(snapshot.addedDistance()));
+    }
+
+    private Snapshot parse(String line) {
+        String[] fields = line.split(",", -1);
+        int challengeId = Integer.parseInt(fields[0]);
+        int memberId = Integer.parseInt(fields[2]);
+        LocalDate day = LocalDate.parse(fields[3]);
+        // 이전 형식(8개 항목)의 줄은 writerId 없이 읽음
+        boolean hasWriter = fields.length > 8;
+        return new Snapshot(PendingChallengeRecord.key(challengeId, memberId, day), challengeId,
+                Integer.parseInt(fields[1]), memberId, day,
+                parseNullable(fields[4]), parseNullable(fields[5]), parseNullable(fields[6]), parseNullable(fields[7]),
+                hasWriter ? fields[8] : null, hasWriter ? parseNullable(fields[9]) : null);
+    }
+
+    private String nullable(Integer value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    private Integer parseNullable(String value) {
+        return value.isEmpty() ? null : Integer.valueOf(value);
+    }
+}
@@ -0,0 +1,172 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.application.ChallengeCompletionService.PassedDay;
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Snapshot;
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeMember;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeRecord;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeMemberRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRecordMergeRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRecordRepository;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 버퍼링된 챌린지 기록을 한 트랜잭션으로 challenge_record에 반영한다.
+ * 값은 엔티티로 읽어 덮어쓰지 않고 DB에서 합치므로(count, duration은 최댓값, distance는 변화량) 여러 서버가 같은 기록을 반영해도 유실되지 않는다.
+ * distance는 버퍼별 반영 누적값과의 차이만 더하므로 같은 스냅샷을 여러 번 반영해도 결과가 같다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChallengeRecordWriter {
+
+    private static final int CONTRIBUTION_RETENTION_DAYS = 7;
+    private static final int CLEANUP_CHUNK_SIZE = 1000;
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeMemberRepository challengeMemberRepository;
+    private final ChallengeRecordRepository challengeRecordRepository;
+    private final ChallengeProgressService challengeProgressService;
+    private final ChallengeListCache challengeListCache;
+    private final ChallengeContributionCache challengeContributionCache;
+    private final ChallengeCompletionService challengeCompletionService;
+    private final ChallengeRecordMergeRepository challengeRecordMergeRepository;
+
+    // 반영된 스냅샷 key별 challenge_record id 반환
+    @Transactional
+    public Map<String, Integer> write(List<Snapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Integer, Challenge> challenges = challengeRepository.findAllById(
+                        snapshots.stream().map(Snapshot::challengeId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Challenge::getId, Function.identity()));
+        Map<Integer, ChallengeMember> challengeMembers = challengeMemberRepository.findAllById(
+                        snapshots.stream().map(Snapshot::challengeMemberId).distinct().toList()).stream()
+                .collect(Collectors.toMap(ChallengeMember::getId, Function.identity()));
+
+        // TEAM 챌린지는 누적 합계 기준 progress를 먼저 계산 (엔티티는 변경하지 않고 progress 컬럼만 갱신)
+        List<Challenge> teamChallenges = challenges.values().stream()
+                .filter(challenge -> "TEAM".equals(challenge.getType()))
+                .toList();
+        Map<Integer, Float> progresses = new HashMap<>();
+        for (Challenge challenge : teamChallenges) {
+            progresses.put(challenge.getId(), challengeProgressService.getProgress(challenge));
+        }
+
+        // 다른 서버와 같은 행을 갱신할 때 교착 상태가 생기지 않도록 (challengeMember, 날짜) 순서로 반영
+        List<Snapshot> ordered = snapshots.stream()
+                .sorted(Comparator.comparingInt(Snapshot::challengeMemberId).thenComparing(Snapshot::day))
+                .toList();
+        Map<Integer, Snapshot> written = new HashMap<>();
+        for (Snapshot snapshot : ordered) {
+            Challenge challenge = challenges.get(snapshot.challengeId());
+            ChallengeMember challengeMember = challengeMembers.get(snapshot.challengeMemberId());
+            if (challenge == null || challengeMember == null) {
+                // 버퍼링 중 챌린지가 삭제되었거나 멤버가 탈퇴한 경우
+                log.warn("챌린지 기록 반영 대상이 존재하지 않아 건너뜁니다. (key: {})", snapshot.key());
+                continue;
+            }
+            int recordId = snapshot.recordId() != null ? snapshot.recordId()
+                    : challengeRecordMergeRepository.insertIfAbsent(challengeMember.getId(), challenge.getId(),
+                            challengeMember.getMemberId(), snapshot.day());
+            merge(recordId, snapshot);
+            written.put(recordId, snapshot);
+        }
+
+        // 합쳐진 값으로 통과 여부 판정 (이 트랜잭션이 행을 갱신했으므로 커밋 전까지 다른 서버가 바꾸지 못함)
+        List<ChallengeRecord> records = challengeRecordRepository.findAllById(written.keySet());
+        List<PassedDay> passedDays = new ArrayList<>();
+        Map<String, Integer> recordIds = new HashMap<>();
+        for (ChallengeRecord record : records) {
+            Snapshot snapshot = written.get(record.getId());
+            Challenge challenge = challenges.get(snapshot.challengeId());
+            if (isPassed(record, challenge, progresses.get(challenge.getId()))) {
+                record.setIsPassed();
+                passedDays.add(new PassedDay(challenge, snapshot.challengeMemberId(), snapshot.memberId(),
+                        snapshot.day()));
+            }
+            recordIds.put(snapshot.key(), record.getId());
+        }
+        challengeRecordRepository.saveAll(records);
+        challengeCompletionService.markPassed(passedDays);
+
+        // TEAM 목표 달성 시 해당 챌린지의 모든 기록을 통과 처리
+        for (Challenge challenge : teamChallenges) {
+            float progress = progresses.get(challenge.getId());
+            challengeRepository.updateProgress(challenge.getId(), progress);
+            log.info("챌린지 {}의 progress가 {}로 업데이트됨.", challenge.getId(), progress);
+            if (progress >= 100F) {
+                challengeRecordRepository.markAllPassedByChallengeId(challenge.getId());
+                log.info("챌린지 {}의 모든 멤버 isPassed = true", challenge.getId());
+            }
+        }
+        if (!teamChallenges.isEmpty()) {
+            challengeListCache.invalidate("PROGRESS");
+            challengeContributionCache.invalidate(teamChallenges.stream().map(Challenge::getId).toList());
+        }
+
+        return recordIds;
+    }
+
+    // 보관 기간이 지난 distance 반영 누적값 정리 (그보다 오래된 저널 세그먼트는 없다고 봄)
+    @Scheduled(cron = "0 40 4 * * *")
+    public void purgeContributions() {
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = challengeRecordMergeRepository.deleteContributionsOlderThanDays(CONTRIBUTION_RETENTION_DAYS,
+                    CLEANUP_CHUNK_SIZE);
+            deleted += chunk;
+        } while (chunk == CLEANUP_CHUNK_SIZE);
+        if (deleted > 0) {
+            log.info("챌린지 기록 반영 누적값 {}건 정리", deleted);
+        }
+    }
+
+    // count, duration은 최댓값, distance는 이 버퍼가 아직 반영하지 않은 만큼만 더함
+    private void merge(int recordId, Snapshot snapshot) {
+        Integer distanceDelta = null;
+        Integer maxDistance = null;
+        if (snapshot.writerId() == null) {
+            maxDistance = snapshot.distance();
+        } else if (snapshot.addedDistance() != null) {
+            distanceDelta = snapshot.addedDistance()
+                    - challengeRecordMergeRepository.findAppliedDistance(snapshot.writerId());
+            challengeRecordMergeRepository.saveAppliedDistance(snapshot.writerId(), recordId,
+                    snapshot.addedDistance());
+        }
+        challengeRecordMergeRepository.merge(recordId, snapshot.count(), snapshot.duration(), distanceDelta,
+                maxDistance);
+    }
+
+    // 기록의 is_passed 판정 (TEAM은 전체 progress, 그 외는 개인 목표치 기준)
+    private boolean isPassed(ChallengeRecord record, Challenge challenge, Float teamProgress) {
+        if ("TEAM".equals(challenge.getType())) {
+            return teamProgress != null && teamProgress >= 100F;
+        }
+        if (record.getCount() != null && challenge.getExerciseCount() != null
+                && record.getCount() >= challenge.getExerciseCount()) {
+            return true;
+        }
+        if (record.getDuration() != null && challenge.getExerciseDuration() != null
+                && record.getDuration() >= challenge.getExerciseDuration()) {
+            return true;
+        }
+        return record.getDistance() != null && challenge.getExerciseDistance() != null
+                && record.getDistance() >= challenge.getExerciseDistance();
+    }
+}
@@ -0,0 +1,56 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.dto.ChallengeResponse;
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.member.entity.Member;
+import com.opt.ssafy.optback.domain.member.exception.MemberNotFoundException;
+import com.opt.ssafy.optback.domain.member.repository.MemberRepository;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Challenge 목록을 ChallengeResponse로 변환한다.
+ * 호스트와 우승자 정보를 챌린지마다 조회하지 않고, 목록 전체의 회원 id를 모아 한 번의 IN 쿼리로 가져온다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChallengeResponseAssembler {
+
+    private final MemberRepository memberRepository;
+
+    public ChallengeResponse toResponse(Challenge challenge) {
+        return toResponses(List.of(challenge)).get(0);
+    }
+
+    public List<ChallengeResponse> toResponses(List<Challenge> challenges) {
+        if (challenges.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Integer> memberIds = new HashSet<>();
+        for (Challenge challenge : challenges) {
+            memberIds.add(challenge.getHostId());
+            if (challenge.getWinnerId() != null) {
+                memberIds.add(challenge.getWinnerId());
+            }
+        }
+        Map<Integer, Member> members = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+
+        return challenges.stream().map(challenge -> {
+            Member host = members.get(challenge.getHostId());
+            if (host == null) {
+                throw new MemberNotFoundException();
+            }
+            // winnerId가 존재하면 winnerName 조회
+            Member winner = challenge.getWinnerId() == null ? null : members.get(challenge.getWinnerId());
+            return ChallengeResponse.from(challenge, host, winner == null ? null : winner.getNickname());
+        }).toList();
+    }
+}
@@ -0,0 +1,206 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeTransition;
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeTransitionRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 챌린지 상태 전환 예약.
+ * 챌린지 생성 시 시작/종료 전환을 challenge_transition에 저장하고, 가까운 시일(horizon) 안의 전환만 타이밍 휠에 올려 제시각에 실행한다.
+ * 전환 시각은 자정 안전망(ChallengeLifecycleScheduler)과 같은 규칙(시작일/종료일 다음 날 00시, 서비스 시간대 기준)을 따르며,
+ * 챌린지 id에 따라 spread-minutes 안에서 분산되어 자정에 한꺼번에 몰리지 않는다.
+ * 전환 실행(종료 시 기록 반영과 우승자 집계 포함)은 스케줄러 스레드가 아닌 전용 스레드에서 순서대로 처리한다.
+ * 재시작 시 지난 전환을 즉시 실행하므로 누락이 없고, 전환은 조건부 UPDATE로 처리되어 중복 실행되어도 안전하다.
+ */
+@Slf4j
+@Service
+public class ChallengeTransitionService {
+
+    private static final long TICK_MS = 1000L;
+    private static final int WHEEL_SIZE = 60;
+
+    private final ChallengeTransitionRepository challengeTransitionRepository;
+    private final ChallengeLifecycleScheduler challengeLifecycleScheduler;
+    private final ZoneId zoneId;
+    private final TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("challenge-transition").daemon().factory());
+    // 휠에 올라간 전환 id (중복 등록 방지)
+    private final Set<Integer> scheduled = ConcurrentHashMap.newKeySet();
+    private final int batchSize;
+    private final int spreadSeconds;
+    private final Duration horizon;
+
+    public ChallengeTransitionService(ChallengeTransitionRepository challengeTransitionRepository,
+                                      ChallengeLifecycleScheduler challengeLifecycleScheduler, ZoneId zoneId,
+                                      @Value("${challenge.transition.batch-size:100}") int batchSize,
+                                      @Value("${challenge.transition.spread-minutes:60}") int spreadMinutes,
+                                      @Value("${challenge.transition.horizon-minutes:120}") long horizonMinutes) {
+        this.challengeTransitionRepository = challengeTransitionRepository;
+        this.challengeLifecycleScheduler = challengeLifecycleScheduler;
+        this.zoneId = zoneId;
+        this.batchSize = batchSize;
+        this.spreadSeconds = spreadMinutes * 60;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+    }
+
+    // 시작일 다음 날 00시에 시작, 종료일 다음 날 00시에 종료 (각각 챌린지별 분산 시간만큼 지연)
+    public void schedule(Challenge challenge) {
+        List<ChallengeTransition> transitions = challengeTransitionRepository.saveAll(List.of(
+                transition(challenge, "START", challenge.getStartDate().plusDays(1)),
+                transition(challenge, "END", challenge.getEndDate().plusDays(1))));
+        runAfterCommit(() -> {
+            LocalDateTime until = LocalDateTime.now(zoneId).plus(horizon);
+            transitions.stream()
+                    .filter(transition -> !transition.getFireAt().isAfter(until))
+                    .forEach(this::enqueue);
+        });
+    }
+
+    public void cancel(int challengeId) {
+        // 휠에 남은 id는 실행 시 행이 없어 건너뜀
+        challengeTransitionRepository.deleteByChallengeId(challengeId);
+    }
+
+    @Scheduled(fixedDelay = TICK_MS)
+    public void tick() {
+        List<Integer> expired = wheel.advanceTo(System.currentTimeMillis());
+        if (!expired.isEmpty()) {
+            executor.execute(() -> fire(expired));
+        }
+    }
+
+    // horizon 안에 들어온 대기 중 전환을 휠에 등록, 이미 지난 전환은 바로 실행
+    @Scheduled(cron = "0 */10 * * * *")
+    public void loadUpcoming() {
+        LocalDateTime until = LocalDateTime.now(zoneId).plus(horizon);
+        int loaded = 0;
+        int lastId = 0;
+        List<ChallengeTransition> transitions;
+        while (!(transitions = challengeTransitionRepository.findPendingUntil(until, lastId,
+                PageRequest.ofSize(batchSize))).isEmpty()) {
+            for (ChallengeTransition transition : transitions) {
+                if (enqueue(transition)) {
+                    loaded++;
+                }
+            }
+            lastId = transitions.get(transitions.size() - 1).getId();
+        }
+        if (loaded > 0) {
+            log.info("챌린지 상태 전환 {}건 예약 (~{})", loaded, until);
+        }
+    }
+
+    // 재시작 시 밀린 전환 실행 및 예약 복구
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        loadUpcoming();
+    }
+
+    // 휠에 등록, 이미 시각이 지났으면 바로 실행 (이미 등록된 전환이면 false)
+    private boolean enqueue(ChallengeTransition transition) {
+        if (!scheduled.add(transition.getId())) {
+            return false;
+        }
+        if (!wheel.add(epochMillis(transition.getFireAt()), transition.getId())) {
+            executor.execute(() -> fire(List.of(transition.getId())));
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행하지 못한 전환은 PENDING으로 남아 재시작 시 다시 실행됨
+        executor.shutdownNow();
+    }
+
+    private void fire(List<Integer> transitionIds) {
+        for (int from = 0; from < transitionIds.size(); from += batchSize) {
+            List<Integer> batch = transitionIds.subList(from, Math.min(from + batchSize, transitionIds.size()));
+            try {
+                fireBatch(batch);
+            } catch (RuntimeException e) {
+                // PENDING으로 남아 다음 loadUpcoming에서 다시 실행됨
+                log.error("챌린지 상태 전환 실패 (전환 id: {})", batch, e);
+            } finally {
+                batch.forEach(scheduled::remove);
+            }
+        }
+    }
+
+    private void fireBatch(List<Integer> transitionIds) {
+        List<ChallengeTransition> transitions = challengeTransitionRepository.findAllById(transitionIds).stream()
+                .filter(transition -> "PENDING".equals(transition.getStatus()))
+                .toList();
+        if (transitions.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Integer>> challengeIdsByType = transitions.stream()
+                .collect(Collectors.groupingBy(ChallengeTransition::getType,
+                        Collectors.mapping(ChallengeTransition::getChallengeId, Collectors.toList())));
+        int started = 0;
+        int ended = 0;
+        if (challengeIdsByType.containsKey("START")) {
+            started = challengeLifecycleScheduler.start(challengeIdsByType.get("START"));
+        }
+        if (challengeIdsByType.containsKey("END")) {
+            ended = challengeLifecycleScheduler.end(challengeIdsByType.get("END"));
+        }
+
+        List<Integer> ids = new ArrayList<>(transitions.size());
+        transitions.forEach(transition -> ids.add(transition.getId()));
+        challengeTransitionRepository.markDone(ids);
+        log.info("챌린지 상태 전환 실행 - 전환 {}건, 시작: {}개, 종료: {}개", ids.size(), started, ended);
+    }
+
+    private ChallengeTransition transition(Challenge challenge, String type, LocalDate date) {
+        // 챌린지 id로 분산 시간을 정해 같은 날 전환이 한 시각에 몰리지 않도록 함
+        long offsetSeconds = spreadSeconds <= 0 ? 0 : Math.floorMod(challenge.getId() * 2654435761L, spreadSeconds);
+        return ChallengeTransition.builder()
+                .challengeId(challenge.getId())
+                .type(type)
+                .fireAt(date.atStartOfDay().plusSeconds(offsetSeconds))
+                .status("PENDING")
+                .build();
+    }
+
+    private long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zoneId).toInstant().toEpochMilli();
+    }
+
+    private void runAfterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.dto.CursorPageResponse;
+import com.opt.ssafy.optback.domain.challenge.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * id 기준 keyset 페이지네이션.
+ * OFFSET 없이 마지막으로 본 id 이후만 조회하므로 깊은 페이지도 첫 페이지와 같은 비용으로 조회된다.
+ */
+final class CursorPaging {
+
+    static final int MAX_SIZE = 100;
+    private static final String PREFIX = "id:";
+
+    private CursorPaging() {
+    }
+
+    /**
+     * @param olderThan (id, pageable) → id보다 작은 행을 id 내림차순으로 조회
+     * @param newerThan (id, pageable) → id보다 큰 행을 id 오름차순으로 조회
+     */
+    static <E, R> CursorPageResponse<R> scroll(String before, String after, int size,
+                                               BiFunction<Integer, Pageable, List<E>> olderThan,
+                                               BiFunction<Integer, Pageable, List<E>> newerThan,
+                                               ToIntFunction<E> idOf,
+                                               Function<List<E>, List<R>> mapper,
+                                               Supplier<Long> totalCount) {
+        if (before != null && after != null) {
+            throw new InvalidCursorException("before와 after는 함께 사용할 수 없습니다.");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+
+        boolean forward = after == null;
+        List<E> rows = forward
+                ? new ArrayList<>(olderThan.apply(before == null ? Integer.MAX_VALUE : decode(before), pageable))
+                : new ArrayList<>(newerThan.apply(decode(after), pageable));
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        if (!forward) {
+            Collections.reverse(rows);
+        }
+
+        boolean hasNext = forward ? hasMore : true;
+        boolean hasPrevious = forward ? before != null : hasMore;
+        Long total = (before == null && after == null && totalCount != null) ? totalCount.get() : null;
+
+        return CursorPageResponse.<R>builder()
+                .content(mapper.apply(rows))
+                .nextCursor(rows.isEmpty() || !hasNext ? null : encode(idOf.applyAsInt(rows.get(rows.size() - 1))))
+                .prevCursor(rows.isEmpty() || !hasPrevious ? null : encode(idOf.applyAsInt(rows.get(0))))
+                .hasNext(hasNext && !rows.isEmpty())
+                .hasPrevious(hasPrevious && !rows.isEmpty())
+                .totalCount(total)
+                .build();
+    }
+
+    static String encode(int id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith(PREFIX)) {
+                return Integer.parseInt(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 또는 숫자 형식 오류
+        }
+        throw new InvalidCursorException("유효하지 않은 커서입니다: " + cursor);
+    }
+}
@@ -0,0 +1,124 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeMember;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeRecord;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * 아직 challenge_record에 반영되지 않은 (challengeMember, 날짜) 단위 기록.
+ * count, duration은 최댓값, distance는 누적 합계를 유지하며 DB에 저장된 값을 기준값으로 시작한다.
+ * distance는 DB에 변화량으로 반영되도록 이 기록(writerId)으로 더한 누적값(addedDistance)을 따로 유지한다.
+ * 값 변경은 ChallengeRecordBuffer를 통해서만 이루어진다.
+ */
+@Getter
+public class PendingChallengeRecord {
+
+    private final Challenge challenge;
+    private final int challengeMemberId;
+    private final int memberId;
+    private final LocalDate day;
+    // 반영 누적값(challenge_record_contribution) 식별자
+    private final String writerId = UUID.randomUUID().toString();
+    private Integer recordId;
+    private Integer count;
+    private Integer duration;
+    private Integer distance;
+    private Integer addedDistance;
+    private boolean dirty;
+
+    private PendingChallengeRecord(Challenge challenge, int challengeMemberId, int memberId, LocalDate day,
+                                   Integer recordId, Integer count, Integer duration, Integer distance) {
+        this.challenge = challenge;
+        this.challengeMemberId = challengeMemberId;
+        this.memberId = memberId;
+        this.day = day;
+        this.recordId = recordId;
+        this.count = count;
+        this.duration = duration;
+        this.distance = distance;
+    }
+
+    // DB에 저장된 오늘 기록(없으면 null)을 기준값으로 생성
+    public static PendingChallengeRecord of(Challenge challenge, ChallengeMember challengeMember, LocalDate day,
+                                            ChallengeRecord persisted) {
+        if (persisted == null) {
+            return new PendingChallengeRecord(challenge, challengeMember.getId(), challengeMember.getMemberId(), day,
+                    null, null, null, null);
+        }
+        return new PendingChallengeRecord(challenge, challengeMember.getId(), challengeMember.getMemberId(), day,
+                persisted.getId(), persisted.getCount(), persisted.getDuration(), persisted.getDistance());
+    }
+
+    public static String key(int challengeId, int memberId, LocalDate day) {
+        return challengeId + ":" + memberId + ":" + day;
+    }
+
+    public String key() {
+        return key(challenge.getId(), memberId, day);
+    }
+
+    Change mergeCount(int newCount) {
+        int previous = valueOrZero(count);
+        if (count == null || newCount > count) {
+            count = newCount;
+        }
+        dirty = true;
+        return new Change(previous, valueOrZero(count));
+    }
+
+    Change mergeDuration(int newDuration) {
+        int previous = valueOrZero(duration);
+        if (duration == null || newDuration > duration) {
+            duration = newDuration;
+        }
+        dirty = true;
+        return new Change(previous, valueOrZero(duration));
+    }
+
+    Change addDistance(int addedDistance) {
+        int previous = valueOrZero(distance);
+        distance = previous + addedDistance;
+        this.addedDistance = valueOrZero(this.addedDistance) + addedDistance;
+        dirty = true;
+        return new Change(previous, distance);
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(key(), challenge.getId(), challengeMemberId, memberId, day, recordId, count, duration,
+                distance, writerId, addedDistance);
+    }
+
+    // flush 대상 값을 복사하고 clean 상태로 전환
+    Snapshot drain() {
+        dirty = false;
+        return snapshot();
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    void markPersisted(int persistedRecordId) {
+        recordId = persistedRecordId;
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    // 기록 반영 전후 값 (리더보드, TEAM 누적 합계의 변화량 계산용)
+    public record Change(int previous, int current) {
+        public int delta() {
+            return current - previous;
+        }
+    }
+
+    // DB 반영 및 저널 기록 단위 (writerId가 null이면 이전 형식 저널에서 읽은 스냅샷)
+    public record Snapshot(String key, int challengeId, int challengeMemberId, int memberId, LocalDate day,
+                           Integer recordId, Integer count, Integer duration, Integer distance, String writerId,
+                           Integer addedDistance) {
+    }
+}
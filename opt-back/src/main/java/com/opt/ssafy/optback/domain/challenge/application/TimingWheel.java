@@ -0,0 +1,103 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠.
+ * 한 칸(tickMs) 단위로 만료 시각이 같은 항목을 묶어 두고, 한 바퀴(tickMs * wheelSize)를 넘는 항목은
+ * 상위 휠(한 칸 = 하위 휠 한 바퀴)에 두었다가 시간이 흐르면 하위 휠로 내려보낸다.
+ * 추가와 만료 처리 모두 항목 수와 무관하게 칸 단위로 동작한다.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTime;
+    private TimingWheel<T> overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTime = startMs - (startMs % tickMs);
+    }
+
+    // 항목 추가, 이미 만료 시각이 지났으면 추가하지 않고 false 반환
+    synchronized boolean add(long expirationMs, T item) {
+        // 칸 시작 시각에 만료 처리되므로, 만료 시각보다 일찍 꺼내지지 않도록 다음 칸 경계로 올림
+        long remainder = expirationMs % tickMs;
+        long aligned = remainder == 0 ? expirationMs : expirationMs - remainder + tickMs;
+        return addEntry(new Entry<>(aligned, item));
+    }
+
+    // 현재 시각까지 휠을 돌리고 만료된 항목을 반환
+    synchronized List<T> advanceTo(long nowMs) {
+        List<Entry<T>> drained = new ArrayList<>();
+        advance(nowMs, drained);
+
+        List<T> expired = new ArrayList<>();
+        for (Entry<T> entry : drained) {
+            // 상위 휠에서 꺼낸 항목은 하위 휠로 다시 배치되고, 만료된 항목만 남음
+            if (!addEntry(entry)) {
+                expired.add(entry.item());
+            }
+        }
+        return expired;
+    }
+
+    private boolean addEntry(Entry<T> entry) {
+        if (entry.expiration() <= currentTime) {
+            return false;
+        }
+        if (entry.expiration() < currentTime + interval) {
+            buckets.get(bucketIndex(entry.expiration())).add(entry);
+            return true;
+        }
+        return overflowWheel().addEntry(entry);
+    }
+
+    private void advance(long nowMs, List<Entry<T>> drained) {
+        if (nowMs < currentTime + tickMs) {
+            return;
+        }
+        long target = nowMs - (nowMs % tickMs);
+        long ticks = (target - currentTime) / tickMs;
+        if (ticks >= wheelSize) {
+            buckets.forEach(bucket -> {
+                drained.addAll(bucket);
+                bucket.clear();
+            });
+        } else {
+            for (long i = 1; i <= ticks; i++) {
+                List<Entry<T>> bucket = buckets.get(bucketIndex(currentTime + i * tickMs));
+                drained.addAll(bucket);
+                bucket.clear();
+            }
+        }
+        currentTime = target;
+        if (overflowWheel != null) {
+            overflowWheel.advance(nowMs, drained);
+        }
+    }
+
+    private TimingWheel<T> overflowWheel() {
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflowWheel;
+    }
+
+    private int bucketIndex(long timeMs) {
+        return (int) ((timeMs / tickMs) % wheelSize);
+    }
+
+    private record Entry<T>(long expiration, T item) {
+    }
+}
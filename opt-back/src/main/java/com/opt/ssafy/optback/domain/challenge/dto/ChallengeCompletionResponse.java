@@ -0,0 +1,16 @@
+package com.opt.ssafy.optback.domain.challenge.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ChallengeCompletionResponse {
+    private int challengeId;
+    private int passedDays;      // 전체 달성 일수
+    private int currentStreak;   // 오늘(또는 종료일)까지 연속 달성 일수
+    private int weeklyPassed;    // 이번 주(시작일 기준 7일 단위) 달성 일수
+    private int frequency;       // 주당 목표 달성 일수
+    private boolean frequencyMet;
+    private boolean eliminated;
+}
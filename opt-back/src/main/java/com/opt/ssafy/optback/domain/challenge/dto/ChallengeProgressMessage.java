@@ -0,0 +1,28 @@
+package com.opt.ssafy.optback.domain.challenge.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * /topic/challenge/{challengeId}로 전송되는 진행 상황 변경분.
+ * 직전 프레임 이후 기록이 바뀐 멤버만 포함한다.
+ */
+@Getter
+@Builder
+public class ChallengeProgressMessage {
+    private int challengeId;
+    private Float progress; // TEAM 챌린지만 포함
+    private List<MemberDelta> members;
+    private long timestamp;
+
+    @Getter
+    @AllArgsConstructor
+    public static class MemberDelta {
+        private int memberId;
+        private int delta; // 직전 프레임 이후 기록 변화량
+        private double measurement; // 현재 랭킹 점수
+        private int rank;
+    }
+}
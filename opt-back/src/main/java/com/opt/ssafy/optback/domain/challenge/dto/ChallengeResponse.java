@@ -4,11 +4,15 @@ import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
 import com.opt.ssafy.optback.domain.member.entity.Member;
 import java.time.LocalDate;
 import java.util.Date;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ChallengeResponse {
     private int id;
     private String type;
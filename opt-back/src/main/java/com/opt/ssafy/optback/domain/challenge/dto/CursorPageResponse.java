@@ -0,0 +1,20 @@
+package com.opt.ssafy.optback.domain.challenge.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 커서 기반 목록 응답 (id 내림차순).
+ * nextCursor는 before, prevCursor는 after 파라미터로 전달하여 이어서 조회한다.
+ */
+@Getter
+@Builder
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private String prevCursor;
+    private boolean hasNext;
+    private boolean hasPrevious;
+    private Long totalCount; // includeTotal 요청 시 첫 페이지에서만 계산
+}
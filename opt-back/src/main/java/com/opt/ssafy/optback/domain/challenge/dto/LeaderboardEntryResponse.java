@@ -0,0 +1,14 @@
+package com.opt.ssafy.optback.domain.challenge.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LeaderboardEntryResponse {
+    private int rank;
+    private int memberId;
+    private String nickname;
+    private double measurement;
+    private boolean isMyRecord;
+}
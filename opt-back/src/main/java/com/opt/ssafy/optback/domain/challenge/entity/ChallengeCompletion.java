@@ -0,0 +1,62 @@
+package com.opt.ssafy.optback.domain.challenge.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 챌린지 멤버별 일자 달성 비트맵 (challenge_record.is_passed와 함께 갱신)
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "challenge_completion", indexes = {
+        @Index(name = "idx_challenge_completion_challenge_member", columnList = "challenge_id, member_id")
+})
+public class ChallengeCompletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "challenge_member_id", nullable = false, unique = true)
+    private int challengeMemberId;
+
+    @Column(name = "challenge_id", nullable = false)
+    private int challengeId;
+
+    @Column(name = "member_id", nullable = false)
+    private int memberId;
+
+    // CompletionBitmap 직렬화 값 (8바이트 word 단위)
+    @Column(name = "days", columnDefinition = "varbinary(256)")
+    private byte[] days;
+
+    public CompletionBitmap bitmap() {
+        return CompletionBitmap.fromBytes(days);
+    }
+
+    // 해당 날짜 달성 처리, 이미 달성한 날짜면 false
+    public boolean markPassed(LocalDate startDate, LocalDate day) {
+        CompletionBitmap bitmap = bitmap();
+        if (!bitmap.set(dayIndex(startDate, day))) {
+            return false;
+        }
+        days = bitmap.toBytes();
+        return true;
+    }
+
+    public static int dayIndex(LocalDate startDate, LocalDate day) {
+        return (int) ChronoUnit.DAYS.between(startDate, day);
+    }
+}
@@ -8,6 +8,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
 import java.util.Date;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,7 +21,8 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "challenge_member")
+@Table(name = "challenge_member", uniqueConstraints = @UniqueConstraint(
+        name = "uk_challenge_member_challenge_member", columnNames = {"challenge_id", "member_id"}))
 public class ChallengeMember {
 
     @Id
@@ -40,6 +43,15 @@ public class ChallengeMember {
     @Column(name = "join_at", nullable = false)
     private Date joinAt;
 
+    // 참여일 (join_at은 DATE 컬럼이므로 시각 없이 날짜만 사용)
+    public LocalDate getJoinDate() {
+        if (joinAt == null) {
+            return null;
+        }
+        java.sql.Date date = joinAt instanceof java.sql.Date sqlDate ? sqlDate : new java.sql.Date(joinAt.getTime());
+        return date.toLocalDate();
+    }
+
     public void setStatus(String ended) {
         this.status = ended;
     }
@@ -11,6 +11,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
 import java.math.BigDecimal;
 import java.util.Date;
 import lombok.AllArgsConstructor;
@@ -23,7 +24,9 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "challenge_record")
+@Table(name = "challenge_record", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_challenge_record_member_day", columnNames = {"challenge_member_id", "created_at"})
+})
 public class ChallengeRecord {
 
     @Id
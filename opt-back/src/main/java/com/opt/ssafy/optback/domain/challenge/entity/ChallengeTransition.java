@@ -0,0 +1,43 @@
+package com.opt.ssafy.optback.domain.challenge.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 챌린지 상태 전환 예약 (START: OPEN → PROGRESS, END: PROGRESS → END)
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "challenge_transition", indexes = {
+        @Index(name = "idx_challenge_transition_status_fire_at", columnList = "status, fire_at"),
+        @Index(name = "idx_challenge_transition_challenge_id", columnList = "challenge_id")
+})
+public class ChallengeTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "challenge_id", nullable = false)
+    private int challengeId;
+
+    @Column(name = "type", length = 10, nullable = false)
+    private String type;  // "START", "END"
+
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt;
+
+    @Column(name = "status", length = 10, nullable = false)
+    private String status;  // "PENDING", "DONE"
+}
@@ -0,0 +1,108 @@
+package com.opt.ssafy.optback.domain.challenge.entity;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 챌린지 시작일 기준 일자별 달성 여부 비트맵 (bit i = 시작일 + i일).
+ * long 단위 word 배열로 연속 달성 일수, 기간 내 달성 일수를 날짜별 조회 없이 계산한다.
+ */
+public final class CompletionBitmap {
+
+    private static final int WORD_BITS = Long.SIZE;
+
+    private long[] words;
+
+    private CompletionBitmap(long[] words) {
+        this.words = words;
+    }
+
+    public static CompletionBitmap empty() {
+        return new CompletionBitmap(new long[0]);
+    }
+
+    public static CompletionBitmap fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] words = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new CompletionBitmap(words);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    // 해당 일자 달성 처리, 이미 달성한 일자면 false
+    public boolean set(int day) {
+        int index = day / WORD_BITS;
+        if (index >= words.length) {
+            words = Arrays.copyOf(words, index + 1);
+        }
+        long mask = 1L << (day % WORD_BITS);
+        if ((words[index] & mask) != 0) {
+            return false;
+        }
+        words[index] |= mask;
+        return true;
+    }
+
+    public boolean get(int day) {
+        int index = day / WORD_BITS;
+        return day >= 0 && index < words.length && (words[index] & (1L << (day % WORD_BITS))) != 0;
+    }
+
+    // day까지 연속으로 달성한 일수
+    public int streakEndingAt(int day) {
+        if (day < 0 || day / WORD_BITS >= words.length) {
+            return 0;
+        }
+        int index = day / WORD_BITS;
+        int offset = day % WORD_BITS;
+        // day 비트를 최상위로 옮긴 뒤 상위 비트부터 연속된 1의 개수를 셈
+        int ones = Long.numberOfLeadingZeros(~(words[index] << (WORD_BITS - 1 - offset)));
+        if (ones <= offset) {
+            return ones;
+        }
+        int streak = offset + 1;
+        for (int i = index - 1; i >= 0; i--) {
+            ones = Long.numberOfLeadingZeros(~words[i]);
+            streak += ones;
+            if (ones < WORD_BITS) {
+                break;
+            }
+        }
+        return streak;
+    }
+
+    // [from, to] 구간의 달성 일수
+    public int count(int from, int to) {
+        int start = Math.max(from, 0);
+        int end = Math.min(to, words.length * WORD_BITS - 1);
+        if (start > end) {
+            return 0;
+        }
+        int total = 0;
+        int startIndex = start / WORD_BITS;
+        int endIndex = end / WORD_BITS;
+        for (int i = startIndex; i <= endIndex; i++) {
+            long word = words[i];
+            if (i == startIndex) {
+                word &= -1L << (start % WORD_BITS);
+            }
+            if (i == endIndex) {
+                word &= -1L >>> (WORD_BITS - 1 - end % WORD_BITS);
+            }
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,22 @@
+package com.opt.ssafy.optback.domain.challenge.event;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 챌린지 종료, 삭제(challengeIds) 또는 멤버 탈락(challengeMemberIds)으로 더 이상 버퍼에 기록을 모으면 안 되는 대상
+@Getter
+@AllArgsConstructor
+public class ChallengeRecordClosedEvent {
+
+    private final List<Integer> challengeIds;
+    private final List<Integer> challengeMemberIds;
+
+    public static ChallengeRecordClosedEvent ofChallenges(List<Integer> challengeIds) {
+        return new ChallengeRecordClosedEvent(challengeIds, List.of());
+    }
+
+    public static ChallengeRecordClosedEvent ofMembers(List<Integer> challengeMemberIds) {
+        return new ChallengeRecordClosedEvent(List.of(), challengeMemberIds);
+    }
+}
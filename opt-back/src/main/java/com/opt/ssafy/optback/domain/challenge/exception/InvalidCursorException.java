@@ -0,0 +1,7 @@
+package com.opt.ssafy.optback.domain.challenge.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
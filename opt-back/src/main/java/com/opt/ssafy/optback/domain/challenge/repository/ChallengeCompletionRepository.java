@@ -0,0 +1,25 @@
+package com.opt.ssafy.optback.domain.challenge.repository;
+
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeCompletion;
+import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChallengeCompletionRepository extends JpaRepository<ChallengeCompletion, Integer> {
+
+    Optional<ChallengeCompletion> findByChallengeIdAndMemberId(int challengeId, int memberId);
+
+    List<ChallengeCompletion> findByChallengeMemberIdIn(Collection<Integer> challengeMemberIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChallengeCompletion c WHERE c.challengeId = :challengeId")
+    int deleteByChallengeId(@Param("challengeId") int challengeId);
+}
@@ -23,10 +23,27 @@ public interface ChallengeMemberRepository extends JpaRepository<ChallengeMember
     @Modifying
     @Transactional
     @Query("DELETE FROM ChallengeMember cm WHERE cm.challengeId = :challengeId AND cm.memberId = :memberId")
-    void deleteByChallengeIdAndMemberId(@Param("challengeId") int challengeId, @Param("memberId") int memberId);
+    int deleteByChallengeIdAndMemberId(@Param("challengeId") int challengeId, @Param("memberId") int memberId);
 
     boolean existsByChallengeIdAndMemberId(int id, int id1);
 
     List<ChallengeMember> findByChallengeId(int id);
 
+    @Query("SELECT cm.memberId FROM ChallengeMember cm WHERE cm.challengeId = :challengeId")
+    List<Integer> findMemberIdsByChallengeId(@Param("challengeId") int challengeId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChallengeMember cm SET cm.status = :status "
+            + "WHERE cm.challengeId IN :challengeIds AND cm.status <> 'ELIMINATED'")
+    int updateStatusByChallengeIdIn(@Param("challengeIds") List<Integer> challengeIds, @Param("status") String status);
+
+    List<ChallengeMember> findByChallengeIdInAndStatus(List<Integer> challengeIds, String status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChallengeMember cm SET cm.status = :newStatus WHERE cm.id IN :ids AND cm.status = :currentStatus")
+    int updateStatusByIdIn(@Param("ids") List<Integer> ids, @Param("currentStatus") String currentStatus,
+                           @Param("newStatus") String newStatus);
+
 }
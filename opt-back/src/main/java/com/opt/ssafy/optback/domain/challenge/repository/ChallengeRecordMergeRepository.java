@@ -0,0 +1,65 @@
+package com.opt.ssafy.optback.domain.challenge.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 버퍼링된 챌린지 기록의 원자적 반영 (challenge_record, challenge_record_contribution).
+ * 여러 서버가 같은 (challengeMember, 날짜) 기록을 동시에 반영해도 값을 읽고 덮어쓰지 않고 DB에서 직접 합친다.
+ * distance는 버퍼(writer_id)별로 지금까지 반영한 누적값을 challenge_record_contribution에 남겨, 같은 스냅샷을 다시 반영해도 한 번만 더해진다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChallengeRecordMergeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // (challengeMember, 날짜) 기록이 없으면 빈 기록을 만들고 id 반환
+    public int insertIfAbsent(int challengeMemberId, int challengeId, int memberId, LocalDate day) {
+        jdbcTemplate.update("INSERT INTO challenge_record (challenge_member_id, challenge_id, member_id, created_at, "
+                        + "is_passed) VALUES (?, ?, ?, ?, FALSE) ON DUPLICATE KEY UPDATE id = id",
+                challengeMemberId, challengeId, memberId, Date.valueOf(day));
+        return jdbcTemplate.queryForObject(
+                "SELECT id FROM challenge_record WHERE challenge_member_id = ? AND created_at = ?",
+                Integer.class, challengeMemberId, Date.valueOf(day));
+    }
+
+    /**
+     * count, duration은 최댓값, distance는 distanceDelta만큼 더함 (null이면 변경하지 않음).
+     * maxDistance는 이전 형식 저널(버퍼별 누적값 없음)을 재생할 때만 사용하며 최댓값으로 반영한다.
+     */
+    public int merge(int recordId, Integer count, Integer duration, Integer distanceDelta, Integer maxDistance) {
+        return jdbcTemplate.update("UPDATE challenge_record SET "
+                        + "count = CASE WHEN ? IS NULL THEN count ELSE GREATEST(COALESCE(count, 0), ?) END, "
+                        + "duration = CASE WHEN ? IS NULL THEN duration ELSE GREATEST(COALESCE(duration, 0), ?) END, "
+                        + "distance = CASE WHEN ? IS NOT NULL THEN COALESCE(distance, 0) + ? "
+                        + "WHEN ? IS NOT NULL THEN GREATEST(COALESCE(distance, 0), ?) ELSE distance END "
+                        + "WHERE id = ?",
+                count, count, duration, duration, distanceDelta, distanceDelta, maxDistance, maxDistance, recordId);
+    }
+
+    // 해당 버퍼가 지금까지 반영한 distance 누적값 (없으면 0)
+    public int findAppliedDistance(String writerId) {
+        List<Integer> applied = jdbcTemplate.queryForList(
+                "SELECT distance FROM challenge_record_contribution WHERE writer_id = ?", Integer.class, writerId);
+        return applied.isEmpty() ? 0 : applied.get(0);
+    }
+
+    public void saveAppliedDistance(String writerId, int recordId, int distance) {
+        jdbcTemplate.update("INSERT INTO challenge_record_contribution (writer_id, challenge_record_id, distance) "
+                        + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE distance = VALUES(distance), "
+                        + "updated_at = CURRENT_TIMESTAMP(6)",
+                writerId, recordId, distance);
+    }
+
+    // 보관 기간이 지난 반영 누적값을 limit건 삭제
+    public int deleteContributionsOlderThanDays(int days, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM challenge_record_contribution WHERE updated_at < NOW(6) - INTERVAL ? DAY LIMIT ?",
+                days, limit);
+    }
+}
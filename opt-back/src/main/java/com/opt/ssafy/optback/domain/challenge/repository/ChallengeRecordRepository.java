@@ -5,7 +5,10 @@ import com.opt.ssafy.optback.domain.challenge.entity.ChallengeRecord;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +18,13 @@ public interface ChallengeRecordRepository extends JpaRepository<ChallengeRecord
     // 특정 멤버의 전체 수행 기록 조회
     List<ChallengeRecord> findByMemberId(int memberId);
 
+    // keyset 페이지네이션 (응답 변환 시 챌린지 정보를 함께 사용하므로 fetch)
+    @EntityGraph(attributePaths = "challenge")
+    List<ChallengeRecord> findByMemberIdAndIdLessThanOrderByIdDesc(int memberId, int id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "challenge")
+    List<ChallengeRecord> findByMemberIdAndIdGreaterThanOrderByIdAsc(int memberId, int id, Pageable pageable);
+
     // 특정 멤버의 특정 챌린지 수행 기록 조회
     Optional<ChallengeRecord> findByMemberIdAndChallengeId(int memberId, int challengeId);
 
@@ -45,15 +55,80 @@ public interface ChallengeRecordRepository extends JpaRepository<ChallengeRecord
     @Query("SELECT SUM(cr.distance) FROM ChallengeRecord cr WHERE cr.challengeMember.id = :challengeMemberId")
     Optional<Integer> findDistanceByChallengeMemberId(@Param("challengeMemberId") int challengeMemberId);
 
+    // 기여도: 일별 기록마다 count, duration, distance 중 값이 있는 항목을 멤버별로 합산
     @Query("""
-                SELECT m.id, m.nickname, cr.count, cr.duration, cr.distance
+                SELECT m.id, m.nickname, SUM(COALESCE(cr.count, cr.duration, cr.distance, 0))
                 FROM ChallengeRecord cr
                 JOIN cr.challengeMember cm
                 JOIN Member m ON cm.memberId = m.id
                 WHERE cr.challenge.id = :challengeId
+                GROUP BY m.id, m.nickname
+                ORDER BY SUM(COALESCE(cr.count, cr.duration, cr.distance, 0)) DESC
             """)
-    List<Object[]> findAllContributionsByChallengeId(@Param("challengeId") int challengeId);
+    List<Object[]> sumContributionsGroupByMemberId(@Param("challengeId") int challengeId);
 
     int countByMemberIdAndIsPassedTrue(int memberId);
+
+    // 리더보드 재구성용: TEAM 챌린지는 멤버별 전체 기록 합산
+    @Query("""
+                SELECT cr.memberId, SUM(COALESCE(cr.count, 0) + COALESCE(cr.duration, 0) + COALESCE(cr.distance, 0))
+                FROM ChallengeRecord cr
+                WHERE cr.challenge.id = :challengeId
+                GROUP BY cr.memberId
+            """)
+    List<Object[]> sumScoresGroupByMemberId(@Param("challengeId") int challengeId);
+
+    // 리더보드 재구성용: NORMAL, SURVIVAL 챌린지는 멤버별 최고 기록
+    @Query("""
+                SELECT cr.memberId, MAX(COALESCE(cr.count, cr.duration, cr.distance, 0))
+                FROM ChallengeRecord cr
+                WHERE cr.challenge.id = :challengeId
+                GROUP BY cr.memberId
+            """)
+    List<Object[]> maxScoresGroupByMemberId(@Param("challengeId") int challengeId);
+
+    // TEAM 챌린지 누적 합계 (단일 쿼리)
+    @Query("""
+                SELECT SUM(COALESCE(cr.count, 0) + COALESCE(cr.duration, 0) + COALESCE(cr.distance, 0))
+                FROM ChallengeRecord cr
+                WHERE cr.challenge.id = :challengeId
+            """)
+    Optional<Long> sumScoreByChallengeId(@Param("challengeId") int challengeId);
+
+    // progress 보정용: 유형, 상태별 챌린지 누적 합계
+    @Query("""
+                SELECT cr.challenge.id, SUM(COALESCE(cr.count, 0) + COALESCE(cr.duration, 0) + COALESCE(cr.distance, 0))
+                FROM ChallengeRecord cr
+                WHERE cr.challenge.type = :type AND cr.challenge.status = :status
+                GROUP BY cr.challenge.id
+            """)
+    List<Object[]> sumScoresGroupByChallengeId(@Param("type") String type, @Param("status") String status);
+
+    // 우승자 선정용: 챌린지 멤버별 기록 합계 (참여 순)
+    @Query("""
+                SELECT cm.challengeId, cm.memberId,
+                       SUM(COALESCE(cr.count, 0) + COALESCE(cr.duration, 0) + COALESCE(cr.distance, 0))
+                FROM ChallengeRecord cr
+                JOIN cr.challengeMember cm
+                WHERE cm.challengeId IN :challengeIds AND cm.status <> 'ELIMINATED'
+                GROUP BY cm.id, cm.challengeId, cm.memberId
+                ORDER BY cm.id
+            """)
+    List<Object[]> sumScoresGroupByChallengeMember(@Param("challengeIds") List<Integer> challengeIds);
+
+    // 달성 비트맵 보정용: 해당 날짜에 통과한 챌린지 멤버
+    @Query("""
+                SELECT cm.id, cm.challengeId, cm.memberId
+                FROM ChallengeRecord cr
+                JOIN cr.challengeMember cm
+                WHERE cm.challengeId IN :challengeIds AND cr.createdAt = :day AND cr.isPassed = true
+            """)
+    List<Object[]> findPassedChallengeMembers(@Param("challengeIds") List<Integer> challengeIds,
+                                              @Param("day") Date day);
+
+    // TEAM 목표 달성 시 챌린지의 모든 기록 통과 처리
+    @Modifying
+    @Query("UPDATE ChallengeRecord cr SET cr.isPassed = true WHERE cr.challenge.id = :challengeId AND cr.isPassed = false")
+    int markAllPassedByChallengeId(@Param("challengeId") int challengeId);
 }
 
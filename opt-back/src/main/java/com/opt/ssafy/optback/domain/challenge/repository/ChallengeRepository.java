@@ -1,11 +1,16 @@
 package com.opt.ssafy.optback.domain.challenge.repository;
 
 import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,4 +37,96 @@ public interface ChallengeRepository extends JpaRepository<Challenge, Integer> {
 
     Page<Challenge> findAllByStatusOrderByIdDesc(String status, Pageable pageable);
 
+    List<Challenge> findByTypeAndStatus(String type, String status);
+
+    // 상태 전환 스케줄러용: id 기준 chunk 조회 (전환 예약이 아직 기한 전인 챌린지는 타이밍 휠에 맡기고 제외)
+    @Query("SELECT c.id FROM Challenge c WHERE c.startDate <= :date AND c.status = :status AND c.id > :lastId "
+            + "AND NOT EXISTS (SELECT t.id FROM ChallengeTransition t WHERE t.challengeId = c.id AND t.type = 'START' "
+            + "AND t.status = 'PENDING' AND t.fireAt > :overdueBefore) ORDER BY c.id")
+    List<Integer> findIdsToStart(@Param("date") LocalDate date, @Param("status") String status,
+                                 @Param("overdueBefore") LocalDateTime overdueBefore, @Param("lastId") int lastId,
+                                 Pageable pageable);
+
+    @Query("SELECT c.id FROM Challenge c WHERE c.endDate <= :date AND c.status = :status AND c.id > :lastId "
+            + "AND NOT EXISTS (SELECT t.id FROM ChallengeTransition t WHERE t.challengeId = c.id AND t.type = 'END' "
+            + "AND t.status = 'PENDING' AND t.fireAt > :overdueBefore) ORDER BY c.id")
+    List<Integer> findIdsToEnd(@Param("date") LocalDate date, @Param("status") String status,
+                               @Param("overdueBefore") LocalDateTime overdueBefore, @Param("lastId") int lastId,
+                               Pageable pageable);
+
+    // 달성 비트맵 일괄 평가용: 개인 목표 챌린지 id 기준 chunk 조회
+    List<Challenge> findByStatusAndTypeNotAndIdGreaterThanOrderByIdAsc(String status, String type, int id,
+                                                                      Pageable pageable);
+
+    @Query("SELECT c.id FROM Challenge c WHERE c.id IN :ids AND c.status = :status")
+    List<Integer> findIdsByIdInAndStatus(@Param("ids") List<Integer> ids, @Param("status") String status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Challenge c SET c.status = :newStatus WHERE c.id IN :ids AND c.status = :currentStatus")
+    int updateStatusByIdIn(@Param("ids") List<Integer> ids, @Param("currentStatus") String currentStatus,
+                           @Param("newStatus") String newStatus);
+
+    // progress 컬럼만 갱신 (다른 컬럼을 오래된 엔티티 값으로 덮어쓰지 않음)
+    @Modifying
+    @Query("UPDATE Challenge c SET c.progress = :progress WHERE c.id = :id")
+    int updateProgress(@Param("id") int id, @Param("progress") Float progress);
+
+    // 정원 미만일 때만 참여 인원 증가 (반영된 행 수 반환)
+    @Modifying
+    @Query("UPDATE Challenge c SET c.currentParticipants = c.currentParticipants + 1 "
+            + "WHERE c.id = :id AND c.currentParticipants < c.maxParticipants")
+    int increaseParticipantsIfAvailable(@Param("id") int id);
+
+    @Modifying
+    @Query("UPDATE Challenge c SET c.currentParticipants = c.currentParticipants - 1 "
+            + "WHERE c.id = :id AND c.currentParticipants > 0")
+    int decreaseParticipantsIfPositive(@Param("id") int id);
+
+    // current_participants를 challenge_member 수로 보정
+    @Modifying
+    @Query("""
+                UPDATE Challenge c
+                SET c.currentParticipants = (SELECT COUNT(cm) FROM ChallengeMember cm WHERE cm.challengeId = c.id)
+                WHERE c.status = :status
+                AND c.currentParticipants <> (SELECT COUNT(cm) FROM ChallengeMember cm WHERE cm.challengeId = c.id)
+            """)
+    int syncParticipantsByStatus(@Param("status") String status);
+
+    @Query("SELECT c.id, c.currentParticipants FROM Challenge c WHERE c.status = :status")
+    List<Object[]> findParticipantsByStatus(@Param("status") String status);
+
+    // keyset 페이지네이션: id보다 작은(이전) 챌린지를 id 내림차순, 큰(이후) 챌린지를 id 오름차순으로 조회
+    List<Challenge> findByStatusAndIdLessThanOrderByIdDesc(String status, int id, Pageable pageable);
+
+    List<Challenge> findByStatusAndIdGreaterThanOrderByIdAsc(String status, int id, Pageable pageable);
+
+    List<Challenge> findByHostIdAndIdLessThanOrderByIdDesc(int hostId, int id, Pageable pageable);
+
+    List<Challenge> findByHostIdAndIdGreaterThanOrderByIdAsc(int hostId, int id, Pageable pageable);
+
+    @Query("""
+                SELECT c FROM Challenge c
+                WHERE c.id IN (SELECT cm.challengeId FROM ChallengeMember cm
+                               WHERE cm.memberId = :memberId AND cm.status = :status)
+                AND c.id < :id
+                ORDER BY c.id DESC
+            """)
+    List<Challenge> findByMemberStatusAndIdLessThan(@Param("memberId") int memberId, @Param("status") String status,
+                                                    @Param("id") int id, Pageable pageable);
+
+    @Query("""
+                SELECT c FROM Challenge c
+                WHERE c.id IN (SELECT cm.challengeId FROM ChallengeMember cm
+                               WHERE cm.memberId = :memberId AND cm.status = :status)
+                AND c.id > :id
+                ORDER BY c.id ASC
+            """)
+    List<Challenge> findByMemberStatusAndIdGreaterThan(@Param("memberId") int memberId, @Param("status") String status,
+                                                       @Param("id") int id, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Query("SELECT c.type FROM Challenge c WHERE c.id = :id")
+    Optional<String> findTypeById(@Param("id") int id);
 }
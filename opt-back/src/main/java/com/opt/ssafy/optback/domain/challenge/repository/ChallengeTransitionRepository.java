@@ -0,0 +1,32 @@
+package com.opt.ssafy.optback.domain.challenge.repository;
+
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeTransition;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChallengeTransitionRepository extends JpaRepository<ChallengeTransition, Integer> {
+
+    // fire_at이 기준 시각 이전인 대기 중 전환을 id 기준 chunk로 조회
+    @Query("SELECT t FROM ChallengeTransition t WHERE t.status = 'PENDING' AND t.fireAt <= :until AND t.id > :lastId "
+            + "ORDER BY t.id")
+    List<ChallengeTransition> findPendingUntil(@Param("until") LocalDateTime until, @Param("lastId") int lastId,
+                                               Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChallengeTransition t SET t.status = 'DONE' WHERE t.id IN :ids AND t.status = 'PENDING'")
+    int markDone(@Param("ids") List<Integer> ids);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChallengeTransition t WHERE t.challengeId = :challengeId")
+    int deleteByChallengeId(@Param("challengeId") int challengeId);
+}
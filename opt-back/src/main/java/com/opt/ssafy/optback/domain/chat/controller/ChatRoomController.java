@@ -1,15 +1,13 @@
 package com.opt.ssafy.optback.domain.chat.controller;
 
 import com.opt.ssafy.optback.domain.chat.dto.ChatMessageResponse;
+import com.opt.ssafy.optback.domain.chat.dto.ChatMessageSliceResponse;
 import com.opt.ssafy.optback.domain.chat.dto.ChatRoomResponse;
 import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
 import com.opt.ssafy.optback.domain.chat.service.ChatMessageService;
 import com.opt.ssafy.optback.domain.chat.service.ChatRoomService;
-import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -37,21 +35,24 @@ public class ChatRoomController {
     // 사용자의 채팅방 목록 조회
     @GetMapping("/list")
     public ResponseEntity<Page<ChatRoomResponse>> getUserRooms(Pageable pageable) {
-        List<ChatRoomResponse> chatRooms = chatRoomService.getUserChatRooms();
-
-        return ResponseEntity.ok(convertListToPage(chatRooms, pageable));
+        return ResponseEntity.ok(chatRoomService.getUserChatRooms(pageable));
     }
 
     // 특정 채팅방의 메시지 조회
     @GetMapping("/message")
     public ResponseEntity<Page<ChatMessageResponse>> getChatRoomMessages(@RequestParam String roomId,
                                                                          Pageable pageable) {
-        List<ChatMessageResponse> messages = chatMessageService.getMessagesByRoomId(roomId)
-                .stream()
-                .map(ChatMessageResponse::new)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(chatMessageService.getMessagesByRoomId(roomId, pageable));
+    }
 
-        return ResponseEntity.ok(convertListToPage(messages, pageable));
+    // 특정 채팅방의 메시지 커서 조회 (before: 이전 메시지, after: 이후 메시지, 둘 다 없으면 최근 메시지)
+    @GetMapping("/message/scroll")
+    public ResponseEntity<ChatMessageSliceResponse> getChatRoomMessageSlice(
+            @RequestParam String roomId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "30") int size) {
+        return ResponseEntity.ok(chatMessageService.getMessageSlice(roomId, before, after, size));
     }
 
     @PostMapping("/leave/{roomId}")
@@ -60,17 +61,11 @@ public class ChatRoomController {
         return ResponseEntity.ok("채팅방 나가기 성공");
     }
 
+    // 채팅방 읽음 처리 (upTo: 마지막으로 본 메시지의 커서, 없으면 저장된 최근 메시지까지)
     @PostMapping("/read-all/{roomId}")
-    public ResponseEntity<String> markAllMessagesAsRead(@PathVariable String roomId) {
-        chatMessageService.markAllMessagesAsRead(roomId);
+    public ResponseEntity<String> markAllMessagesAsRead(@PathVariable String roomId,
+                                                        @RequestParam(required = false) String upTo) {
+        chatMessageService.markAllMessagesAsRead(roomId, upTo);
         return ResponseEntity.ok("채팅방의 모든 메시지를 읽음 처리하였습니다.");
     }
-
-    // Pageable 변환용 메서드
-    private <T> Page<T> convertListToPage(List<T> list, Pageable pageable) {
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), list.size());
-        List<T> subList = list.subList(start, end);
-        return new PageImpl<>(subList, pageable, list.size());
-    }
 }
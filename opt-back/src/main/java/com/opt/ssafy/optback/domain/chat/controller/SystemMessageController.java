@@ -1,11 +1,17 @@
 package com.opt.ssafy.optback.domain.chat.controller;
 
+import com.opt.ssafy.optback.domain.chat.dto.SystemMessageBroadcast;
+import com.opt.ssafy.optback.domain.chat.dto.SystemMessageBroadcastStatus;
 import com.opt.ssafy.optback.domain.chat.dto.SystemMessageToMember;
 import com.opt.ssafy.optback.domain.chat.dto.SystemMessageToRoom;
+import com.opt.ssafy.optback.domain.chat.service.SystemMessageBroadcastService;
 import com.opt.ssafy.optback.domain.chat.service.SystemMessageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SystemMessageController {
 
     private final SystemMessageService systemMessageService;
+    private final SystemMessageBroadcastService systemMessageBroadcastService;
 
     // 특정 멤버에게 메시지 전송
     @PostMapping("/member")
@@ -34,4 +41,20 @@ public class SystemMessageController {
         systemMessageService.sendSystemMessageToRoom(request);
         return ResponseEntity.ok("📩 시스템 메시지를 채팅방 전체에게 성공적으로 전송했습니다.");
     }
+
+    // 다수 회원에게 시스템 메시지 일괄 전송 (백그라운드 작업으로 실행하고 작업 ID 반환)
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/broadcast")
+    public ResponseEntity<SystemMessageBroadcastStatus> broadcastSystemMessage(
+            @RequestBody SystemMessageBroadcast request) {
+        log.info("📩 [API] 시스템 메시지 일괄 전송 요청 (대상: {}): {}", request.getTarget(), request.getContent());
+        return ResponseEntity.ok(systemMessageBroadcastService.start(request));
+    }
+
+    // 일괄 전송 진행 상황 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/broadcast/{jobId}")
+    public ResponseEntity<SystemMessageBroadcastStatus> getBroadcastStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(systemMessageBroadcastService.getStatus(jobId));
+    }
 }
@@ -0,0 +1,16 @@
+package com.opt.ssafy.optback.domain.chat.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 저장 완료 알림: messageIds의 메시지가 DB에 반영됨 (전송 직후에는 브로드캐스트만 된 상태)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageAck {
+
+    private String roomId;
+    private List<String> messageIds;
+}
@@ -1,6 +1,7 @@
 package com.opt.ssafy.optback.domain.chat.dto;
 
 import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
 import com.opt.ssafy.optback.domain.chat.entity.ChatMessage.MessageType;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -37,4 +38,21 @@ public class ChatMessageResponse {
                 chatMessage.getReadByMembers() != null ? chatMessage.getReadByMembers() : new ArrayList<>();
 
     }
+
+    // 읽음 여부를 채팅방 참여자별 읽은 시각(watermark)으로 계산 (발신자는 읽은 것으로 처리)
+    public ChatMessageResponse(ChatMessage chatMessage, ChatRoom chatRoom) {
+        this(chatMessage);
+        if (chatRoom == null || chatRoom.getParticipants() == null) {
+            return;
+        }
+        List<Integer> readBy = new ArrayList<>(this.readByMembers);
+        for (int participant : chatRoom.getParticipants()) {
+            if (!readBy.contains(participant)
+                    && (participant == senderId || chatRoom.hasRead(participant, createdAt))) {
+                readBy.add(participant);
+            }
+        }
+        this.readByMembers = readBy;
+        this.isRead = readBy.containsAll(chatRoom.getParticipants());
+    }
 }
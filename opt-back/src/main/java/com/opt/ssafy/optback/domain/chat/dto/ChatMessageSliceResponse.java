@@ -0,0 +1,16 @@
+package com.opt.ssafy.optback.domain.chat.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ChatMessageSliceResponse {
+
+    private List<ChatMessageResponse> messages;  // 오래된 순
+    private String olderCursor;  // before로 전달하면 이전 메시지 조회
+    private String newerCursor;  // after로 전달하면 이후 메시지 조회
+    private boolean hasOlder;
+    private boolean hasNewer;
+}
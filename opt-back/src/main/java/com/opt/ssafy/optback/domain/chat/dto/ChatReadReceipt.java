@@ -0,0 +1,18 @@
+package com.opt.ssafy.optback.domain.chat.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 읽음 상태 알림 (/topic/chat-room/{roomId}/read-status/v2)
+// readAt은 읽은 마지막 메시지의 생성 시각이며, 그 이전에 생성된 메시지는 memberId가 읽은 것으로 처리
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatReadReceipt {
+
+    private String roomId;
+    private int memberId;
+    private LocalDateTime readAt;
+}
@@ -0,0 +1,24 @@
+package com.opt.ssafy.optback.domain.chat.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다수 회원 대상 시스템 메시지 요청.
+ * target: MEMBERS(receiverIds), CHALLENGE(challengeId 참여자 전체), ALL(전체 회원)
+ * 발신자는 항상 관리자(ID 0)이다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SystemMessageBroadcast {
+
+    private String target;
+    private List<Integer> receiverIds;
+    private Integer challengeId;
+    private String content;
+}
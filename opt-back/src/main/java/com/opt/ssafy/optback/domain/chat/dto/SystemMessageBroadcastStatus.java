@@ -0,0 +1,20 @@
+package com.opt.ssafy.optback.domain.chat.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SystemMessageBroadcastStatus {
+
+    private String jobId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private long total;
+    private long sent;
+    private long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
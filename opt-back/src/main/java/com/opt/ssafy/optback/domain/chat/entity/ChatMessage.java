@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -15,6 +16,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "chat_messages")
+// 채팅방별 메시지 시간순 조회 (createdAt이 같으면 _id로 순서 결정)
+@CompoundIndex(name = "room_created_at_idx", def = "{'roomId': 1, 'createdAt': 1, '_id': 1}")
 public class ChatMessage {
 
     @Id
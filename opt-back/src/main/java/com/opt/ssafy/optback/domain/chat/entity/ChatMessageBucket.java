@@ -0,0 +1,42 @@
+package com.opt.ssafy.optback.domain.chat.entity;
+
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 버킷 저장 방식(chat.message.storage=bucket)의 메시지 묶음.
+ * 채팅방의 메시지를 생성 시각의 구간(window, 1시간)별로 최대 N개씩 하나의 문서에 모아 저장한다.
+ * 같은 구간에 버킷이 여러 개면 저장 순서대로 채워지므로 버킷끼리 시간이 겹칠 수 있고, 구간끼리는 겹치지 않는다.
+ * 메시지 id는 모든 버킷을 통틀어 한 번만 저장된다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "chat_message_buckets")
+@CompoundIndexes({
+        @CompoundIndex(name = "room_window_idx", def = "{'roomId': 1, 'window': 1}"),
+        // 같은 메시지가 여러 버킷에 저장되지 않도록 함 (BucketChatMessageStore는 중복 키 오류를 이미 저장된 것으로 처리)
+        @CompoundIndex(name = "message_id_uq", def = "{'messages._id': 1}", unique = true)
+})
+public class ChatMessageBucket {
+
+    @Id
+    private String id;
+    private String roomId;
+    private LocalDateTime window;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private int count;
+    @Builder.Default
+    private List<ChatMessage> messages = new ArrayList<>();
+}
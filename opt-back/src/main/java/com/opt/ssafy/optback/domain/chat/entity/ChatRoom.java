@@ -1,11 +1,15 @@
 package com.opt.ssafy.optback.domain.chat.entity;
 
 import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -13,6 +17,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @AllArgsConstructor
 @Builder
 @Document(collection = "chat_rooms")
+// 사용자별 채팅방 목록을 최근 메시지 순으로 조회
+@CompoundIndex(name = "participants_last_message_at_idx", def = "{'participants': 1, 'lastMessageAt': -1}")
 public class ChatRoom {
 
     @Id
@@ -20,6 +26,13 @@ public class ChatRoom {
     private String roomName;
     private List<Integer> participants;
 
+    // 채팅방 목록용 요약 (메시지 저장 시 함께 갱신)
+    private String lastMessage;
+    private LocalDateTime lastMessageAt;
+    private Map<String, Integer> unreadCounts;  // 참여자 ID → 안 읽은 메시지 수
+    private Map<String, String> nicknames;      // 참여자 ID → 닉네임
+    private Map<String, LocalDateTime> readWatermarks;  // 참여자 ID → 마지막으로 읽은 시각
+
     public void setParticipants(List<Integer> participants) {
         this.participants = participants;
     }
@@ -28,4 +41,31 @@ public class ChatRoom {
         return user1 < user2 ? user1 + "_" + user2 : user2 + "_" + user1;
     }
 
+    public int getUnreadCount(int memberId) {
+        return unreadCounts == null ? 0 : unreadCounts.getOrDefault(String.valueOf(memberId), 0);
+    }
+
+    // 참여자가 해당 시각에 생성된 메시지까지 읽었는지 여부
+    public boolean hasRead(int memberId, LocalDateTime createdAt) {
+        LocalDateTime watermark = getReadWatermark(memberId);
+        return watermark != null && createdAt != null && !watermark.isBefore(createdAt);
+    }
+
+    public LocalDateTime getReadWatermark(int memberId) {
+        return readWatermarks == null ? null : readWatermarks.get(String.valueOf(memberId));
+    }
+
+    // 읽은 시각을 앞으로만 옮김 (DB 갱신 결과를 메모리의 채팅방에 반영할 때 사용)
+    public void applyReadWatermark(int memberId, LocalDateTime readAt) {
+        if (readWatermarks == null) {
+            readWatermarks = new HashMap<>();
+        }
+        readWatermarks.merge(String.valueOf(memberId), readAt,
+                (before, after) -> before.isAfter(after) ? before : after);
+    }
+
+    public String getNickname(int memberId) {
+        return nicknames == null ? null : nicknames.get(String.valueOf(memberId));
+    }
+
 }
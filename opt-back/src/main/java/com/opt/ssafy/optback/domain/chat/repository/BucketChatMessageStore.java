@@ -0,0 +1,279 @@
+package com.opt.ssafy.optback.domain.chat.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessageBucket;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방의 메시지를 구간(1시간)별 버킷 문서에 최대 chat.message.bucket.max-messages개씩 저장한다.
+ * 새 메시지는 해당 구간의 가득 차지 않은 버킷에 $push로 추가되고, 없으면 새 버킷이 만들어진다.
+ * 조회는 구간 단위로 버킷을 읽어 메시지를 정렬하므로, 인덱스 항목과 조회 문서 수가 메시지 수가 아닌 버킷 수에 비례한다.
+ * 페이지 조회도 버킷의 메시지 수(count)로 해당 페이지가 걸친 구간만 읽는다.
+ * 같은 메시지가 두 번 저장되지 않도록 메시지 id(messages._id)에 unique 인덱스를 두고, 중복 키 오류는 이미 저장된 것으로 본다.
+ * 마이그레이션이 완료되기 전(ChatMessageMigrationMarker)에는 기존 컬렉션(chat_messages)에도 저장하고 기존 컬렉션에서 조회한다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.message.storage", havingValue = "bucket")
+public class BucketChatMessageStore implements ChatMessageStore {
+
+    private static final int BUCKET_BATCH_SIZE = 4;
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Comparator<ChatMessage> OLDEST_FIRST =
+            Comparator.comparing(ChatMessage::getCreatedAt).thenComparing(ChatMessage::getId);
+    private static final Comparator<ChatMessage> NEWEST_FIRST = OLDEST_FIRST.reversed();
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatMessageMigrationMarker migrationMarker;
+    // 마이그레이션 완료 전 조회, 저장에 쓰는 기존 컬렉션
+    private final DocumentChatMessageStore documentStore;
+    private final int maxMessages;
+
+    public BucketChatMessageStore(MongoTemplate mongoTemplate, ChatMessageRepository chatMessageRepository,
+                                  ChatMessageMigrationMarker migrationMarker,
+                                  @Value("${chat.message.bucket.max-messages:200}") int maxMessages) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrationMarker = migrationMarker;
+        this.documentStore = new DocumentChatMessageStore(mongoTemplate, chatMessageRepository);
+        this.maxMessages = maxMessages;
+    }
+
+    // 마이그레이션 완료 전에는 기존 컬렉션에도 저장하고, 새로 저장된 메시지는 기존 컬렉션 기준으로 판단
+    @Override
+    public List<ChatMessage> insertAll(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        if (!migrationMarker.writesToDocuments()) {
+            return insertIntoBuckets(messages);
+        }
+        List<ChatMessage> inserted = documentStore.insertAll(messages);
+        insertIntoBuckets(messages);
+        return inserted;
+    }
+
+    // 메시지마다 해당 구간의 가득 차지 않은 버킷에 추가 (한 번의 unordered bulk 요청)
+    // 같은 id가 이미 있으면 그 버킷에는 추가하지 않고, 다른 버킷에 추가하거나 새 버킷을 만들면 unique 인덱스 위반으로 건너뜀
+    public List<ChatMessage> insertIntoBuckets(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessageBucket.class);
+        for (ChatMessage message : messages) {
+            Query openBucket = Query.query(Criteria.where("roomId").is(message.getRoomId())
+                    .and("window").is(window(message.getCreatedAt()))
+                    .and("count").lt(maxMessages)
+                    .and("messages._id").ne(message.getId()));
+            Update append = new Update()
+                    .push("messages", message)
+                    .inc("count", 1)
+                    .min("startAt", message.getCreatedAt())
+                    .max("endAt", message.getCreatedAt());
+            bulk.upsert(openBucket, append);
+        }
+        try {
+            bulk.execute();
+            return messages;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicated = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicated.add(error.getIndex());
+            }
+            List<ChatMessage> inserted = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                if (!duplicated.contains(i)) {
+                    inserted.add(messages.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    // 생성 시각 순 조회는 버킷의 구간별 메시지 수로 페이지가 걸친 구간을 찾아 그 구간의 버킷만 읽음
+    @Override
+    public Page<ChatMessage> findByRoomId(String roomId, Pageable pageable) {
+        if (!migrationMarker.readsFromBuckets()) {
+            return documentStore.findByRoomId(roomId, pageable);
+        }
+        Sort.Direction direction = createdAtDirection(pageable.getSort());
+        if (direction == null) {
+            return aggregateByRoomId(roomId, pageable);
+        }
+
+        Query headers = Query.query(Criteria.where("roomId").is(roomId)).with(Sort.by(direction, "window"));
+        headers.fields().include("window").include("count");
+        Map<LocalDateTime, Integer> countsByWindow = new LinkedHashMap<>();
+        mongoTemplate.find(headers, ChatMessageBucket.class)
+                .forEach(bucket -> countsByWindow.merge(bucket.getWindow(), bucket.getCount(), Integer::sum));
+        long total = countsByWindow.values().stream().mapToLong(Integer::longValue).sum();
+
+        long from = pageable.getOffset();
+        long to = from + pageable.getPageSize();
+        long seen = 0;
+        long skip = 0;
+        List<LocalDateTime> windows = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, Integer> entry : countsByWindow.entrySet()) {
+            long next = seen + entry.getValue();
+            if (next > from) {
+                if (windows.isEmpty()) {
+                    skip = from - seen;
+                }
+                windows.add(entry.getKey());
+            }
+            seen = next;
+            if (seen >= to) {
+                break;
+            }
+        }
+        if (windows.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<ChatMessage> content = mongoTemplate.find(Query.query(Criteria.where("roomId").is(roomId)
+                        .and("window").in(windows)), ChatMessageBucket.class).stream()
+                .flatMap(bucket -> bucket.getMessages().stream())
+                .sorted(direction.isAscending() ? OLDEST_FIRST : NEWEST_FIRST)
+                .skip(skip)
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<ChatMessage> findBefore(String roomId, LocalDateTime createdAt, ObjectId id, int limit) {
+        if (!migrationMarker.readsFromBuckets()) {
+            return documentStore.findBefore(roomId, createdAt, id, limit);
+        }
+        String cursorId = id.toHexString();
+        Query query = Query.query(Criteria.where("roomId").is(roomId).and("window").lte(window(createdAt)))
+                .with(Sort.by(Sort.Direction.DESC, "window"));
+        return collect(query, message -> message.getCreatedAt().isBefore(createdAt)
+                || (message.getCreatedAt().isEqual(createdAt) && message.getId().compareTo(cursorId) < 0),
+                NEWEST_FIRST, limit);
+    }
+
+    @Override
+    public List<ChatMessage> findAfter(String roomId, LocalDateTime createdAt, ObjectId id, int limit) {
+        if (!migrationMarker.readsFromBuckets()) {
+            return documentStore.findAfter(roomId, createdAt, id, limit);
+        }
+        String cursorId = id.toHexString();
+        Query query = Query.query(Criteria.where("roomId").is(roomId).and("window").gte(window(createdAt)))
+                .with(Sort.by(Sort.Direction.ASC, "window"));
+        return collect(query, message -> message.getCreatedAt().isAfter(createdAt)
+                || (message.getCreatedAt().isEqual(createdAt) && message.getId().compareTo(cursorId) > 0),
+                OLDEST_FIRST, limit);
+    }
+
+    @Override
+    public List<ChatMessage> findLatest(String roomId, int limit) {
+        if (!migrationMarker.readsFromBuckets()) {
+            return documentStore.findLatest(roomId, limit);
+        }
+        Query query = Query.query(Criteria.where("roomId").is(roomId))
+                .with(Sort.by(Sort.Direction.DESC, "window"));
+        return collect(query, message -> true, NEWEST_FIRST, limit);
+    }
+
+    // 구간 순서대로 버킷을 읽고, limit개를 채우면 현재 구간까지만 읽고 멈춤 (같은 구간의 버킷끼리는 시간이 겹칠 수 있음)
+    private List<ChatMessage> collect(Query query, Predicate<ChatMessage> filter, Comparator<ChatMessage> order,
+                                      int limit) {
+        List<ChatMessage> collected = new ArrayList<>();
+        LocalDateTime currentWindow = null;
+        try (Stream<ChatMessageBucket> buckets = mongoTemplate.stream(query.cursorBatchSize(BUCKET_BATCH_SIZE),
+                ChatMessageBucket.class)) {
+            Iterator<ChatMessageBucket> iterator = buckets.iterator();
+            while (iterator.hasNext()) {
+                ChatMessageBucket bucket = iterator.next();
+                if (collected.size() >= limit && !bucket.getWindow().equals(currentWindow)) {
+                    break;
+                }
+                currentWindow = bucket.getWindow();
+                bucket.getMessages().stream().filter(filter).forEach(collected::add);
+            }
+        }
+        collected.sort(order);
+        return collected.size() > limit ? new ArrayList<>(collected.subList(0, limit)) : collected;
+    }
+
+    // 생성 시각 외의 정렬 조건: 채팅방의 메시지를 모두 펼쳐 정렬
+    private Page<ChatMessage> aggregateByRoomId(String roomId, Pageable pageable) {
+        String collection = mongoTemplate.getCollectionName(ChatMessageBucket.class);
+        Criteria byRoom = Criteria.where("roomId").is(roomId);
+
+        List<ChatMessage> content = mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(byRoom),
+                Aggregation.unwind("messages"),
+                Aggregation.replaceRoot("messages"),
+                Aggregation.sort(toMessageSort(pageable.getSort())),
+                Aggregation.skip(pageable.getOffset()),
+                Aggregation.limit(pageable.getPageSize())
+        ), collection, ChatMessage.class).getMappedResults();
+
+        Document total = mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(byRoom),
+                Aggregation.group().sum("count").as("total")
+        ), collection, Document.class).getUniqueMappedResult();
+        long totalElements = total == null ? 0 : ((Number) total.get("total")).longValue();
+
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+
+    // 생성 시각(+ id) 순 정렬이면 그 방향, 다른 조건이 섞여 있으면 null (정렬이 없으면 오래된 순)
+    private Sort.Direction createdAtDirection(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Direction.ASC;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (!"createdAt".equals(orders.get(0).getProperty())) {
+            return null;
+        }
+        boolean idOnly = orders.stream().skip(1)
+                .allMatch(order -> "id".equals(order.getProperty()) || "_id".equals(order.getProperty()));
+        return idOnly ? orders.get(0).getDirection() : null;
+    }
+
+    // 메시지 정렬 조건 (id는 버킷 안에서 _id로 저장됨)
+    private Sort toMessageSort(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.by(Sort.Direction.ASC, "createdAt", "_id");
+        }
+        return Sort.by(sort.stream()
+                .map(order -> "id".equals(order.getProperty()) ? order.withProperty("_id") : order)
+                .toList());
+    }
+
+    private LocalDateTime window(LocalDateTime createdAt) {
+        return createdAt.truncatedTo(ChronoUnit.HOURS);
+    }
+}
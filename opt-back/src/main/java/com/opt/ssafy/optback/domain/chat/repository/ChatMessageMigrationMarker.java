@@ -0,0 +1,113 @@
+package com.opt.ssafy.optback.domain.chat.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 버킷 마이그레이션 상태 문서 (chat_migrations, _id: chat-message-bucket).
+ * 실행 중(RUNNING)인 문서는 잠금 역할을 하여 여러 서버 중 한 곳만 마이그레이션하고,
+ * 실행 서버가 heartbeat를 stale-after 동안 갱신하지 않으면 다른 서버가 이어받는다.
+ * 완료(DONE)되기 전에는 버킷 저장소가 기존 컬렉션(chat_messages)에서 조회하고 양쪽에 저장한다.
+ * 완료를 확인하는 주기(marker-refresh-seconds)가 서버마다 달라도 조회가 빠지지 않도록,
+ * 기존 컬렉션 저장은 완료 후 그 주기의 세 배가 지날 때까지 계속한다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.message.storage", havingValue = "bucket")
+public class ChatMessageMigrationMarker {
+
+    static final String COLLECTION = "chat_migrations";
+    static final String BUCKET_MIGRATION = "chat-message-bucket";
+    private static final String RUNNING = "RUNNING";
+    private static final String DONE = "DONE";
+
+    private final MongoTemplate mongoTemplate;
+    private final long refreshMillis;
+    private final Duration documentWriteGrace;
+    // 완료 시각 (확인 전이면 null, 한 번 확인하면 바뀌지 않음)
+    private volatile Instant completedAt;
+    private volatile long checkedAt;
+
+    public ChatMessageMigrationMarker(MongoTemplate mongoTemplate,
+                                      @Value("${chat.message.bucket.marker-refresh-seconds:10}") long refreshSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.refreshMillis = refreshSeconds * 1000;
+        this.documentWriteGrace = Duration.ofSeconds(refreshSeconds * 3);
+    }
+
+    // 마이그레이션이 완료되어 버킷에서 조회해도 되는지
+    public boolean readsFromBuckets() {
+        return completedAt() != null;
+    }
+
+    // 기존 컬렉션에도 저장해야 하는지 (완료 전, 또는 다른 서버가 아직 완료를 확인하지 못했을 수 있는 동안)
+    public boolean writesToDocuments() {
+        Instant completed = completedAt();
+        return completed == null || Instant.now().isBefore(completed.plus(documentWriteGrace));
+    }
+
+    // 실행 권한 획득 (처음 실행하거나, 이전 실행 서버의 heartbeat가 staleAfter 이상 끊긴 경우)
+    public boolean tryClaim(String owner, Duration staleAfter) {
+        Date now = new Date();
+        try {
+            mongoTemplate.insert(new Document("_id", BUCKET_MIGRATION)
+                    .append("status", RUNNING)
+                    .append("owner", owner)
+                    .append("heartbeatAt", now), COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            Query stale = Query.query(Criteria.where("_id").is(BUCKET_MIGRATION)
+                    .and("status").is(RUNNING)
+                    .and("heartbeatAt").lt(Date.from(now.toInstant().minus(staleAfter))));
+            return mongoTemplate.updateFirst(stale, Update.update("owner", owner).set("heartbeatAt", now), COLLECTION)
+                    .getMatchedCount() > 0;
+        }
+    }
+
+    // 실행 중임을 갱신, 다른 서버가 이어받았으면 false
+    public boolean heartbeat(String owner) {
+        return mongoTemplate.updateFirst(owned(owner), Update.update("heartbeatAt", new Date()), COLLECTION)
+                .getMatchedCount() > 0;
+    }
+
+    public void complete(String owner) {
+        mongoTemplate.updateFirst(owned(owner), Update.update("status", DONE).set("completedAt", new Date())
+                .unset("owner"), COLLECTION);
+    }
+
+    // 실패 시 실행 권한을 내려놓아 다음 시작 시 바로 다시 실행되도록 함
+    public void release(String owner) {
+        mongoTemplate.remove(owned(owner), COLLECTION);
+    }
+
+    // 완료를 확인하기 전에는 refreshMillis마다 상태 문서를 다시 읽음
+    private Instant completedAt() {
+        Instant completed = completedAt;
+        if (completed != null) {
+            return completed;
+        }
+        long now = System.currentTimeMillis();
+        if (now - checkedAt < refreshMillis) {
+            return null;
+        }
+        checkedAt = now;
+        Document marker = mongoTemplate.findById(BUCKET_MIGRATION, Document.class, COLLECTION);
+        if (marker != null && DONE.equals(marker.getString("status"))) {
+            completedAt = marker.getDate("completedAt").toInstant();
+        }
+        return completedAt;
+    }
+
+    private Query owned(String owner) {
+        return Query.query(Criteria.where("_id").is(BUCKET_MIGRATION).and("status").is(RUNNING).and("owner").is(owner));
+    }
+}
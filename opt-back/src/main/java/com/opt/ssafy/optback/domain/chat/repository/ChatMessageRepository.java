@@ -1,19 +1,32 @@
 package com.opt.ssafy.optback.domain.chat.repository;
 
 import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 public interface ChatMessageRepository extends MongoRepository<ChatMessage, Integer> {
 
-    // 채팅방 메시지를 오래된 순으로 조회
-    List<ChatMessage> findByRoomIdOrderByCreatedAtAsc(String roomId);
+    // 채팅방 메시지 페이지 조회 (roomId, createdAt 인덱스 사용)
+    Page<ChatMessage> findByRoomId(String roomId, Pageable pageable);
+
+    // 커서 기준 이전 메시지 조회 (createdAt이 같으면 _id로 순서 결정)
+    @Query("{ 'roomId': ?0, '$or': [ { 'createdAt': { '$lt': ?1 } }, { 'createdAt': ?1, '_id': { '$lt': ?2 } } ] }")
+    List<ChatMessage> findBefore(String roomId, LocalDateTime createdAt, ObjectId id, Pageable pageable);
+
+    // 커서 기준 이후 메시지 조회
+    @Query("{ 'roomId': ?0, '$or': [ { 'createdAt': { '$gt': ?1 } }, { 'createdAt': ?1, '_id': { '$gt': ?2 } } ] }")
+    List<ChatMessage> findAfter(String roomId, LocalDateTime createdAt, ObjectId id, Pageable pageable);
+
+    // 최근 메시지 조회 (정렬은 pageable로 지정)
+    List<ChatMessage> findLatestByRoomId(String roomId, Pageable pageable);
 
     // 가장 최근에 보낸 메시지 1개 조회
     Optional<ChatMessage> findTopByRoomIdOrderByCreatedAtDesc(String roomId);
 
-    // 특정 채팅방에서 특정 사용자가 읽지 않은 메시지 조회
-    List<ChatMessage> findByRoomIdAndReadByMembersNotContaining(String roomId, int memberId);
-
 }
@@ -0,0 +1,32 @@
+package com.opt.ssafy.optback.domain.chat.repository;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 채팅 메시지 저장소.
+ * chat.message.storage=document(기본값)이면 메시지마다 문서 하나(chat_messages),
+ * bucket이면 채팅방의 메시지를 구간별 버킷 문서(chat_message_buckets)에 모아 저장한다.
+ * bucket은 버킷 마이그레이션이 완료되기 전까지 기존 컬렉션에도 저장하고 기존 컬렉션에서 조회한다.
+ */
+public interface ChatMessageStore {
+
+    // 저장 후 새로 저장된 메시지 반환 (이미 저장된 id는 건너뜀)
+    List<ChatMessage> insertAll(List<ChatMessage> messages);
+
+    // 채팅방 메시지 페이지 조회
+    Page<ChatMessage> findByRoomId(String roomId, Pageable pageable);
+
+    // 커서 기준 이전 메시지 (최신순)
+    List<ChatMessage> findBefore(String roomId, LocalDateTime createdAt, ObjectId id, int limit);
+
+    // 커서 기준 이후 메시지 (오래된 순)
+    List<ChatMessage> findAfter(String roomId, LocalDateTime createdAt, ObjectId id, int limit);
+
+    // 최근 메시지 (최신순)
+    List<ChatMessage> findLatest(String roomId, int limit);
+}
@@ -3,12 +3,20 @@ package com.opt.ssafy.optback.domain.chat.repository;
 import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface ChatRoomRepository extends
-        MongoRepository<ChatRoom, String> {
+        MongoRepository<ChatRoom, String>, ChatRoomRepositoryCustom {
     List<ChatRoom> findByParticipantsContaining(int memberId);
 
+    // 사용자의 채팅방 목록 (participants, lastMessageAt 인덱스 사용)
+    Page<ChatRoom> findByParticipantsContaining(int memberId, Pageable pageable);
+
+    // 요약 필드가 없는 채팅방 (요약 도입 이전에 생성된 방)
+    List<ChatRoom> findByLastMessageAtExists(boolean exists, Pageable pageable);
+
     List<ChatRoom> findByRoomName(String roomName);
 
     Optional<ChatRoom> findById(String id);
@@ -0,0 +1,29 @@
+package com.opt.ssafy.optback.domain.chat.repository;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ChatRoomRepositoryCustom {
+
+    // 마지막 메시지 요약 갱신과 수신자의 안 읽은 메시지 수 증가를 한 번의 update로 처리 (발신자는 읽음 처리)
+    void updateSummary(String roomId, ChatMessage message, Collection<Integer> receiverIds);
+
+    // 여러 채팅 메시지의 요약 갱신을 한 번의 bulk 요청으로 처리 (수신자는 각 메시지의 receiverId)
+    void updateSummaries(List<ChatMessage> messages);
+
+    // 없는 채팅방만 한 번의 bulk upsert로 생성, 새로 생성된 채팅방 수 반환
+    int insertIfAbsent(List<ChatRoom> rooms);
+
+    // 읽은 시각(watermark)을 앞으로만 옮기고 안 읽은 메시지 수 초기화, 변경 전 채팅방 반환 (없으면 null)
+    ChatRoom markRead(String roomId, int memberId, LocalDateTime readAt);
+
+    // 회원이 참여한 모든 채팅방의 닉네임 갱신
+    void updateNickname(int memberId, String nickname);
+
+    // 요약이 없는 기존 채팅방 초기화 (lastMessage가 null이면 대화 없음)
+    void initSummary(String roomId, ChatMessage lastMessage, Map<String, Integer> unreadCounts);
+}
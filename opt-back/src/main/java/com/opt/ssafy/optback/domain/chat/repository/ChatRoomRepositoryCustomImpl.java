@@ -0,0 +1,98 @@
+package com.opt.ssafy.optback.domain.chat.repository;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class ChatRoomRepositoryCustomImpl implements ChatRoomRepositoryCustom {
+
+    private static final int PREVIEW_LENGTH = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void updateSummary(String roomId, ChatMessage message, Collection<Integer> receiverIds) {
+        mongoTemplate.updateFirst(byId(roomId), summaryUpdate(message, receiverIds), ChatRoom.class);
+    }
+
+    // 메시지 순서대로 적용되므로 같은 채팅방이면 마지막 메시지가 요약으로 남음
+    @Override
+    public void updateSummaries(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, ChatRoom.class);
+        messages.forEach(message -> bulk.updateOne(byId(message.getRoomId()),
+                summaryUpdate(message, List.of(message.getReceiverId()))));
+        bulk.execute();
+    }
+
+    @Override
+    public int insertIfAbsent(List<ChatRoom> rooms) {
+        if (rooms.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatRoom.class);
+        rooms.forEach(room -> bulk.upsert(byId(room.getId()), new Update()
+                .setOnInsert("roomName", room.getRoomName())
+                .setOnInsert("participants", room.getParticipants())
+                .setOnInsert("nicknames", room.getNicknames())));
+        return bulk.execute().getUpserts().size();
+    }
+
+    @Override
+    public ChatRoom markRead(String roomId, int memberId, LocalDateTime readAt) {
+        Update update = new Update()
+                .max("readWatermarks." + memberId, readAt)
+                .set("unreadCounts." + memberId, 0);
+        return mongoTemplate.findAndModify(byId(roomId), update, ChatRoom.class);
+    }
+
+    @Override
+    public void updateNickname(int memberId, String nickname) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("participants").is(memberId)),
+                new Update().set("nicknames." + memberId, nickname), ChatRoom.class);
+    }
+
+    @Override
+    public void initSummary(String roomId, ChatMessage lastMessage, Map<String, Integer> unreadCounts) {
+        Update update = new Update()
+                .set("lastMessage", lastMessage == null ? null : preview(lastMessage.getContent()))
+                .set("lastMessageAt", lastMessage == null ? null : lastMessage.getCreatedAt())
+                .set("unreadCounts", unreadCounts);
+        mongoTemplate.updateFirst(byId(roomId), update, ChatRoom.class);
+    }
+
+    private Update summaryUpdate(ChatMessage message, Collection<Integer> receiverIds) {
+        Update update = new Update()
+                .set("lastMessage", preview(message.getContent()))
+                .set("lastMessageAt", message.getCreatedAt());
+        receiverIds.forEach(receiverId -> update.inc("unreadCounts." + receiverId, 1));
+        if (!receiverIds.contains(message.getSenderId())) {
+            update.max("readWatermarks." + message.getSenderId(), message.getCreatedAt())
+                    .set("unreadCounts." + message.getSenderId(), 0);
+        }
+        return update;
+    }
+
+    private Query byId(String roomId) {
+        return Query.query(Criteria.where("_id").is(roomId));
+    }
+
+    private String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, PREVIEW_LENGTH);
+    }
+}
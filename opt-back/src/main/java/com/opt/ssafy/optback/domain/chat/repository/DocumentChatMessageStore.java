@@ -0,0 +1,83 @@
+package com.opt.ssafy.optback.domain.chat.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// 메시지마다 문서 하나로 저장 (chat_messages, roomId + createdAt 인덱스)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.message.storage", havingValue = "document", matchIfMissing = true)
+public class DocumentChatMessageStore implements ChatMessageStore {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private final MongoTemplate mongoTemplate;
+    private final ChatMessageRepository chatMessageRepository;
+
+    // 한 번의 bulk insert, 이미 저장된 메시지는 중복 키로 건너뜀
+    @Override
+    public List<ChatMessage> insertAll(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatMessage.class)
+                    .insert(messages)
+                    .execute();
+            return messages;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicated = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicated.add(error.getIndex());
+            }
+            List<ChatMessage> inserted = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                if (!duplicated.contains(i)) {
+                    inserted.add(messages.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    @Override
+    public Page<ChatMessage> findByRoomId(String roomId, Pageable pageable) {
+        return chatMessageRepository.findByRoomId(roomId, pageable);
+    }
+
+    @Override
+    public List<ChatMessage> findBefore(String roomId, LocalDateTime createdAt, ObjectId id, int limit) {
+        return chatMessageRepository.findBefore(roomId, createdAt, id, PageRequest.of(0, limit, NEWEST_FIRST));
+    }
+
+    @Override
+    public List<ChatMessage> findAfter(String roomId, LocalDateTime createdAt, ObjectId id, int limit) {
+        return chatMessageRepository.findAfter(roomId, createdAt, id, PageRequest.of(0, limit, OLDEST_FIRST));
+    }
+
+    @Override
+    public List<ChatMessage> findLatest(String roomId, int limit) {
+        return chatMessageRepository.findLatestByRoomId(roomId, PageRequest.of(0, limit, NEWEST_FIRST));
+    }
+}
@@ -0,0 +1,127 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessageBucket;
+import com.opt.ssafy.optback.domain.chat.repository.BucketChatMessageStore;
+import com.opt.ssafy.optback.domain.chat.repository.ChatMessageMigrationMarker;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지별 문서(chat_messages)를 버킷 저장소(chat_message_buckets)로 옮긴다.
+ * chat.message.bucket.migrate-on-startup=true이면 시작 후 별도 스레드에서 실행되며,
+ * 여러 서버가 동시에 시작해도 상태 문서(ChatMessageMigrationMarker)의 실행 권한을 얻은 한 서버만 실행한다.
+ * roomId, createdAt 순서로 읽어 batch 단위로 버킷에 추가하고, 이미 옮긴 메시지는 건너뛰므로 중단되어도 다시 실행하면 된다.
+ * 완료를 기록하기 전까지 버킷 저장소는 원본 컬렉션에서 조회하고 양쪽에 저장하므로, 실행 중에도 조회에서 빠지는 메시지가 없다.
+ * 원본 컬렉션은 삭제하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.message.storage", havingValue = "bucket")
+public class ChatMessageBucketMigration {
+
+    private static final int PROGRESS_LOG_INTERVAL = 100_000;
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final BucketChatMessageStore bucketChatMessageStore;
+    private final ChatMessageMigrationMarker migrationMarker;
+    private final boolean migrateOnStartup;
+    private final int batchSize;
+
+    public ChatMessageBucketMigration(MongoTemplate mongoTemplate, BucketChatMessageStore bucketChatMessageStore,
+                                      ChatMessageMigrationMarker migrationMarker,
+                                      @Value("${chat.message.bucket.migrate-on-startup:false}")
+                                      boolean migrateOnStartup,
+                                      @Value("${chat.message.bucket.migration-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucketChatMessageStore = bucketChatMessageStore;
+        this.migrationMarker = migrationMarker;
+        this.migrateOnStartup = migrateOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (migrateOnStartup) {
+            Thread.ofVirtual().name("chat-bucket-migration").start(this::migrate);
+        } else if (!migrationMarker.readsFromBuckets()) {
+            log.warn("⚠️ 채팅 메시지 버킷 마이그레이션이 완료되지 않아 기존 컬렉션에서 조회합니다.");
+        }
+    }
+
+    // 옮긴 메시지 수 반환 (완료되었거나 다른 서버가 실행 중이면 0)
+    public long migrate() {
+        String owner = UUID.randomUUID().toString();
+        try {
+            if (!migrationMarker.tryClaim(owner, STALE_AFTER)) {
+                log.info("📩 채팅 메시지 버킷 마이그레이션이 완료되었거나 다른 서버에서 실행 중입니다.");
+                return 0;
+            }
+            // 중복 저장을 막는 unique 인덱스가 없으면 옮기지 않음 (기존 버킷에 중복이 있으면 생성 실패)
+            IndexOperations indexOps = mongoTemplate.indexOps(ChatMessageBucket.class);
+            IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(ChatMessageBucket.class).forEach(indexOps::ensureIndex);
+        } catch (RuntimeException e) {
+            migrationMarker.release(owner);
+            log.error("❌ 채팅 메시지 버킷 마이그레이션을 시작하지 못했습니다.", e);
+            return 0;
+        }
+
+        log.info("📩 채팅 메시지 버킷 마이그레이션 시작");
+        long read = 0;
+        long copied = 0;
+        long heartbeatAt = System.currentTimeMillis();
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "roomId", "createdAt", "id"))
+                .cursorBatchSize(batchSize);
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        try (Stream<ChatMessage> messages = mongoTemplate.stream(query, ChatMessage.class)) {
+            Iterator<ChatMessage> iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() < batchSize) {
+                    continue;
+                }
+                copied += bucketChatMessageStore.insertIntoBuckets(batch).size();
+                read += batch.size();
+                batch.clear();
+                if (System.currentTimeMillis() - heartbeatAt >= HEARTBEAT_INTERVAL.toMillis()) {
+                    if (!migrationMarker.heartbeat(owner)) {
+                        throw new IllegalStateException("다른 서버가 마이그레이션을 이어받았습니다.");
+                    }
+                    heartbeatAt = System.currentTimeMillis();
+                }
+                if (read % PROGRESS_LOG_INTERVAL < batchSize) {
+                    log.info("📩 채팅 메시지 버킷 마이그레이션 진행 중 (읽음: {}건, 이동: {}건)", read, copied);
+                }
+            }
+            copied += bucketChatMessageStore.insertIntoBuckets(batch).size();
+            read += batch.size();
+            migrationMarker.complete(owner);
+        } catch (RuntimeException e) {
+            log.error("❌ 채팅 메시지 버킷 마이그레이션 실패 (읽음: {}건, 이동: {}건), 다시 실행하면 이어서 진행합니다.",
+                    read, copied, e);
+            migrationMarker.release(owner);
+            return copied;
+        }
+        log.info("📩 채팅 메시지 버킷 마이그레이션 완료 (읽음: {}건, 이동: {}건)", read, copied);
+        return copied;
+    }
+}
@@ -0,0 +1,224 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.chat.dto.ChatMessageAck;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.exception.ChatMessageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 write-behind 버퍼.
+ * 전송된 메시지는 저널에 남긴 뒤 크기가 제한된 큐에 쌓이고, 주기마다 batch 단위 bulk insert로 저장된다.
+ * 저널 fsync는 group commit되며, 전송 스레드는 appendLock을 놓은 뒤 자기 메시지가 fsync되기를 기다린다.
+ * 저장이 끝나면 채팅방별로 /topic/chat-room/{roomId}/ack에 저장 완료를 알린다.
+ * 저장에 실패한 메시지는 다음 flush에서 먼저 재시도한다.
+ * 큐가 가득 차면 전송 스레드에서 직접 저장하지 않고 flush 전용 스레드에 저장을 요청한 뒤 자리가 날 때까지 잠시(offer-timeout-ms) 기다리며,
+ * 그래도 자리가 없으면(저장이 계속 실패하는 경우 등) 새 메시지를 거절한다.
+ * 복구는 빈 초기화 시점(스케줄러가 flush를 시작하기 전)에 수행하고, 복구하지 못한 세그먼트는 다음 재시작까지 지우지 않는다.
+ */
+@Slf4j
+@Component
+public class ChatMessageBuffer {
+
+    private final Object appendLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final BlockingQueue<ChatMessage> queue;
+    // 저장 대기 중인 메시지와 그 메시지가 기록된 저널 세그먼트 (flushLock으로 보호)
+    private final List<ChatMessage> pending = new ArrayList<>();
+    private List<Path> pendingSegments = List.of();
+    // 복구에 실패한 이전 실행의 세그먼트 (flush에서 삭제하지 않음)
+    private volatile List<Path> unrecovered = List.of();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("chat-message-flush").daemon().factory());
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ChatMessageJournal journal;
+    private final ChatMessageWriter writer;
+    private final ChatMessageRelay chatMessageRelay;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+
+    public ChatMessageBuffer(ChatMessageJournal journal, ChatMessageWriter writer, ChatMessageRelay chatMessageRelay,
+                             @Value("${chat.message.buffer.capacity:10000}") int capacity,
+                             @Value("${chat.message.buffer.batch-size:500}") int batchSize,
+                             @Value("${chat.message.buffer.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.journal = journal;
+        this.writer = writer;
+        this.chatMessageRelay = chatMessageRelay;
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+    }
+
+    // 저널에 남기고 큐에 추가, 큐가 가득 차 있으면 flush를 요청하고 자리가 날 때까지 잠시 기다림
+    // 반환 시점에는 메시지가 저널에 fsync되어 있음
+    public void enqueue(ChatMessage message) {
+        CompletableFuture<Void> journaled = offer(message, 0);
+        if (journaled == null) {
+            requestFlush();
+            journaled = offer(message, offerTimeoutNanos);
+            if (journaled == null) {
+                throw new ChatMessageException("❌ 메시지가 많아 저장이 지연되고 있습니다. 잠시 후 다시 시도해주세요");
+            }
+        }
+        try {
+            journal.await(journaled);
+        } catch (RuntimeException e) {
+            // 아직 큐에 있으면 빼고 실패 처리, 이미 flush로 넘어갔으면 DB에 저장되므로 그대로 진행
+            synchronized (appendLock) {
+                if (queue.remove(message)) {
+                    appendLock.notifyAll();
+                    throw e;
+                }
+            }
+            log.warn("⚠️ 채팅 메시지 저널 작성에 실패했지만 이미 저장 대상에 포함되었습니다. (id: {})", message.getId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.message.buffer.flush-interval-ms:200}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // 다른 스레드에서 flush 중
+        }
+        try {
+            writePending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flushNow() {
+        flushLock.lock();
+        try {
+            writePending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 재시작 시 저널에 남은 메시지 저장 (이미 저장된 메시지는 건너뜀)
+    // 첫 flush보다 먼저 실행되어야 이전 실행의 세그먼트가 재생 전에 삭제되지 않음
+    @PostConstruct
+    public void recover() {
+        flushLock.lock();
+        List<Path> segments = List.of();
+        try {
+            segments = journal.rotate();
+            if (segments.isEmpty()) {
+                return;
+            }
+            List<ChatMessage> messages = journal.replay(segments);
+            pending.addAll(messages);
+            pendingSegments = segments;
+            writePending();
+            log.info("📩 채팅 메시지 저널 복구 ({}건, 미저장 {}건)", messages.size(), pending.size());
+        } catch (RuntimeException e) {
+            if (pending.isEmpty()) {
+                unrecovered = segments;
+            }
+            log.error("❌ 채팅 메시지 저널 복구 실패, 다음 재시작 시 다시 시도합니다. ({}개 세그먼트 보존)",
+                    segments.size(), e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flushExecutor.shutdownNow();
+        flushNow();
+    }
+
+    // flush 전용 스레드에서 저장 (이미 요청되어 있으면 무시)
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false); // 종료 중
+            }
+        }
+    }
+
+    // 큐에 자리가 나면 저널 대기 버퍼에 남기고 추가하여 fsync future 반환, timeoutNanos 안에 자리가 나지 않으면 null
+    // 저널 append와 큐 추가를 appendLock 안에서 함께 하므로, rotate 이전에 큐에 들어간 메시지는 모두 이전 세그먼트에 남음
+    private CompletableFuture<Void> offer(ChatMessage message, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        synchronized (appendLock) {
+            while (queue.remainingCapacity() == 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(appendLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            CompletableFuture<Void> journaled = journal.append(message);
+            queue.offer(message);
+            return journaled;
+        }
+    }
+
+    private void writePending() {
+        // 이전에 실패한 메시지가 남아 있으면 그것부터 저장 (그동안 새 메시지는 큐에서 대기)
+        if (pending.isEmpty()) {
+            synchronized (appendLock) {
+                List<Path> segments = new ArrayList<>(journal.rotate());
+                segments.removeAll(unrecovered);
+                pendingSegments = segments;
+                queue.drainTo(pending);
+                appendLock.notifyAll(); // 자리가 나기를 기다리는 전송 스레드
+            }
+        }
+
+        int written = 0;
+        try {
+            while (written < pending.size()) {
+                List<ChatMessage> batch = pending.subList(written, Math.min(written + batchSize, pending.size()));
+                writer.write(batch);
+                acknowledge(batch);
+                written += batch.size();
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ 채팅 메시지 저장 실패, 다음 flush에서 재시도합니다. ({}건)", pending.size() - written, e);
+        }
+        pending.subList(0, written).clear();
+
+        if (pending.isEmpty()) {
+            journal.delete(pendingSegments);
+            pendingSegments = List.of();
+        }
+    }
+
+    private void acknowledge(List<ChatMessage> messages) {
+        Map<String, List<String>> idsByRoom = new LinkedHashMap<>();
+        messages.forEach(message -> idsByRoom.computeIfAbsent(message.getRoomId(), roomId -> new ArrayList<>())
+                .add(message.getId()));
+        idsByRoom.forEach((roomId, ids) ->
+                chatMessageRelay.publish("/topic/chat-room/" + roomId + "/ack", new ChatMessageAck(roomId, ids)));
+    }
+}
@@ -0,0 +1,11 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+/**
+ * 채팅 메시지를 /topic 구독자에게 전달한다.
+ * SimpleBroker는 같은 JVM에 연결된 구독자에게만 전달하므로, 서버가 여러 대일 때는 구현체가 다른 서버로도 전파한다.
+ * chat.relay.type=redis(기본값)이면 Redis pub/sub으로 전파하고, local이면 이 서버의 구독자에게만 전달한다.
+ */
+public interface ChatMessageRelay {
+
+    void publish(String destination, Object payload);
+}
@@ -2,33 +2,48 @@ package com.opt.ssafy.optback.domain.chat.service;
 
 import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
 import com.opt.ssafy.optback.domain.chat.dto.ChatMessageRequest;
+import com.opt.ssafy.optback.domain.chat.dto.ChatMessageResponse;
+import com.opt.ssafy.optback.domain.chat.dto.ChatMessageSliceResponse;
+import com.opt.ssafy.optback.domain.chat.dto.ChatReadReceipt;
 import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
 import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
 import com.opt.ssafy.optback.domain.chat.exception.ChatMessageException;
 import com.opt.ssafy.optback.domain.chat.exception.ChatRoomException;
-import com.opt.ssafy.optback.domain.chat.repository.ChatMessageRepository;
+import com.opt.ssafy.optback.domain.chat.repository.ChatMessageStore;
 import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
+import com.opt.ssafy.optback.domain.chat.service.ChatRoomMembershipCache.Membership;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
 
-    private final ChatMessageRepository chatMessageRepository;
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final int LEGACY_READ_STATUS_LIMIT = 100;
+    private static final String READ_STATUS_TOPIC = "/topic/chat-room/%s/read-status";
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt", "id");
+
+    private final ChatMessageStore chatMessageStore;
     private final ChatRoomRepository chatRoomRepository;
     private final UserDetailsServiceImpl userDetailsService;
-    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final ChatMessageRelay chatMessageRelay;
+    private final ChatMessageBuffer chatMessageBuffer;
+    private final ChatRoomMembershipCache chatRoomMembershipCache;
 
-    // 메시지 저장 및 전송
-    @Transactional
+    // 메시지 전송: 저널에 남긴 뒤 바로 브로드캐스트하고, DB 저장은 ChatMessageBuffer가 batch로 처리
     public ChatMessage processMessage(ChatMessageRequest request) {
         // 채팅방 ID 확인
         if (request.getRoomId() == null || request.getRoomId().isEmpty()) {
@@ -45,22 +60,23 @@ public class ChatMessageService {
 
         boolean isAdmin = (senderId == 0);
 
-        String roomName = chatRoomRepository.findById(request.getRoomId())
-                .map(ChatRoom::getRoomName)
-                .orElse(null);
+        Membership chatRoom = chatRoomMembershipCache.get(request.getRoomId())
+                .orElseThrow(() -> new ChatRoomException("❌ 존재하지 않는 채팅방입니다"));
 
-        boolean isAdminChatRoom = roomName.startsWith("0_");
+        boolean isAdminChatRoom = chatRoom.roomName().startsWith("0_");
 
         if (!isAdmin && isAdminChatRoom) {
             throw new ChatMessageException("🚫 일반 유저는 관리자 채팅에 메시지를 보낼 수 없습니다");
         }
-        
-        int receiverId = getReceiverId(request.getRoomId(), senderId);
+
+        int receiverId = getReceiverId(chatRoom, senderId);
 
         log.info("📩 메시지 전송 요청: Room ID = {}, Sender ID = {}, Receiver ID = {}", request.getRoomId(), senderId,
                 receiverId);
 
+        // id를 미리 발급하여 브로드캐스트와 저장, 저널 재생 시 같은 id를 사용 (ObjectId는 생성 순서대로 증가)
         ChatMessage chatMessage = ChatMessage.builder()
+                .id(new ObjectId().toHexString())
                 .roomId(request.getRoomId())
                 .senderId(senderId)
                 .receiverId(receiverId)
@@ -70,76 +86,118 @@ public class ChatMessageService {
                 .isRead(false)
                 .build();
 
-        // 메시지 저장
-        ChatMessage savedMessage = chatMessageRepository.save(chatMessage);
-        log.info("📩 메시지 저장 완료: Message ID = {}", savedMessage.getId());
+        chatMessageBuffer.enqueue(chatMessage);
 
         // 메시지 전송
-        sendMessageToChatRoom(savedMessage);
-        return savedMessage;
+        sendMessageToChatRoom(chatMessage);
+        return chatMessage;
     }
 
     private void sendMessageToChatRoom(ChatMessage message) {
-        simpMessagingTemplate.convertAndSend(
+        chatMessageRelay.publish(
                 "/topic/chat-room/" + message.getRoomId(), message
         );
     }
 
-    private int getReceiverId(String roomId, int senderId) {
-        Optional<ChatRoom> optionalChatRoom = chatRoomRepository.findById(roomId);
-
-        if (optionalChatRoom.isEmpty()) {
-            throw new ChatRoomException("❌ 존재하지 않는 채팅방입니다");
-        }
-
-        ChatRoom chatRoom = optionalChatRoom.get();
-        List<Integer> participants = chatRoom.getParticipants();
-
-        return participants.stream()
+    private int getReceiverId(Membership chatRoom, int senderId) {
+        return chatRoom.participants().stream()
                 .filter(id -> id != senderId)
                 .findFirst()
                 .orElseThrow(() -> new ChatMessageException("❌ 채팅방에 상대방이 존재하지 않습니다"));
     }
 
-    // 각 채팅방 메시지 조회
-    public List<ChatMessage> getMessagesByRoomId(String roomId) {
+    // 각 채팅방 메시지 페이지 조회 (정렬을 지정하지 않으면 오래된 순)
+    public Page<ChatMessageResponse> getMessagesByRoomId(String roomId, Pageable pageable) {
         log.info("📩 메시지 조회 요청: Room ID = {}", roomId);
-        return chatMessageRepository.findByRoomIdOrderByCreatedAtAsc(roomId);
+        Pageable sorted = pageable.getSort().isSorted() ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), OLDEST_FIRST);
+        Page<ChatMessage> messages = chatMessageStore.findByRoomId(roomId, sorted);
+        return new PageImpl<>(toResponses(roomId, messages.getContent()), sorted, messages.getTotalElements());
     }
 
-    // 채팅방의 모든 메시지를 읽음 처리
-    @Transactional
-    public void markAllMessagesAsRead(String roomId) {
-        int memberId = userDetailsService.getMemberByContextHolder().getId();
-
-        List<ChatMessage> unreadMessages = chatMessageRepository
-                .findByRoomIdAndReadByMembersNotContaining(roomId, memberId);
-
-        if (unreadMessages.isEmpty()) {
-            return;
+    // 커서 기준 메시지 조회: before면 이전 메시지, after면 이후 메시지, 둘 다 없으면 최근 메시지
+    public ChatMessageSliceResponse getMessageSlice(String roomId, String before, String after, int size) {
+        if (before != null && after != null) {
+            throw new ChatMessageException("❌ before와 after는 함께 사용할 수 없습니다");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_SLICE_SIZE);
+        // 다음 페이지 존재 여부 확인을 위해 하나 더 조회
+        int window = limit + 1;
+
+        List<ChatMessage> fetched;
+        if (after != null) {
+            MessageCursor cursor = MessageCursor.decode(after);
+            fetched = chatMessageStore.findAfter(roomId, cursor.createdAt(), cursor.id(), window);
+        } else if (before != null) {
+            MessageCursor cursor = MessageCursor.decode(before);
+            fetched = chatMessageStore.findBefore(roomId, cursor.createdAt(), cursor.id(), window);
+        } else {
+            fetched = chatMessageStore.findLatest(roomId, window);
         }
 
-        for (ChatMessage message : unreadMessages) {
-            message.getReadByMembers().add(memberId);
-            message.setIsRead(checkIfAllRead(message));
+        boolean hasMore = fetched.size() > limit;
+        List<ChatMessage> messages = new ArrayList<>(fetched.subList(0, Math.min(limit, fetched.size())));
+        if (after == null) {
+            Collections.reverse(messages);
         }
 
-        chatMessageRepository.saveAll(unreadMessages);
+        return ChatMessageSliceResponse.builder()
+                .messages(toResponses(roomId, messages))
+                .olderCursor(messages.isEmpty() ? null : MessageCursor.encode(messages.get(0)))
+                .newerCursor(messages.isEmpty() ? null : MessageCursor.encode(messages.get(messages.size() - 1)))
+                .hasOlder(after != null || hasMore)
+                .hasNewer(after != null ? hasMore : before != null)
+                .build();
+    }
 
-        simpMessagingTemplate.convertAndSend(
-                "/topic/chat-room/" + roomId + "/read-status",
-                unreadMessages
-        );
+    // 채팅방 읽음 처리: 메시지마다 읽음 표시를 남기지 않고 참여자의 마지막 읽은 시각(watermark)만 갱신
+    // watermark는 서버 시계가 아닌 읽은 메시지의 생성 시각을 사용하므로 서버 간 시계 차이와 무관하게 메시지 순서와 일치
+    public void markAllMessagesAsRead(String roomId, String upTo) {
+        int memberId = userDetailsService.getMemberByContextHolder().getId();
+        LocalDateTime readAt = upTo != null ? MessageCursor.decode(upTo).createdAt()
+                : chatMessageStore.findLatest(roomId, 1).stream()
+                        .map(ChatMessage::getCreatedAt)
+                        .findFirst()
+                        .orElse(null);
+        if (readAt == null) {
+            return; // 읽을 메시지 없음
+        }
+        ChatRoom chatRoom = chatRoomRepository.markRead(roomId, memberId, readAt);
+        if (chatRoom == null) {
+            throw new ChatRoomException("❌ 채팅방을 찾을 수 없습니다");
+        }
+
+        chatMessageRelay.publish(READ_STATUS_TOPIC.formatted(roomId) + "/v2",
+                new ChatReadReceipt(roomId, memberId, readAt));
+        publishLegacyReadStatus(chatRoom, memberId, readAt);
     }
 
-    // 모든 참여자가 읽었는지 확인
-    private boolean checkIfAllRead(ChatMessage message) {
-        int totalParticipants = getTotalParticipants(message.getRoomId());
-        return message.getReadByMembers().size() >= totalParticipants;
+    // 이전 클라이언트용: 기존 경로로 이번에 읽음 처리된 상대방 메시지 목록을 보냄 (최근 LEGACY_READ_STATUS_LIMIT개 이내)
+    private void publishLegacyReadStatus(ChatRoom chatRoom, int memberId, LocalDateTime readAt) {
+        LocalDateTime previous = chatRoom.getReadWatermark(memberId);
+        if (previous != null && !previous.isBefore(readAt)) {
+            return;
+        }
+        chatRoom.applyReadWatermark(memberId, readAt);
+        List<ChatMessageResponse> readMessages = chatMessageStore.findLatest(chatRoom.getId(), LEGACY_READ_STATUS_LIMIT)
+                .stream()
+                .filter(message -> message.getSenderId() != memberId)
+                .filter(message -> !message.getCreatedAt().isAfter(readAt))
+                .filter(message -> previous == null || message.getCreatedAt().isAfter(previous))
+                .map(message -> new ChatMessageResponse(message, chatRoom))
+                .toList();
+        if (!readMessages.isEmpty()) {
+            chatMessageRelay.publish(READ_STATUS_TOPIC.formatted(chatRoom.getId()), readMessages);
+        }
     }
 
-    private int getTotalParticipants(String roomId) {
-        return chatRoomRepository.findById(roomId).get().getParticipants().size();
+    // 메시지별 읽음 여부는 채팅방의 참여자별 watermark와 비교해 계산
+    private List<ChatMessageResponse> toResponses(String roomId, List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElse(null);
+        return messages.stream().map(message -> new ChatMessageResponse(message, chatRoom)).toList();
     }
 
 }
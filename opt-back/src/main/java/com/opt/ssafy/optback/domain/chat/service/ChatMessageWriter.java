@@ -0,0 +1,31 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.repository.ChatMessageStore;
+import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 버퍼링된 채팅 메시지를 한 번에 저장하고 채팅방 요약을 갱신한다.
+ * 메시지 id는 전송 시점에 정해지므로, 저널 재생으로 이미 저장된 메시지를 다시 넣으면 저장소에서 건너뛴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMessageWriter {
+
+    private final ChatMessageStore chatMessageStore;
+    private final ChatRoomRepository chatRoomRepository;
+
+    public void write(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<ChatMessage> inserted = chatMessageStore.insertAll(messages);
+        // 이미 저장되어 있던 메시지는 요약에 반영된 상태이므로 새로 저장된 메시지만 반영
+        chatRoomRepository.updateSummaries(inserted.stream()
+                .filter(message -> message.getMessageType() == ChatMessage.MessageType.CHAT)
+                .toList());
+    }
+}
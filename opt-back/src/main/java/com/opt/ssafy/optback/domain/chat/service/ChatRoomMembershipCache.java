@@ -0,0 +1,63 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
+import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
+import com.opt.ssafy.optback.global.cache.NearCache;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 구성(이름, 참여자) near cache.
+ * 메시지 전송마다 채팅방을 조회하지 않도록 처음 조회한 채팅방의 구성만 서버 메모리에 보관한다.
+ * 요약(마지막 메시지, 안 읽은 수)은 계속 바뀌므로 캐시하지 않는다.
+ * 참여자가 바뀌거나 채팅방이 생성되면 evict하고, Redis 채널(chat:room:invalidate)로 다른 서버에도 알린다.
+ */
+@Component
+public class ChatRoomMembershipCache {
+
+    static final String INVALIDATION_CHANNEL = "chat:room:invalidate";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final NearCache<String, Membership> cache;
+
+    public ChatRoomMembershipCache(ChatRoomRepository chatRoomRepository, StringRedisTemplate stringRedisTemplate,
+                                   RedisMessageListenerContainer redisMessageListenerContainer,
+                                   @Value("${chat.room.cache.max-size:50000}") int maxSize,
+                                   @Value("${chat.room.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cache = new NearCache<>("채팅방", maxSize, Duration.ofSeconds(ttlSeconds), INVALIDATION_CHANNEL,
+                Function.identity(), stringRedisTemplate, redisMessageListenerContainer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        cache.subscribe();
+    }
+
+    public Optional<Membership> get(String roomId) {
+        return Optional.ofNullable(cache.get(roomId,
+                id -> chatRoomRepository.findById(id).map(Membership::from).orElse(null)));
+    }
+
+    // 이 서버와 다른 서버의 캐시에서 제거
+    public void evict(String roomId) {
+        cache.evict(roomId);
+    }
+
+    public record Membership(String roomId, String roomName, List<Integer> participants) {
+
+        static Membership from(ChatRoom chatRoom) {
+            List<Integer> participants = chatRoom.getParticipants() == null ? List.of()
+                    : List.copyOf(chatRoom.getParticipants());
+            return new Membership(chatRoom.getId(), chatRoom.getRoomName(), participants);
+        }
+    }
+}
@@ -2,21 +2,24 @@ package com.opt.ssafy.optback.domain.chat.service;
 
 import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
 import com.opt.ssafy.optback.domain.chat.dto.ChatRoomResponse;
-import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
 import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
 import com.opt.ssafy.optback.domain.chat.exception.ChatRoomException;
-import com.opt.ssafy.optback.domain.chat.repository.ChatMessageRepository;
 import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
 import com.opt.ssafy.optback.domain.member.repository.MemberRepository;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,11 +28,16 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ChatRoomService {
 
+    private static final int ADMIN_ID = 0;
+    private static final String ADMIN_NICKNAME = "관리자";
+    private static final int UNKNOWN_MEMBER_ID = -1;
+    private static final Sort LATEST_MESSAGE_FIRST = Sort.by(Sort.Direction.DESC, "lastMessageAt");
+
     private final ChatRoomRepository chatRoomRepository;
     private final UserDetailsServiceImpl userDetailsService;
-    private final ChatMessageRepository chatMessageRepository;
     private final SystemMessageService systemMessageService;
     private final MemberRepository memberRepository;
+    private final ChatRoomMembershipCache chatRoomMembershipCache;
 
     // 채팅방 생성
     @Transactional
@@ -53,9 +61,11 @@ public class ChatRoomService {
                 .id(UUID.randomUUID().toString())
                 .roomName(roomName)
                 .participants(List.of(loginMemberId, otherMemberId))
+                .nicknames(loadNicknames(List.of(loginMemberId, otherMemberId)))
                 .build();
 
         chatRoomRepository.save(newRoom);
+        chatRoomMembershipCache.evict(newRoom.getId());
         log.info("📩 새 채팅방 생성 완료: Room ID = {}", newRoom.getId());
         return newRoom;
     }
@@ -87,43 +97,65 @@ public class ChatRoomService {
             chatRoom.setParticipants(updatedParticipants);
             chatRoomRepository.save(chatRoom);
         }
+        chatRoomMembershipCache.evict(roomId);
     }
 
-    // 사용자가 속한 채팅방 목록 조회
-    public List<ChatRoomResponse> getUserChatRooms() {
+    // 사용자가 속한 채팅방 목록 조회 (채팅방 요약만 사용, 정렬을 지정하지 않으면 최근 메시지 순)
+    public Page<ChatRoomResponse> getUserChatRooms(Pageable pageable) {
         int memberId = userDetailsService.getMemberByContextHolder().getId();
+        Pageable sorted = pageable.getSort().isSorted() ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), LATEST_MESSAGE_FIRST);
 
-        List<ChatRoom> chatRooms = chatRoomRepository.findByParticipantsContaining(memberId);
+        Page<ChatRoom> chatRooms = chatRoomRepository.findByParticipantsContaining(memberId, sorted);
+        Map<Integer, String> missingNicknames = loadMissingNicknames(chatRooms.getContent(), memberId);
 
-        // 최근 메시지 순으로 정렬
-        chatRooms.sort((Comparator.comparing(room -> getLastMessageContent(room.getId()).getCreatedAt(),
-                Comparator.reverseOrder())));
+        return chatRooms.map(chatRoom -> {
+            int otherMemberId = getOtherMemberId(chatRoom.getParticipants(), memberId);
+            String nickname = chatRoom.getNickname(otherMemberId);
+            if (nickname == null) {
+                nickname = missingNicknames.getOrDefault(otherMemberId, "알 수 없음");
+            }
+            return new ChatRoomResponse(chatRoom, memberId, nickname);
+        });
+    }
 
-        return chatRooms.stream()
-                .map(chatRoom -> buildChatRoomResponse(chatRoom, memberId))
-                .collect(Collectors.toList());
+    // 참여자 닉네임 (관리자는 ID 0)
+    private Map<String, String> loadNicknames(List<Integer> memberIds) {
+        Map<String, String> nicknames = new HashMap<>();
+        memberRepository.findAllById(memberIds.stream().filter(id -> id != ADMIN_ID).toList())
+                .forEach(member -> nicknames.put(String.valueOf(member.getId()), member.getNickname()));
+        if (memberIds.contains(ADMIN_ID)) {
+            nicknames.put(String.valueOf(ADMIN_ID), ADMIN_NICKNAME);
+        }
+        return nicknames;
     }
 
-    private ChatRoomResponse buildChatRoomResponse(ChatRoom chatRoom, int userId) {
-        String otherMemberNickname = getOtherMemberNickname(chatRoom.getParticipants(), userId);
-        ChatMessage lastMessage = getLastMessageContent(chatRoom.getId());
+    // 닉네임이 저장되지 않은 상대방을 한 번에 조회하고 채팅방 요약에 저장
+    private Map<Integer, String> loadMissingNicknames(List<ChatRoom> chatRooms, int memberId) {
+        Set<Integer> missing = new HashSet<>();
+        for (ChatRoom chatRoom : chatRooms) {
+            int otherMemberId = getOtherMemberId(chatRoom.getParticipants(), memberId);
+            if (otherMemberId != UNKNOWN_MEMBER_ID && chatRoom.getNickname(otherMemberId) == null) {
+                missing.add(otherMemberId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
 
-        return new ChatRoomResponse(chatRoom, otherMemberNickname, lastMessage);
+        Map<Integer, String> nicknames = new HashMap<>();
+        loadNicknames(List.copyOf(missing)).forEach((id, nickname) -> {
+            nicknames.put(Integer.valueOf(id), nickname);
+            chatRoomRepository.updateNickname(Integer.parseInt(id), nickname);
+        });
+        return nicknames;
     }
 
-    private String getOtherMemberNickname(List<Integer> participants, int memberId) {
+    private int getOtherMemberId(List<Integer> participants, int memberId) {
         return participants.stream()
                 .filter(id -> id != memberId)
                 .findFirst()
-                .map(id -> id == 0 ? "관리자" : memberRepository.findNicknameById(id))
-                .orElse("알 수 없음");
-    }
-
-    private ChatMessage getLastMessageContent(String roomId) {
-        return chatMessageRepository
-                .findTopByRoomIdOrderByCreatedAtDesc(roomId)
-                .orElse(ChatMessage.builder().content("대화 없음").createdAt(LocalDateTime.MIN).build());
+                .orElse(UNKNOWN_MEMBER_ID);
     }
 
 }
-
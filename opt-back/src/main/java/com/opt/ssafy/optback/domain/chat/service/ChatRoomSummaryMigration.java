@@ -0,0 +1,120 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
+import com.opt.ssafy.optback.domain.chat.repository.ChatMessageStore;
+import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요약 도입 이전에 생성된 채팅방의 마지막 메시지, 안 읽은 메시지 수를 채운다.
+ * chat.room.summary.migrate-on-startup=true(기본값)이면 시작 후 별도 스레드에서 한 번 실행되어 시작을 막지 않고,
+ * 여러 서버가 동시에 시작해도 Redis 잠금을 잡은 한 서버만 실행한다.
+ * 메시지는 ChatMessageStore(document, bucket)에서 채팅방마다 최근 메시지를 한 번만 읽어 참여자별 안 읽은 수를 센다.
+ * 요약이 채워진 채팅방은 다시 읽지 않으므로 중단되어도 다음 시작 시 이어서 진행한다.
+ */
+@Slf4j
+@Component
+public class ChatRoomSummaryMigration {
+
+    private static final String LOCK_KEY = "chat:room:summary:migration:lock";
+    private static final Duration LOCK_TTL = Duration.ofHours(1);
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageStore chatMessageStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean migrateOnStartup;
+    private final int batchSize;
+    private final int unreadScanLimit;
+
+    public ChatRoomSummaryMigration(ChatRoomRepository chatRoomRepository, ChatMessageStore chatMessageStore,
+                                    StringRedisTemplate stringRedisTemplate,
+                                    @Value("${chat.room.summary.migrate-on-startup:true}") boolean migrateOnStartup,
+                                    @Value("${chat.room.summary.migration-batch-size:100}") int batchSize,
+                                    @Value("${chat.room.summary.unread-scan-limit:300}") int unreadScanLimit) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatMessageStore = chatMessageStore;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.migrateOnStartup = migrateOnStartup;
+        this.batchSize = batchSize;
+        this.unreadScanLimit = unreadScanLimit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (migrateOnStartup) {
+            Thread.ofVirtual().name("chat-room-summary-migration").start(this::migrate);
+        }
+    }
+
+    // 초기화한 채팅방 수 반환 (다른 서버가 실행 중이면 0)
+    public int migrate() {
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+                return 0;
+            }
+        } catch (DataAccessException e) {
+            log.warn("❌ 채팅방 요약 초기화 잠금 실패, 다음 시작 시 다시 시도합니다.", e);
+            return 0;
+        }
+
+        int initialized = 0;
+        try {
+            List<ChatRoom> chatRooms;
+            while (!(chatRooms = chatRoomRepository.findByLastMessageAtExists(false,
+                    PageRequest.ofSize(batchSize))).isEmpty()) {
+                for (ChatRoom chatRoom : chatRooms) {
+                    initSummary(chatRoom);
+                }
+                initialized += chatRooms.size();
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ 채팅방 요약 초기화 실패 ({}개 완료), 다음 시작 시 이어서 진행합니다.", initialized, e);
+            return initialized;
+        } finally {
+            releaseLock(token);
+        }
+        if (initialized > 0) {
+            log.info("📩 채팅방 요약 초기화 완료: {}개", initialized);
+        }
+        return initialized;
+    }
+
+    // 최근 메시지 unreadScanLimit개 안에서 참여자별로 상대방이 보낸 안 읽은 메시지 수를 셈
+    private void initSummary(ChatRoom chatRoom) {
+        List<ChatMessage> latest = chatMessageStore.findLatest(chatRoom.getId(), unreadScanLimit);
+        Map<String, Integer> unreadCounts = new HashMap<>();
+        for (int participant : chatRoom.getParticipants()) {
+            int unread = (int) latest.stream()
+                    .filter(message -> message.getSenderId() != participant)
+                    .filter(message -> message.getReadByMembers() == null
+                            || !message.getReadByMembers().contains(participant))
+                    .count();
+            unreadCounts.put(String.valueOf(participant), unread);
+        }
+        chatRoomRepository.initSummary(chatRoom.getId(), latest.isEmpty() ? null : latest.get(0), unreadCounts);
+    }
+
+    private void releaseLock(String token) {
+        try {
+            if (token.equals(stringRedisTemplate.opsForValue().get(LOCK_KEY))) {
+                stringRedisTemplate.delete(LOCK_KEY);
+            }
+        } catch (DataAccessException e) {
+            log.warn("❌ 채팅방 요약 초기화 잠금 해제 실패", e);
+        }
+    }
+}
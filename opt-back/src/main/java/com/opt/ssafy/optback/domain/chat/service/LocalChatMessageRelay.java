@@ -0,0 +1,20 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// 단일 서버 구성용: 이 서버의 SimpleBroker로만 전달
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.relay.type", havingValue = "local")
+public class LocalChatMessageRelay implements ChatMessageRelay {
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+
+    @Override
+    public void publish(String destination, Object payload) {
+        simpMessagingTemplate.convertAndSend(destination, payload);
+    }
+}
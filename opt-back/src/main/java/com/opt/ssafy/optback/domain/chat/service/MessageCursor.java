@@ -0,0 +1,32 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.exception.ChatMessageException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.bson.types.ObjectId;
+
+/**
+ * 채팅 메시지 커서 ("createdAt|id"를 URL-safe Base64로 인코딩).
+ * createdAt이 같은 메시지는 id로 순서를 정하므로 같은 시각에 저장된 메시지도 건너뛰거나 중복되지 않는다.
+ */
+record MessageCursor(LocalDateTime createdAt, ObjectId id) {
+
+    static String encode(ChatMessage message) {
+        String value = message.getCreatedAt() + "|" + message.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static MessageCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new MessageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    new ObjectId(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ChatMessageException("❌ 잘못된 커서입니다");
+        }
+    }
+}
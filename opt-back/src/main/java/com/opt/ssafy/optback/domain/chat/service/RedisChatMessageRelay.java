@@ -0,0 +1,146 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Redis pub/sub(chat:relay 채널)으로 서버 간 채팅 메시지를 전파한다.
+ * 발행한 서버는 자기 구독자에게 바로 전달하고, 다른 서버로 보낼 frame은 모아 두었다가 주기마다 batch 단위로 한 번에 발행한다.
+ * 수신한 서버는 자기가 보낸 batch를 건너뛰고, 이 서버에 구독자가 있는 destination만 SimpleBroker로 전달한다.
+ * payload는 발행한 서버에서 한 번만 JSON으로 변환하여 모든 서버가 같은 내용을 전달한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.relay.type", havingValue = "redis", matchIfMissing = true)
+public class RedisChatMessageRelay implements ChatMessageRelay, MessageListener {
+
+    static final String CHANNEL = "chat:relay";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<RelayFrame> outbound = new ConcurrentLinkedQueue<>();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final ChatSubscriptionRegistry chatSubscriptionRegistry;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public RedisChatMessageRelay(StringRedisTemplate stringRedisTemplate,
+                                 RedisMessageListenerContainer redisMessageListenerContainer,
+                                 SimpMessagingTemplate simpMessagingTemplate,
+                                 ChatSubscriptionRegistry chatSubscriptionRegistry, ObjectMapper objectMapper,
+                                 @Value("${chat.relay.batch-size:100}") int batchSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.chatSubscriptionRegistry = chatSubscriptionRegistry;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        log.info("✅ [Relay] 채팅 메시지 전파 채널 구독 (node: {})", nodeId);
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("❌ [Relay] 메시지 직렬화 실패 (destination: {})", destination, e);
+            return;
+        }
+        deliver(destination, json);
+        outbound.add(new RelayFrame(destination, json));
+    }
+
+    // 쌓인 frame을 batch 단위로 발행 (Redis 장애 시 다른 서버로의 전파만 누락되고 이 서버의 구독자는 이미 받은 상태)
+    @Scheduled(fixedDelayString = "${chat.relay.flush-interval-ms:20}")
+    public void flush() {
+        List<RelayFrame> frames;
+        while (!(frames = drain()).isEmpty()) {
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL,
+                        objectMapper.writeValueAsString(new RelayBatch(nodeId, frames)));
+            } catch (DataAccessException | JsonProcessingException e) {
+                log.warn("❌ [Relay] 메시지 전파 실패 ({}건)", frames.size(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        RelayBatch batch;
+        try {
+            batch = objectMapper.readValue(message.getBody(), RelayBatch.class);
+        } catch (IOException e) {
+            log.warn("❌ [Relay] 전파된 메시지를 읽지 못했습니다.", e);
+            return;
+        }
+        if (nodeId.equals(batch.nodeId())) {
+            return;
+        }
+        for (RelayFrame frame : batch.frames()) {
+            if (chatSubscriptionRegistry.hasSubscribers(frame.destination())) {
+                deliver(frame.destination(), frame.payload());
+            }
+        }
+    }
+
+    private List<RelayFrame> drain() {
+        List<RelayFrame> frames = new ArrayList<>();
+        RelayFrame frame;
+        while (frames.size() < batchSize && (frame = outbound.poll()) != null) {
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    // 이미 JSON으로 변환된 payload를 그대로 이 서버의 SimpleBroker로 전달
+    private void deliver(String destination, String json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        try {
+            simpMessagingTemplate.send(destination, MessageBuilder.createMessage(
+                    json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+        } catch (MessagingException e) {
+            log.warn("❌ [Relay] 메시지 전달 실패 (destination: {})", destination, e);
+        }
+    }
+
+    record RelayFrame(String destination, String payload) {
+    }
+
+    record RelayBatch(String nodeId, List<RelayFrame> frames) {
+    }
+}
@@ -0,0 +1,395 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import com.opt.ssafy.optback.domain.challenge.repository.ChallengeMemberRepository;
+import com.opt.ssafy.optback.domain.chat.dto.SystemMessageBroadcast;
+import com.opt.ssafy.optback.domain.chat.dto.SystemMessageBroadcastStatus;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
+import com.opt.ssafy.optback.domain.chat.exception.ChatMessageException;
+import com.opt.ssafy.optback.domain.chat.repository.ChatMessageStore;
+import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
+import com.opt.ssafy.optback.domain.member.repository.MemberRepository;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 다수 회원에게 시스템 메시지를 보내는 백그라운드 작업.
+ * 수신자를 id 순으로 chunk 단위로 나누어 관리자 채팅방을 한 번의 bulk upsert로 준비하고,
+ * 메시지는 insertMany로 저장한 뒤 채팅방 요약을 bulk로 갱신하며 프레임은 relay의 batch 발행으로 전송한다.
+ * 요청과 진행 상황(마지막으로 처리한 수신자 id)은 Redis Hash(chat:system:broadcast:{jobId})에 chunk마다 기록하고,
+ * 작업을 실행하는 서버는 lease(chat:system:broadcast:{jobId}:lease)를 갱신한다.
+ * 서버가 종료되어 lease가 만료된 작업은 다른 서버(또는 재시작한 서버)가 이어받아 마지막 기록 이후부터 다시 진행한다.
+ * 메시지 id는 (작업, 수신자)마다 정해져 있으므로 다시 진행한 chunk의 이미 저장된 메시지는 건너뛴다.
+ */
+@Slf4j
+@Service
+public class SystemMessageBroadcastService {
+
+    private static final String KEY_PREFIX = "chat:system:broadcast:";
+    private static final String LEASE_SUFFIX = ":lease";
+    // 실행 중인 작업 id 목록
+    private static final String RUNNING_KEY = KEY_PREFIX + "running";
+    private static final Duration STATUS_TTL = Duration.ofDays(1);
+    private static final String MEMBERS = "MEMBERS";
+    private static final String CHALLENGE = "CHALLENGE";
+    private static final String ALL = "ALL";
+    private static final String RUNNING = "RUNNING";
+
+    // 자신이 잡은 lease만 연장 (다른 서버가 이어받았으면 0)
+    private static final RedisScript<Long> RENEW_LEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end return 0",
+            Long.class);
+    // 자신이 잡은 lease만 해제
+    private static final RedisScript<Long> RELEASE_LEASE = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageStore chatMessageStore;
+    private final ChatMessageRelay chatMessageRelay;
+    private final MemberRepository memberRepository;
+    private final ChallengeMemberRepository challengeMemberRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int chunkSize;
+    private final Duration leaseTtl;
+
+    public SystemMessageBroadcastService(ChatRoomRepository chatRoomRepository, ChatMessageStore chatMessageStore,
+                                         ChatMessageRelay chatMessageRelay, MemberRepository memberRepository,
+                                         ChallengeMemberRepository challengeMemberRepository,
+                                         StringRedisTemplate stringRedisTemplate,
+                                         @Value("${chat.system.broadcast.chunk-size:1000}") int chunkSize,
+                                         @Value("${chat.system.broadcast.lease-seconds:120}") long leaseSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatMessageStore = chatMessageStore;
+        this.chatMessageRelay = chatMessageRelay;
+        this.memberRepository = memberRepository;
+        this.challengeMemberRepository = challengeMemberRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.chunkSize = chunkSize;
+        this.leaseTtl = Duration.ofSeconds(leaseSeconds);
+    }
+
+    public SystemMessageBroadcastStatus start(SystemMessageBroadcast request) {
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            throw new ChatMessageException("❌ 메시지 내용이 없습니다");
+        }
+        // MEMBERS, CHALLENGE는 수신자를 미리 정렬해 두고, ALL은 회원 테이블을 id 순으로 읽음
+        List<Integer> recipients = resolveRecipients(request);
+        long total = recipients == null ? memberRepository.count() : recipients.size();
+
+        SystemMessageBroadcastStatus status = SystemMessageBroadcastStatus.builder()
+                .jobId(UUID.randomUUID().toString())
+                .status(RUNNING)
+                .total(total)
+                .startedAt(LocalDateTime.now())
+                .build();
+        Map<String, String> fields = new HashMap<>();
+        fields.put("status", RUNNING);
+        fields.put("target", request.getTarget());
+        fields.put("content", request.getContent());
+        fields.put("total", String.valueOf(total));
+        fields.put("sent", "0");
+        fields.put("failed", "0");
+        fields.put("lastId", String.valueOf(SystemMessageService.ADMIN_ID));
+        fields.put("startedAt", status.getStartedAt().toString());
+        if (request.getChallengeId() != null) {
+            fields.put("challengeId", String.valueOf(request.getChallengeId()));
+        }
+        if (MEMBERS.equals(request.getTarget())) {
+            fields.put("receiverIds", recipients.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+
+        // 작업 기록과 lease를 먼저 남겨, 실행 중 서버가 종료되어도 다른 서버가 이어받을 수 있도록 함
+        String jobId = status.getJobId();
+        String token = UUID.randomUUID().toString();
+        stringRedisTemplate.opsForHash().putAll(KEY_PREFIX + jobId, fields);
+        stringRedisTemplate.expire(KEY_PREFIX + jobId, STATUS_TTL);
+        stringRedisTemplate.opsForValue().set(KEY_PREFIX + jobId + LEASE_SUFFIX, token, leaseTtl);
+        stringRedisTemplate.opsForSet().add(RUNNING_KEY, jobId);
+
+        Job job = new Job(jobId, token, request, recipients, status.getStartedAt(), SystemMessageService.ADMIN_ID,
+                0, 0);
+        Thread.ofVirtual().name("system-broadcast-" + jobId).start(() -> run(job));
+        log.info("📩 [System] 시스템 메시지 일괄 전송 시작 (jobId: {}, 대상: {}, {}명)", jobId, request.getTarget(), total);
+        return status;
+    }
+
+    public SystemMessageBroadcastStatus getStatus(String jobId) {
+        Map<Object, Object> status = stringRedisTemplate.opsForHash().entries(KEY_PREFIX + jobId);
+        if (status.isEmpty()) {
+            throw new ChatMessageException("❌ 존재하지 않는 전송 작업입니다");
+        }
+        return SystemMessageBroadcastStatus.builder()
+                .jobId(jobId)
+                .status((String) status.get("status"))
+                .total(Long.parseLong((String) status.get("total")))
+                .sent(Long.parseLong((String) status.get("sent")))
+                .failed(Long.parseLong((String) status.get("failed")))
+                .startedAt(LocalDateTime.parse((String) status.get("startedAt")))
+                .finishedAt(status.containsKey("finishedAt")
+                        ? LocalDateTime.parse((String) status.get("finishedAt")) : null)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        resumeAbandoned();
+    }
+
+    // lease가 만료된(실행하던 서버가 종료된) 작업을 이어받아 마지막 기록 이후부터 진행
+    @Scheduled(fixedDelayString = "${chat.system.broadcast.resume-interval-ms:60000}")
+    public void resumeAbandoned() {
+        Set<String> jobIds;
+        try {
+            jobIds = stringRedisTemplate.opsForSet().members(RUNNING_KEY);
+        } catch (DataAccessException e) {
+            log.warn("❌ [System] 일괄 전송 작업 목록 조회 실패", e);
+            return;
+        }
+        if (jobIds == null) {
+            return;
+        }
+        for (String jobId : jobIds) {
+            try {
+                resume(jobId);
+            } catch (RuntimeException e) {
+                log.error("❌ [System] 시스템 메시지 일괄 전송 재개 실패 (jobId: {})", jobId, e);
+            }
+        }
+    }
+
+    private void resume(String jobId) {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + jobId + LEASE_SUFFIX, token, leaseTtl))) {
+            return; // 다른 서버가 실행 중
+        }
+        Map<Object, Object> fields = stringRedisTemplate.opsForHash().entries(KEY_PREFIX + jobId);
+        if (!RUNNING.equals(fields.get("status"))) {
+            // 기록이 만료되었거나 이미 끝난 작업
+            stringRedisTemplate.opsForSet().remove(RUNNING_KEY, jobId);
+            releaseLease(jobId, token);
+            return;
+        }
+
+        String target = (String) fields.get("target");
+        Integer challengeId = fields.containsKey("challengeId")
+                ? Integer.valueOf((String) fields.get("challengeId")) : null;
+        List<Integer> recipients;
+        if (MEMBERS.equals(target)) {
+            recipients = Arrays.stream(((String) fields.get("receiverIds")).split(","))
+                    .map(Integer::valueOf)
+                    .toList();
+        } else if (CHALLENGE.equals(target)) {
+            recipients = sorted(challengeMemberRepository.findMemberIdsByChallengeId(challengeId));
+        } else {
+            recipients = null;
+        }
+        SystemMessageBroadcast request = SystemMessageBroadcast.builder()
+                .target(target)
+                .challengeId(challengeId)
+                .content((String) fields.get("content"))
+                .build();
+        Job job = new Job(jobId, token, request, recipients, LocalDateTime.parse((String) fields.get("startedAt")),
+                Integer.parseInt((String) fields.get("lastId")), Long.parseLong((String) fields.get("sent")),
+                Long.parseLong((String) fields.get("failed")));
+        Thread.ofVirtual().name("system-broadcast-" + jobId).start(() -> run(job));
+        log.info("📩 [System] 시스템 메시지 일괄 전송 재개 (jobId: {}, 마지막 ID: {})", jobId, job.lastId());
+    }
+
+    private List<Integer> resolveRecipients(SystemMessageBroadcast request) {
+        if (MEMBERS.equals(request.getTarget())) {
+            List<Integer> recipients = request.getReceiverIds() == null ? List.of()
+                    : sorted(request.getReceiverIds());
+            if (recipients.isEmpty()) {
+                throw new ChatMessageException("❌ 수신자가 없습니다");
+            }
+            validateMembers(recipients);
+            return recipients;
+        } else if (CHALLENGE.equals(request.getTarget())) {
+            if (request.getChallengeId() == null) {
+                throw new ChatMessageException("❌ challengeId가 없습니다");
+            }
+            return sorted(challengeMemberRepository.findMemberIdsByChallengeId(request.getChallengeId()));
+        } else if (ALL.equals(request.getTarget())) {
+            return null;
+        }
+        throw new ChatMessageException("❌ 지원하지 않는 전송 대상입니다: " + request.getTarget());
+    }
+
+    private List<Integer> sorted(List<Integer> ids) {
+        return ids.stream().filter(id -> id > SystemMessageService.ADMIN_ID).distinct().sorted().toList();
+    }
+
+    // 존재하지 않는 회원의 채팅방이 만들어지지 않도록 전송 전에 확인
+    private void validateMembers(List<Integer> receiverIds) {
+        List<Integer> missing = new ArrayList<>();
+        for (int from = 0; from < receiverIds.size(); from += chunkSize) {
+            List<Integer> chunk = receiverIds.subList(from, Math.min(from + chunkSize, receiverIds.size()));
+            Set<Integer> existing = new HashSet<>(memberRepository.findExistingIds(chunk));
+            chunk.stream().filter(id -> !existing.contains(id)).forEach(missing::add);
+        }
+        if (!missing.isEmpty()) {
+            throw new ChatMessageException("❌ 존재하지 않는 회원입니다: "
+                    + missing.subList(0, Math.min(10, missing.size())) + (missing.size() > 10 ? " 외 "
+                    + (missing.size() - 10) + "명" : ""));
+        }
+    }
+
+    private void run(Job job) {
+        String jobId = job.jobId();
+        long sent = job.sent();
+        long failed = job.failed();
+        int lastId = job.lastId();
+        try {
+            List<Integer> chunk;
+            while (!(chunk = nextChunk(job.recipients(), lastId)).isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1);
+                try {
+                    sendChunk(job, chunk);
+                    sent += chunk.size();
+                } catch (RuntimeException e) {
+                    // 실패한 chunk는 건너뛰고 다음 chunk 진행
+                    failed += chunk.size();
+                    log.error("❌ [System] 시스템 메시지 일괄 전송 chunk 실패 (jobId: {}, 마지막 ID: {})", jobId, lastId, e);
+                }
+                save(jobId, Map.of("sent", String.valueOf(sent), "failed", String.valueOf(failed),
+                        "lastId", String.valueOf(lastId)));
+                if (!renewLease(jobId, job.token())) {
+                    log.warn("❌ [System] 일괄 전송 lease를 잃어 중단합니다, 다른 서버가 이어서 진행합니다. (jobId: {})", jobId);
+                    return;
+                }
+            }
+            finish(job, "COMPLETED");
+            log.info("📩 [System] 시스템 메시지 일괄 전송 완료 (jobId: {}, 성공: {}명, 실패: {}명)", jobId, sent, failed);
+        } catch (RuntimeException e) {
+            finish(job, "FAILED");
+            log.error("❌ [System] 시스템 메시지 일괄 전송 중단 (jobId: {}, 성공: {}명)", jobId, sent, e);
+        }
+    }
+
+    // lastId 이후 수신자 chunkSize명
+    private List<Integer> nextChunk(List<Integer> recipients, int lastId) {
+        if (recipients == null) {
+            return memberRepository.findIdsAfter(lastId, PageRequest.ofSize(chunkSize));
+        }
+        int index = Collections.binarySearch(recipients, lastId);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        return recipients.subList(from, Math.min(from + chunkSize, recipients.size()));
+    }
+
+    private void sendChunk(Job job, List<Integer> receiverIds) {
+        LocalDateTime now = LocalDateTime.now();
+        chatRoomRepository.insertIfAbsent(receiverIds.stream()
+                .map(receiverId -> {
+                    String roomId = ChatRoom.generateRoomName(SystemMessageService.ADMIN_ID, receiverId);
+                    return ChatRoom.builder()
+                            .id(roomId)
+                            .roomName(roomId)
+                            .participants(List.of(SystemMessageService.ADMIN_ID, receiverId))
+                            .nicknames(Map.of(String.valueOf(SystemMessageService.ADMIN_ID), "관리자"))
+                            .build();
+                })
+                .toList());
+
+        List<ChatMessage> messages = receiverIds.stream()
+                .map(receiverId -> ChatMessage.builder()
+                        .id(messageId(job, receiverId))
+                        .roomId(ChatRoom.generateRoomName(SystemMessageService.ADMIN_ID, receiverId))
+                        .senderId(SystemMessageService.ADMIN_ID)
+                        .receiverId(receiverId)
+                        .content(job.request().getContent())
+                        .messageType(ChatMessage.MessageType.SYSTEM)
+                        .createdAt(now)
+                        .isRead(false)
+                        .build())
+                .toList();
+        // 재개로 다시 진행한 chunk에서 이미 저장된 메시지는 요약과 전송에서 제외
+        List<ChatMessage> inserted = chatMessageStore.insertAll(messages);
+        chatRoomRepository.updateSummaries(inserted);
+        inserted.forEach(message -> chatMessageRelay.publish("/topic/chat-room/" + message.getRoomId(), message));
+    }
+
+    // 작업 시작 시각(4바이트) + 작업 id(4바이트) + 수신자 id(4바이트), 같은 작업의 같은 수신자는 항상 같은 id
+    static String messageId(Job job, int receiverId) {
+        return new ObjectId(ByteBuffer.allocate(12)
+                .putInt((int) job.startedAt().toEpochSecond(ZoneOffset.UTC))
+                .putInt(job.jobId().hashCode())
+                .putInt(receiverId)
+                .array()).toHexString();
+    }
+
+    private void finish(Job job, String status) {
+        save(job.jobId(), Map.of("status", status, "finishedAt", LocalDateTime.now().toString()));
+        try {
+            stringRedisTemplate.opsForSet().remove(RUNNING_KEY, job.jobId());
+        } catch (DataAccessException e) {
+            log.warn("❌ [System] 일괄 전송 작업 목록 갱신 실패 (jobId: {})", job.jobId(), e);
+        }
+        releaseLease(job.jobId(), job.token());
+    }
+
+    // lease를 가진 경우에만 연장, 잃었으면 false
+    private boolean renewLease(String jobId, String token) {
+        String key = KEY_PREFIX + jobId + LEASE_SUFFIX;
+        try {
+            Long renewed = stringRedisTemplate.execute(RENEW_LEASE, List.of(key), token,
+                    String.valueOf(leaseTtl.toMillis()));
+            if (renewed == null || renewed == 0) {
+                return false;
+            }
+        } catch (DataAccessException e) {
+            // 연장하지 못해도 lease가 만료되기 전까지는 계속 진행
+            log.warn("❌ [System] 일괄 전송 lease 연장 실패 (jobId: {})", jobId, e);
+        }
+        return true;
+    }
+
+    private void releaseLease(String jobId, String token) {
+        String key = KEY_PREFIX + jobId + LEASE_SUFFIX;
+        try {
+            stringRedisTemplate.execute(RELEASE_LEASE, List.of(key), token);
+        } catch (DataAccessException e) {
+            log.warn("❌ [System] 일괄 전송 lease 해제 실패 (jobId: {})", jobId, e);
+        }
+    }
+
+    private void save(String jobId, Map<String, String> fields) {
+        String key = KEY_PREFIX + jobId;
+        try {
+            stringRedisTemplate.opsForHash().putAll(key, fields);
+            stringRedisTemplate.expire(key, STATUS_TTL);
+        } catch (DataAccessException e) {
+            log.warn("❌ [System] 일괄 전송 진행 상황 기록 실패 (jobId: {})", jobId, e);
+        }
+    }
+
+    // 실행 중인 작업 (재개한 작업은 마지막 기록의 lastId, sent, failed부터 진행)
+    record Job(String jobId, String token, SystemMessageBroadcast request, List<Integer> recipients,
+               LocalDateTime startedAt, int lastId, long sent, long failed) {
+    }
+}
@@ -5,13 +5,15 @@ import com.opt.ssafy.optback.domain.chat.dto.SystemMessageToRoom;
 import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
 import com.opt.ssafy.optback.domain.chat.entity.ChatRoom;
 import com.opt.ssafy.optback.domain.chat.exception.ChatRoomException;
-import com.opt.ssafy.optback.domain.chat.repository.ChatMessageRepository;
+import com.opt.ssafy.optback.domain.chat.repository.ChatMessageStore;
 import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
+import com.opt.ssafy.optback.domain.chat.service.ChatRoomMembershipCache.Membership;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,21 +22,27 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SystemMessageService {
 
-    private final ChatMessageRepository chatMessageRepository;
-    private final SimpMessagingTemplate simpMessagingTemplate;
+    // 관리자는 ID 0으로 가정
+    static final int ADMIN_ID = 0;
+
+    private final ChatMessageStore chatMessageStore;
+    private final ChatMessageRelay chatMessageRelay;
     private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomMembershipCache chatRoomMembershipCache;
 
     // 시스템 메시지 방 전체 인원에게 전송
     @Transactional
     public void sendSystemMessageToRoom(SystemMessageToRoom request) {
-        Optional<ChatRoom> chatRoomOptional = chatRoomRepository.findById(request.getRoomId());
-        if (chatRoomOptional.isEmpty()) {
-            throw new ChatRoomException("❌ 존재하지 않는 채팅방입니다");
-        }
+        Membership chatRoom = chatRoomMembershipCache.get(request.getRoomId())
+                .orElseThrow(() -> new ChatRoomException("❌ 존재하지 않는 채팅방입니다"));
         ChatMessage systemMessage = createSystemMessage(request.getRoomId(), request.getSenderId(),
                 request.getContent());
-        chatMessageRepository.save(systemMessage);
-        simpMessagingTemplate.convertAndSend("/topic/chat-room/" + request.getRoomId(), systemMessage);
+        chatMessageStore.insertAll(List.of(systemMessage));
+        List<Integer> receiverIds = chatRoom.participants().stream()
+                .filter(id -> id != request.getSenderId())
+                .toList();
+        chatRoomRepository.updateSummary(request.getRoomId(), systemMessage, receiverIds);
+        chatMessageRelay.publish("/topic/chat-room/" + request.getRoomId(), systemMessage);
         log.info("📩 [System] 채팅방({}) 내 전체 유저에게 시스템 메시지 전송: {}", request.getRoomId(), request.getContent());
     }
 
@@ -43,14 +51,17 @@ public class SystemMessageService {
         String roomId = findOrCreateSystemRoom(request.getReceiverId());
 
         ChatMessage systemMessage = createSystemMessage(roomId, request.getSenderId(), request.getContent());
-        chatMessageRepository.save(systemMessage);
+        chatMessageStore.insertAll(List.of(systemMessage));
+        chatRoomRepository.updateSummary(roomId, systemMessage, List.of(request.getReceiverId()));
 
-        simpMessagingTemplate.convertAndSend("/topic/chat-room/" + roomId, systemMessage);
+        chatMessageRelay.publish("/topic/chat-room/" + roomId, systemMessage);
         log.info("📩 [System] 특정 유저({})에게 시스템 메시지 전송: {}", request.getReceiverId(), request.getContent());
     }
 
+    // id는 저장 전에 부여 (브로드캐스트되는 frame과 버킷 저장소의 중복 확인에 사용)
     private ChatMessage createSystemMessage(String roomId, int senderId, String content) {
         return ChatMessage.builder()
+                .id(new ObjectId().toHexString())
                 .roomId(roomId)
                 .senderId(senderId)
                 .content(content)
@@ -61,22 +72,22 @@ public class SystemMessageService {
     }
 
     private String findOrCreateSystemRoom(int receiverId) {
-        // 관리자는 ID 0으로 가정
-        int adminId = 0;
-        String roomId = ChatRoom.generateRoomName(adminId, receiverId);
+        String roomId = ChatRoom.generateRoomName(ADMIN_ID, receiverId);
 
-        Optional<ChatRoom> existingRoom = chatRoomRepository.findById(roomId);
-        if (existingRoom.isPresent()) {
+        if (chatRoomMembershipCache.get(roomId).isPresent()) {
             return roomId;
         }
 
         // 새로운 채팅방 생성
         ChatRoom newRoom = ChatRoom.builder()
                 .id(roomId)
-                .participants(java.util.List.of(adminId, receiverId))
+                .roomName(roomId)
+                .participants(List.of(ADMIN_ID, receiverId))
+                .nicknames(Map.of(String.valueOf(ADMIN_ID), "관리자"))
                 .build();
 
         chatRoomRepository.save(newRoom);
+        chatRoomMembershipCache.evict(roomId);
         log.info("📩 [System] 새로운 시스템 전용 채팅방 생성: {}", roomId);
         return roomId;
     }
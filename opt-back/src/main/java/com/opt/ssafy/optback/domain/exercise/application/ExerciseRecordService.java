@@ -14,12 +14,15 @@ import com.opt.ssafy.optback.domain.exercise.repository.ExerciseRepository;
 import com.opt.ssafy.optback.domain.member.entity.Member;
 import com.opt.ssafy.optback.global.application.S3Service;
 import java.io.IOException;
+import java.sql.Date;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,6 +37,7 @@ public class ExerciseRecordService {
     private final ExerciseRecordRepository exerciseRecordRepository;
     private final UserDetailsServiceImpl userDetailsService;
     private final ExerciseRecordMediaRepository exerciseRecordMediaRepository;
+    private final JdbcTemplate jdbcTemplate;
     @Value("${exercise.media.bucket.name}")
     private String bucketName;
 
@@ -63,6 +67,26 @@ public class ExerciseRecordService {
         }
     }
 
+    // 미디어 없는 운동 기록 여러 건을 JDBC batch로 한 번에 저장 (오프라인 동기화용)
+    public void createExerciseRecords(List<ExerciseRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO exercise_record "
+                        + "(member_id, exercise_id, created_at, `set`, rep, weight, duration, distance) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                records, records.size(), (ps, record) -> {
+                    ps.setInt(1, record.getMember().getId());
+                    ps.setInt(2, record.getExercise().getId());
+                    ps.setDate(3, Date.valueOf(record.getCreatedAt()));
+                    ps.setObject(4, record.getSets(), Types.INTEGER);
+                    ps.setObject(5, record.getRep(), Types.INTEGER);
+                    ps.setObject(6, record.getWeight(), Types.INTEGER);
+                    ps.setObject(7, record.getDuration(), Types.INTEGER);
+                    ps.setObject(8, record.getDistance(), Types.INTEGER);
+                });
+    }
+
     private void saveExerciseMedias(Integer exerciseRecordId, List<MultipartFile> medias) throws IOException {
         ExerciseRecord exerciseRecord = exerciseRecordRepository.findById(exerciseRecordId).orElseThrow();
         for (MultipartFile media : medias) {
@@ -1,6 +1,7 @@
 package com.opt.ssafy.optback.domain.member.application;
 
 import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
+import com.opt.ssafy.optback.domain.chat.repository.ChatRoomRepository;
 import com.opt.ssafy.optback.domain.counsel.exception.TrainerNotFoundException;
 import com.opt.ssafy.optback.domain.member.dto.UpdateInterestRequest;
 import com.opt.ssafy.optback.domain.member.dto.UpdateIntroRequest;
@@ -36,6 +37,7 @@ public class MemberService {
     private final TrainerDetailRepository trainerDetailRepository;
     private final KeywordExtractionService keywordExtractionService;
     private final TrainerSpecialtyRepository trainerSpecialtyRepository;
+    private final ChatRoomRepository chatRoomRepository;
 
     @Value("${profile.image.bucket.name}")
     private String profileImageBucketName;
@@ -59,6 +61,8 @@ public class MemberService {
             throw new DuplicatedNicknameException();
         }
         member.updateNickname(request.getNickname());
+        // 채팅방 목록에 저장된 닉네임도 함께 변경
+        chatRoomRepository.updateNickname(member.getId(), request.getNickname());
     }
 
     public void updateProfileImage(MultipartFile image) {
@@ -1,7 +1,10 @@
 package com.opt.ssafy.optback.domain.member.repository;
 
 import com.opt.ssafy.optback.domain.member.entity.Member;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,4 +20,12 @@ public interface MemberRepository extends JpaRepository<Member, Integer> {
     String findNicknameById(@Param("memberId") int memberId);
 
     Member getMemberById(int id);
+
+    // id 기준 keyset 조회 (lastId 이후 회원 id)
+    @Query("SELECT m.id FROM Member m WHERE m.id > :lastId ORDER BY m.id")
+    List<Integer> findIdsAfter(@Param("lastId") int lastId, Pageable pageable);
+
+    // 주어진 id 중 존재하는 회원 id
+    @Query("SELECT m.id FROM Member m WHERE m.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
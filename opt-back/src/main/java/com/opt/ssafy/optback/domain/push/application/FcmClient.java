@@ -0,0 +1,104 @@
+package com.opt.ssafy.optback.domain.push.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opt.ssafy.optback.domain.push.dto.AndroidNotificationDTO;
+import com.opt.ssafy.optback.domain.push.dto.FcmMessage;
+import com.opt.ssafy.optback.domain.push.dto.FcmMessage.Message;
+import com.opt.ssafy.optback.domain.push.dto.FcmMessage.Notification;
+import com.opt.ssafy.optback.domain.push.dto.FcmSendResult;
+import com.opt.ssafy.optback.domain.push.dto.NotificationDto;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.apache.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * FCM HTTP v1 발송.
+ * 하나의 OkHttpClient를 공유하여 연결을 재사용하고, TLS 연결에서는 HTTP/2로 요청을 다중화한다.
+ * fcm.base-url, fcm.auth.enabled로 로컬 stub 서버를 대상으로 부하 테스트할 수 있다.
+ */
+@Component
+public class FcmClient {
+
+    private static final String SEND_PATH = "/v1/projects/%s/messages:send";
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    private final FcmCredentialManager fcmCredentialManager;
+    private final ObjectMapper objectMapper;
+    private final OkHttpClient client;
+    private final String sendUrl;
+    private final boolean authEnabled;
+
+    public FcmClient(FcmCredentialManager fcmCredentialManager, ObjectMapper objectMapper,
+                     @Value("${fcm.project.id}") String projectId,
+                     @Value("${fcm.base-url:https://fcm.googleapis.com}") String baseUrl,
+                     @Value("${fcm.auth.enabled:true}") boolean authEnabled,
+                     @Value("${push.dispatch.concurrency:64}") int concurrency,
+                     @Value("${fcm.http.timeout-ms:10000}") long timeoutMs) {
+        this.fcmCredentialManager = fcmCredentialManager;
+        this.objectMapper = objectMapper;
+        this.sendUrl = baseUrl + String.format(SEND_PATH, projectId);
+        this.authEnabled = authEnabled;
+
+        // 발송 스레드가 직접 execute()를 호출하므로 Dispatcher 한도는 비동기 호출에만 적용됨
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(concurrency);
+        dispatcher.setMaxRequestsPerHost(concurrency);
+        this.client = new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(new ConnectionPool(concurrency, 5, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .callTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+    }
+
+    public FcmSendResult send(String title, String body, Map<String, String> data, String token)
+            throws IOException {
+        Request.Builder request = new Request.Builder()
+                .addHeader(HttpHeaders.CONTENT_TYPE, "application/json; charset=UTF-8")
+                .post(RequestBody.create(makeMessage(title, body, data, token), JSON_MEDIA_TYPE))
+                .url(sendUrl);
+        if (authEnabled) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + fcmCredentialManager.getAccessToken());
+        }
+        try (Response response = client.newCall(request.build()).execute()) {
+            return new FcmSendResult(response.code(), response.isSuccessful() ? null : response.body().string());
+        }
+    }
+
+    private String makeMessage(String title, String body, Map<String, String> data, String token)
+            throws JsonProcessingException {
+        AndroidNotificationDTO android = new AndroidNotificationDTO();
+        NotificationDto notificationDto = new NotificationDto();
+        notificationDto.setTitle(title);
+        notificationDto.setBody(body);
+        android.setNotification(notificationDto);
+
+        FcmMessage fcmMessage = FcmMessage.builder()
+                .message(Message.builder()
+                        .token(token)
+                        .data(data)
+                        .android(android)
+                        .notification(Notification.builder()
+                                .title(title)
+                                .body(body)
+                                .build())
+                        .build())
+                .build();
+
+        return objectMapper.writeValueAsString(fcmMessage);
+    }
+}
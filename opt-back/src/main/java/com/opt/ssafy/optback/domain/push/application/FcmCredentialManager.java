@@ -0,0 +1,93 @@
+package com.opt.ssafy.optback.domain.push.application;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * FCM 발송용 OAuth access token 관리.
+ * 서비스 계정 파일은 처음 한 번만 읽고, 발급받은 토큰은 만료 직전까지 재사용한다.
+ * 만료가 가까워지면 스케줄러가 미리 갱신하며, 갱신은 한 스레드만 수행하므로 동시에 여러 발송이 와도 토큰 발급 요청은 한 번만 나간다.
+ */
+@Slf4j
+@Component
+public class FcmCredentialManager {
+
+    private static final List<String> SCOPES = List.of("https://www.googleapis.com/auth/cloud-platform");
+
+    private final String secretFile;
+    private final long refreshAheadMillis;
+    private final long minValidityMillis;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile GoogleCredentials credentials;
+    private volatile AccessToken accessToken;
+
+    public FcmCredentialManager(@Value("${fcm.secret.file}") String secretFile,
+                                @Value("${fcm.token.refresh-ahead-seconds:300}") long refreshAheadSeconds,
+                                @Value("${fcm.token.min-validity-seconds:60}") long minValiditySeconds) {
+        this.secretFile = secretFile;
+        this.refreshAheadMillis = refreshAheadSeconds * 1000;
+        this.minValidityMillis = minValiditySeconds * 1000;
+    }
+
+    public String getAccessToken() throws IOException {
+        AccessToken token = accessToken;
+        if (isValidFor(token, minValidityMillis)) {
+            return token.getTokenValue();
+        }
+        // 토큰이 없거나 곧 만료되면 직접 갱신 (다른 스레드가 갱신 중이면 끝날 때까지 기다린 뒤 결과 사용)
+        refreshLock.lock();
+        try {
+            token = accessToken;
+            if (!isValidFor(token, minValidityMillis)) {
+                token = refresh();
+            }
+            return token.getTokenValue();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // 만료 전에 미리 갱신, 이미 갱신 중이면 건너뜀
+    @Scheduled(fixedDelayString = "${fcm.token.check-interval-ms:30000}")
+    public void refreshAhead() {
+        if (accessToken == null || isValidFor(accessToken, refreshAheadMillis) || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!isValidFor(accessToken, refreshAheadMillis)) {
+                refresh();
+            }
+        } catch (IOException e) {
+            log.warn("FCM access token 사전 갱신 실패, 다음 주기에 다시 시도합니다.", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // refreshLock을 잡은 상태에서 호출
+    private AccessToken refresh() throws IOException {
+        if (credentials == null) {
+            try (InputStream inputStream = new ClassPathResource("firebase/" + secretFile).getInputStream()) {
+                credentials = GoogleCredentials.fromStream(inputStream).createScoped(SCOPES);
+            }
+        }
+        AccessToken token = credentials.refreshAccessToken();
+        accessToken = token;
+        log.info("FCM access token 갱신 (만료: {})", token.getExpirationTime());
+        return token;
+    }
+
+    private boolean isValidFor(AccessToken token, long millis) {
+        return token != null && (token.getExpirationTime() == null
+                || token.getExpirationTime().getTime() - System.currentTimeMillis() > millis);
+    }
+}
@@ -0,0 +1,53 @@
+package com.opt.ssafy.optback.domain.push.application;
+
+import com.opt.ssafy.optback.domain.push.entity.FcmToken;
+import com.opt.ssafy.optback.domain.push.repository.FcmTokenRepository;
+import com.opt.ssafy.optback.global.cache.NearCache;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원별 FCM 토큰 near cache.
+ * 푸시를 보낼 때마다 토큰을 조회하지 않도록 회원의 토큰 목록을 서버 메모리에 보관한다.
+ * 토큰이 등록되거나 무효 토큰이 삭제되면 evict하고, Redis 채널(push:token:invalidate)로 다른 서버에도 알린다.
+ */
+@Component
+public class FcmTokenCache {
+
+    static final String INVALIDATION_CHANNEL = "push:token:invalidate";
+
+    private final FcmTokenRepository fcmTokenRepository;
+    private final NearCache<Integer, List<String>> cache;
+
+    public FcmTokenCache(FcmTokenRepository fcmTokenRepository, StringRedisTemplate stringRedisTemplate,
+                         RedisMessageListenerContainer redisMessageListenerContainer,
+                         @Value("${push.token.cache.max-size:50000}") int maxSize,
+                         @Value("${push.token.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.cache = new NearCache<>("FCM 토큰", maxSize, Duration.ofSeconds(ttlSeconds), INVALIDATION_CHANNEL,
+                Integer::valueOf, stringRedisTemplate, redisMessageListenerContainer);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        cache.subscribe();
+    }
+
+    public List<String> get(int memberId) {
+        return cache.get(memberId, id -> fcmTokenRepository.findAllByMemberId(id).stream()
+                .map(FcmToken::getToken)
+                .distinct()
+                .toList());
+    }
+
+    // 이 서버와 다른 서버의 캐시에서 제거
+    public void evict(int memberId) {
+        cache.evict(memberId);
+    }
+}
@@ -0,0 +1,276 @@
+package com.opt.ssafy.optback.domain.push.application;
+
+import com.opt.ssafy.optback.domain.push.dto.FcmSendResult;
+import com.opt.ssafy.optback.domain.push.entity.PushNotification;
+import com.opt.ssafy.optback.domain.push.repository.FcmTokenRepository;
+import com.opt.ssafy.optback.domain.push.repository.PushNotificationRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 푸시 알림 비동기 발송.
+ * 알림은 outbox(push_notifications)에 먼저 저장하고 호출한 스레드는 바로 반환하며,
+ * 트랜잭션 안에서 호출되면 커밋 직전에 저장하여 저장에 실패하면 호출한 작업도 함께 롤백된다.
+ * 스케줄러가 발송 시각이 된 알림을 선점하여 가상 스레드에서 동시 발송 수(push.dispatch.concurrency) 이내로 보낸다.
+ * 더 이상 쓸 수 없는 토큰(UNREGISTERED, 토큰이 잘못되었다는 INVALID_ARGUMENT)으로 보낸 알림은 토큰과 함께 삭제한다.
+ * 429/5xx, 네트워크 오류는 지수 backoff(jitter 포함)로 재시도하고, 재시도 횟수를 넘기거나 재시도할 수 없는 오류는 FAILED로 남긴다.
+ */
+@Slf4j
+@Component
+public class PushDispatcher {
+
+    private final PushNotificationRepository pushNotificationRepository;
+    private final FcmClient fcmClient;
+    private final FcmTokenRepository fcmTokenRepository;
+    private final FcmTokenCache fcmTokenCache;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long lockMillis;
+    private final int saveAttempts;
+
+    // 누적 건수
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong pruned = new AtomicLong();
+    // 직전 기록 이후 발송 건수와 응답 시간
+    private final AtomicLong intervalCount = new AtomicLong();
+    private final AtomicLong intervalLatencyNanos = new AtomicLong();
+    private final AtomicLong intervalMaxLatencyNanos = new AtomicLong();
+    private volatile long intervalStartedAt = System.currentTimeMillis();
+
+    public PushDispatcher(PushNotificationRepository pushNotificationRepository, FcmClient fcmClient,
+                          FcmTokenRepository fcmTokenRepository, FcmTokenCache fcmTokenCache,
+                          @Value("${push.dispatch.concurrency:64}") int concurrency,
+                          @Value("${push.dispatch.batch-size:200}") int batchSize,
+                          @Value("${push.dispatch.max-attempts:5}") int maxAttempts,
+                          @Value("${push.dispatch.base-backoff-ms:1000}") long baseBackoffMillis,
+                          @Value("${push.dispatch.max-backoff-ms:300000}") long maxBackoffMillis,
+                          @Value("${push.dispatch.lock-seconds:60}") long lockSeconds,
+                          @Value("${push.dispatch.save-attempts:3}") int saveAttempts) {
+        this.pushNotificationRepository = pushNotificationRepository;
+        this.fcmClient = fcmClient;
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.fcmTokenCache = fcmTokenCache;
+        this.permits = new Semaphore(concurrency);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.lockMillis = lockSeconds * 1000;
+        this.saveAttempts = saveAttempts;
+    }
+
+    // 기기(토큰)별로 한 건씩 저장
+    // 트랜잭션 안에서 호출되면 커밋 직전에 저장하고, 커밋에 실패하면 저장한 알림을 삭제 (롤백된 작업의 알림은 보내지 않음)
+    public void enqueue(Integer memberId, String title, String body, Map<String, String> data, List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<PushNotification> notifications = tokens.stream()
+                .map(token -> PushNotification.builder()
+                        .id(new ObjectId().toHexString())
+                        .memberId(memberId)
+                        .token(token)
+                        .title(title)
+                        .body(body)
+                        .data(data)
+                        .status(PushNotification.PENDING)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .build())
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            save(notifications);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean saved;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                save(notifications);
+                saved = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (saved && status != STATUS_COMMITTED) {
+                    discard(notifications);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${push.dispatch.poll-interval-ms:200}")
+    public void dispatch() {
+        int available = permits.availablePermits();
+        if (available == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<PushNotification> claimed;
+        try {
+            claimed = pushNotificationRepository.claimDue(Math.min(batchSize, available), now,
+                    now.plusNanos(lockMillis * 1_000_000));
+        } catch (DataAccessException e) {
+            log.warn("푸시 알림 조회 실패", e);
+            return;
+        }
+        for (PushNotification notification : claimed) {
+            permits.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    send(notification);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    public PushDispatchStats getStats() {
+        return new PushDispatchStats(sent.get(), retried.get(), failed.get(), pruned.get(),
+                permits.availablePermits());
+    }
+
+    // 직전 기록 이후의 처리량과 평균/최대 응답 시간 기록
+    @Scheduled(fixedDelayString = "${push.dispatch.report-interval-ms:60000}")
+    public void report() {
+        long now = System.currentTimeMillis();
+        long count = intervalCount.getAndSet(0);
+        long latencyNanos = intervalLatencyNanos.getAndSet(0);
+        long maxLatencyNanos = intervalMaxLatencyNanos.getAndSet(0);
+        long elapsed = Math.max(1, now - intervalStartedAt);
+        intervalStartedAt = now;
+        if (count == 0) {
+            return;
+        }
+        log.info("푸시 발송 - {}건 ({}/s), 평균 {}ms, 최대 {}ms / 누적 성공 {}건, 재시도 {}건, 실패 {}건, 토큰 삭제 {}건",
+                count, count * 1000 / elapsed, latencyNanos / count / 1_000_000, maxLatencyNanos / 1_000_000,
+                sent.get(), retried.get(), failed.get(), pruned.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 발송 중이던 알림은 선점이 만료된 뒤 다시 발송됨
+        executor.shutdownNow();
+    }
+
+    private void send(PushNotification notification) {
+        long startedAt = System.nanoTime();
+        try {
+            FcmSendResult result;
+            try {
+                result = fcmClient.send(notification.getTitle(), notification.getBody(), notification.getData(),
+                        notification.getToken());
+            } catch (IOException e) {
+                recordLatency(startedAt);
+                retryOrFail(notification, e.getMessage());
+                return;
+            }
+            recordLatency(startedAt);
+
+            if (result.isSuccessful()) {
+                pushNotificationRepository.deleteClaimed(notification.getId(), notification.getClaimId());
+                sent.incrementAndGet();
+            } else if (result.isInvalidToken()) {
+                prune(notification);
+            } else if (result.isRetryable()) {
+                retryOrFail(notification, "HTTP " + result.status() + ": " + result.error());
+            } else {
+                fail(notification, notification.getAttempts() + 1, "HTTP " + result.status() + ": " + result.error());
+            }
+        } catch (DataAccessException e) {
+            // 상태를 갱신하지 못한 알림은 선점이 만료된 뒤 다시 발송됨
+            log.warn("푸시 알림 상태 갱신 실패 (id: {})", notification.getId(), e);
+        }
+    }
+
+    // 무효 토큰은 알림과 함께 삭제
+    private void prune(PushNotification notification) {
+        fcmTokenRepository.deleteByToken(notification.getToken());
+        if (notification.getMemberId() != null) {
+            fcmTokenCache.evict(notification.getMemberId());
+        }
+        pushNotificationRepository.deleteClaimed(notification.getId(), notification.getClaimId());
+        pruned.incrementAndGet();
+        log.info("무효 FCM 토큰 삭제 (memberId: {})", notification.getMemberId());
+    }
+
+    private void retryOrFail(PushNotification notification, String error) {
+        int attempts = notification.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            fail(notification, attempts, error);
+            return;
+        }
+        // 지수 backoff에 jitter 적용: [backoff / 2, backoff) 사이에서 무작위로 선택
+        long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempts - 1, 20));
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(Math.max(1, backoff / 2));
+        pushNotificationRepository.reschedule(notification.getId(), notification.getClaimId(), attempts,
+                LocalDateTime.now().plusNanos(delay * 1_000_000), error);
+        retried.incrementAndGet();
+    }
+
+    private void fail(PushNotification notification, int attempts, String error) {
+        pushNotificationRepository.markFailed(notification.getId(), notification.getClaimId(), attempts, error);
+        failed.incrementAndGet();
+        log.warn("푸시 알림 발송 실패 (id: {}, 시도: {}회): {}", notification.getId(), attempts, error);
+    }
+
+    private void recordLatency(long startedAt) {
+        long latency = System.nanoTime() - startedAt;
+        intervalCount.incrementAndGet();
+        intervalLatencyNanos.addAndGet(latency);
+        intervalMaxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    // id를 미리 정해 두므로 다시 시도해도 중복 저장되지 않음, 끝내 실패하면 예외를 호출한 쪽으로 던짐
+    private void save(List<PushNotification> notifications) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                pushNotificationRepository.saveAll(notifications);
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= saveAttempts) {
+                    log.error("푸시 알림 저장 실패 ({}건)", notifications.size(), e);
+                    throw e;
+                }
+                log.warn("푸시 알림 저장 실패, 다시 시도합니다. ({}/{})", attempt, saveAttempts, e);
+            }
+        }
+    }
+
+    // 커밋되지 않은 작업의 알림 삭제 (삭제하지 못하면 발송될 수 있음)
+    private void discard(List<PushNotification> notifications) {
+        try {
+            pushNotificationRepository.deleteAllById(notifications.stream().map(PushNotification::getId).toList());
+        } catch (DataAccessException e) {
+            log.error("롤백된 작업의 푸시 알림 삭제 실패 ({}건)", notifications.size(), e);
+        }
+    }
+
+    public record PushDispatchStats(long sent, long retried, long failed, long pruned, int availablePermits) {
+    }
+}
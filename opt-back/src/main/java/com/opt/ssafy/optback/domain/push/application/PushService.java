@@ -1,30 +1,14 @@
 package com.opt.ssafy.optback.domain.push.application;
 
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.auth.oauth2.GoogleCredentials;
 import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
 import com.opt.ssafy.optback.domain.member.entity.Member;
-import com.opt.ssafy.optback.domain.push.dto.AndroidNotificationDTO;
-import com.opt.ssafy.optback.domain.push.dto.FcmMessage;
-import com.opt.ssafy.optback.domain.push.dto.FcmMessage.Message;
-import com.opt.ssafy.optback.domain.push.dto.FcmMessage.Notification;
-import com.opt.ssafy.optback.domain.push.dto.NotificationDto;
 import com.opt.ssafy.optback.domain.push.entity.FcmToken;
 import com.opt.ssafy.optback.domain.push.repository.FcmTokenRepository;
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
-import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
-import org.apache.http.HttpHeaders;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -32,77 +16,42 @@ import org.springframework.stereotype.Service;
 public class PushService {
     private final UserDetailsServiceImpl userDetailsService;
     private final FcmTokenRepository fcmTokenRepository;
-    private final ObjectMapper objectMapper;
-    private final OkHttpClient client = new OkHttpClient();
-
-    @Value("${fcm.project.id}")
-    private String PROJECT_ID;
-    @Value("${fcm.secret.file}")
-    private String secretFile;
-    private static final String FCM_SEND_URL = "https://fcm.googleapis.com/v1/projects/%s/messages:send";
-    private static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
-
-    public void sendPushMessage(String title, String body, Map<String, String> data, String token)
-            throws IOException {
-        String message = makeMessage(title, body, data, token);
-        RequestBody requestBody = RequestBody.create(message, JSON_MEDIA_TYPE);
-        Request request = new Request.Builder()
-                .addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + getAccessToken())
-                .addHeader(HttpHeaders.CONTENT_TYPE, "application/json; charset=UTF-8")
-                .post(requestBody)
-                .url(String.format(FCM_SEND_URL, PROJECT_ID))
-                .build();
-        Response response = client.newCall(request).execute();
-        if (!response.isSuccessful()) {
-            throw new RuntimeException("FCM push message failed: " + response.body().string());
-        }
-        response.close();
-
-    }
-
-    private String makeMessage(String title, String body, Map<String, String> data, String token)
-            throws JsonProcessingException {
-        AndroidNotificationDTO android = new AndroidNotificationDTO();
-        NotificationDto notificationDto = new NotificationDto();
-        notificationDto.setTitle(title);
-        notificationDto.setBody(body);
-        android.setNotification(notificationDto);
-
-        FcmMessage fcmMessage = FcmMessage.builder()
-                .message(Message.builder()
-                        .token(token)
-                        .data(data)
-                        .android(android)
-                        .notification(Notification.builder()
-                                .title(title)
-                                .body(body)
-                                .build())
-                        .build())
-                .build();
-
-        return objectMapper.writeValueAsString(fcmMessage);
-    }
-
-    private String getAccessToken() throws IOException {
-        ClassPathResource classPathResource = new ClassPathResource("firebase/" + secretFile);
-
-        GoogleCredentials googleCredentials = GoogleCredentials.fromStream(classPathResource.getInputStream())
-                .createScoped(List.of("https://www.googleapis.com/auth/cloud-platform"));
-        googleCredentials.refreshIfExpired();
-        return googleCredentials.getAccessToken().getTokenValue();
+    private final PushDispatcher pushDispatcher;
+    private final FcmTokenCache fcmTokenCache;
+
+    // 회원의 모든 기기로 발송, 기기별로 outbox에 저장만 하고 반환 (실제 발송은 PushDispatcher가 병렬로 처리)
+    public int sendPushMessage(int memberId, String title, String body, Map<String, String> data) {
+        List<String> tokens = fcmTokenCache.get(memberId);
+        pushDispatcher.enqueue(memberId, title, body, data, tokens);
+        return tokens.size();
     }
 
+    // 한 기기의 토큰은 마지막으로 등록한 회원에게만 속함 (같은 기기에서 계정을 바꾸면 이전 회원에게 푸시가 가지 않도록)
     public void save(String token) {
         Member member = userDetailsService.getMemberByContextHolder();
 
-        // 기존 토큰 존재 여부 확인
-        if (!fcmTokenRepository.existsByMemberIdAndToken(member.getId(), token)) {
-            FcmToken fcmToken = FcmToken.builder()
-                    .memberId(member.getId())
-                    .token(token)
-                    .build();
-            fcmTokenRepository.save(fcmToken);
+        List<Integer> owners = fcmTokenRepository.findAllByToken(token).stream()
+                .map(FcmToken::getMemberId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (owners.equals(List.of(member.getId()))) {
+            return;
         }
+        fcmTokenRepository.deleteByToken(token);
+        FcmToken fcmToken = FcmToken.builder()
+                .memberId(member.getId())
+                .token(token)
+                .build();
+        fcmTokenRepository.save(fcmToken);
+        owners.forEach(fcmTokenCache::evict);
+        fcmTokenCache.evict(member.getId());
+    }
+
+    // 로그아웃한 회원의 기기로 더 이상 푸시가 가지 않도록 토큰 삭제
+    public void deleteTokens(int memberId) {
+        fcmTokenRepository.deleteAllByMemberId(memberId);
+        fcmTokenCache.evict(memberId);
     }
 
 }
@@ -0,0 +1,74 @@
+package com.opt.ssafy.optback.domain.push.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// FCM 발송 응답 (error는 실패 시 응답 본문)
+public record FcmSendResult(int status, String error) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String FCM_ERROR_TYPE = "type.googleapis.com/google.firebase.fcm.v1.FcmError";
+    private static final String BAD_REQUEST_TYPE = "type.googleapis.com/google.rpc.BadRequest";
+    private static final String TOKEN_FIELD = "message.token";
+
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+    // 요청 한도 초과, 서버 오류는 잠시 후 다시 보내면 성공할 수 있음
+    public boolean isRetryable() {
+        return status == 429 || status >= 500;
+    }
+
+    // 삭제된 앱/만료된 토큰(UNREGISTERED), 또는 토큰 값이 잘못된 요청(INVALID_ARGUMENT 중 message.token을 가리키는 오류)
+    // 다시 보내도 실패하므로 토큰 삭제, 그 외 INVALID_ARGUMENT(본문, data 등 메시지 오류)는 토큰 문제가 아니므로 유지
+    public boolean isInvalidToken() {
+        JsonNode body = errorBody();
+        if (body == null) {
+            return false;
+        }
+        String errorCode = errorCode(body);
+        if ("UNREGISTERED".equals(errorCode)) {
+            return true;
+        }
+        return status == 400 && "INVALID_ARGUMENT".equals(errorCode) && pointsAtToken(body);
+    }
+
+    private JsonNode errorBody() {
+        if (error == null || error.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode body = OBJECT_MAPPER.readTree(error).path("error");
+            return body.isObject() ? body : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    // FcmError의 errorCode, 없으면 공통 오류 status
+    private String errorCode(JsonNode body) {
+        for (JsonNode detail : body.path("details")) {
+            if (FCM_ERROR_TYPE.equals(detail.path("@type").asText()) && detail.hasNonNull("errorCode")) {
+                return detail.path("errorCode").asText();
+            }
+        }
+        return body.path("status").asText(null);
+    }
+
+    private boolean pointsAtToken(JsonNode body) {
+        for (JsonNode detail : body.path("details")) {
+            if (!BAD_REQUEST_TYPE.equals(detail.path("@type").asText())) {
+                continue;
+            }
+            for (JsonNode violation : detail.path("fieldViolations")) {
+                if (TOKEN_FIELD.equals(violation.path("field").asText())) {
+                    return true;
+                }
+            }
+        }
+        // 상세 정보가 없는 응답은 메시지로 판단
+        return body.path("message").asText("").contains("registration token");
+    }
+}
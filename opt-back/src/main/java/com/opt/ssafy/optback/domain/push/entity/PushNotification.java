@@ -0,0 +1,52 @@
+package com.opt.ssafy.optback.domain.push.entity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 발송 대기 중인 푸시 알림 (outbox).
+ * PENDING → SENDING(선점) → 성공 시 삭제, 재시도 가능한 실패는 nextAttemptAt 이후 PENDING으로 다시 발송, 그 외는 FAILED로 보관.
+ * FAILED 알림은 failedAt 기준 7일 뒤 TTL 인덱스로 삭제된다 (failedAt이 없는 알림은 삭제되지 않음).
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "push_notifications")
+// 발송할 알림 조회 (상태별 발송 예정 시각 / 선점 만료 시각 순)
+@CompoundIndexes({
+        @CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1}"),
+        @CompoundIndex(name = "status_locked_until_idx", def = "{'status': 1, 'lockedUntil': 1}")
+})
+public class PushNotification {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String id;
+    private Integer memberId;
+    private String token;
+    private String title;
+    private String body;
+    private Map<String, String> data;
+    private String status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime lockedUntil; // SENDING 선점 만료 시각 (서버가 중단되면 이후 다른 서버가 다시 발송)
+    private String claimId;
+    private String lastError;
+    @Indexed(name = "failed_at_ttl_idx", expireAfter = "7d")
+    private LocalDateTime failedAt; // FAILED로 바뀐 시각
+    private LocalDateTime createdAt;
+}
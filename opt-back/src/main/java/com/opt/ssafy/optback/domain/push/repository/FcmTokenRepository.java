@@ -1,15 +1,19 @@
 package com.opt.ssafy.optback.domain.push.repository;
 
 import com.opt.ssafy.optback.domain.push.entity.FcmToken;
-import java.util.Optional;
+import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FcmTokenRepository extends MongoRepository<FcmToken, String> {
-    Optional<FcmToken> findByMemberId(Long memberId);
+    List<FcmToken> findAllByMemberId(Integer memberId);
 
-    void deleteAllByMemberId(Long memberId);
+    List<FcmToken> findAllByToken(String token);
+
+    void deleteAllByMemberId(Integer memberId);
 
     boolean existsByMemberIdAndToken(Integer id, String token);
+
+    long deleteByToken(String token);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.opt.ssafy.optback.domain.push.repository;
+
+import com.opt.ssafy.optback.domain.push.entity.PushNotification;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface PushNotificationRepository extends
+        MongoRepository<PushNotification, String>, PushNotificationRepositoryCustom {
+}
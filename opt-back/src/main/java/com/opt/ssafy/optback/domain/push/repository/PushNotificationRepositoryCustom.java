@@ -0,0 +1,21 @@
+package com.opt.ssafy.optback.domain.push.repository;
+
+import com.opt.ssafy.optback.domain.push.entity.PushNotification;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PushNotificationRepositoryCustom {
+
+    // 발송 시각이 된 알림(선점이 만료된 알림 포함)을 최대 limit건 선점하여 반환
+    List<PushNotification> claimDue(int limit, LocalDateTime now, LocalDateTime lockedUntil);
+
+    // 아래 갱신은 claimId로 선점한 알림에만 적용 (선점이 만료되어 다른 서버가 다시 선점한 알림은 건드리지 않음)
+
+    // 재시도 예약 (PENDING으로 되돌림)
+    void reschedule(String id, String claimId, int attempts, LocalDateTime nextAttemptAt, String error);
+
+    void markFailed(String id, String claimId, int attempts, String error);
+
+    // 발송을 마친 알림 삭제
+    void deleteClaimed(String id, String claimId);
+}
@@ -0,0 +1,71 @@
+package com.opt.ssafy.optback.domain.push.repository;
+
+import com.opt.ssafy.optback.domain.push.entity.PushNotification;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class PushNotificationRepositoryCustomImpl implements PushNotificationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    // 후보 조회 → 조건부 updateMulti로 선점 → claimId로 선점한 알림만 조회 (여러 서버가 동시에 실행해도 한 서버만 선점)
+    @Override
+    public List<PushNotification> claimDue(int limit, LocalDateTime now, LocalDateTime lockedUntil) {
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("status").is(PushNotification.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(PushNotification.SENDING).and("lockedUntil").lte(now));
+        Query candidates = Query.query(due).limit(limit);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, PushNotification.class).stream()
+                .map(PushNotification::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String claimId = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), due)),
+                new Update()
+                        .set("status", PushNotification.SENDING)
+                        .set("lockedUntil", lockedUntil)
+                        .set("claimId", claimId),
+                PushNotification.class);
+        return mongoTemplate.find(Query.query(Criteria.where("claimId").is(claimId)), PushNotification.class);
+    }
+
+    @Override
+    public void reschedule(String id, String claimId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        mongoTemplate.updateFirst(claimed(id, claimId), new Update()
+                .set("status", PushNotification.PENDING)
+                .set("attempts", attempts)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error)
+                .unset("claimId"), PushNotification.class);
+    }
+
+    @Override
+    public void markFailed(String id, String claimId, int attempts, String error) {
+        mongoTemplate.updateFirst(claimed(id, claimId), new Update()
+                .set("status", PushNotification.FAILED)
+                .set("attempts", attempts)
+                .set("lastError", error)
+                .set("failedAt", LocalDateTime.now())
+                .unset("claimId"), PushNotification.class);
+    }
+
+    @Override
+    public void deleteClaimed(String id, String claimId) {
+        mongoTemplate.remove(claimed(id, claimId), PushNotification.class);
+    }
+
+    private Query claimed(String id, String claimId) {
+        return Query.query(Criteria.where("_id").is(id).and("claimId").is(claimId));
+    }
+}
@@ -0,0 +1,25 @@
+package com.opt.ssafy.optback.domain.sync.api;
+
+import com.opt.ssafy.optback.domain.sync.application.RecordSyncService;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncRequest;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/sync")
+public class RecordSyncController {
+
+    private final RecordSyncService recordSyncService;
+
+    // POST /sync/records - 오프라인 중 쌓인 챌린지/운동 기록 일괄 반영
+    @PostMapping("/records")
+    public ResponseEntity<RecordSyncResponse> syncRecords(@RequestBody RecordSyncRequest request) {
+        return ResponseEntity.ok(recordSyncService.sync(request));
+    }
+}
@@ -0,0 +1,22 @@
+package com.opt.ssafy.optback.domain.sync.api;
+
+import com.opt.ssafy.optback.domain.sync.exception.RecordSyncException;
+import com.opt.ssafy.optback.global.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class RecordSyncExceptionHandler {
+
+    @ExceptionHandler(RecordSyncException.class)
+    public ResponseEntity<ErrorResponse> handleRecordSyncException(RecordSyncException ex) {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorResponse);
+    }
+
+}
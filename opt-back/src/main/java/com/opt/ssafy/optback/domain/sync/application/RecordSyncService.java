@@ -0,0 +1,303 @@
+package com.opt.ssafy.optback.domain.sync.application;
+
+import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
+import com.opt.ssafy.optback.domain.badge.dto.ActivityType;
+import com.opt.ssafy.optback.domain.badge.event.ActivityEvent;
+import com.opt.ssafy.optback.domain.challenge.application.ChallengeService;
+import com.opt.ssafy.optback.domain.challenge.exception.ChallengeNotFoundException;
+import com.opt.ssafy.optback.domain.exercise.application.ExerciseRecordService;
+import com.opt.ssafy.optback.domain.exercise.entity.Exercise;
+import com.opt.ssafy.optback.domain.exercise.entity.ExerciseRecord;
+import com.opt.ssafy.optback.domain.exercise.repository.ExerciseRepository;
+import com.opt.ssafy.optback.domain.member.entity.Member;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncItem;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncRequest;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncResponse;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncResult;
+import com.opt.ssafy.optback.domain.sync.dto.RecordSyncStatus;
+import com.opt.ssafy.optback.domain.sync.exception.RecordSyncException;
+import com.opt.ssafy.optback.domain.sync.repository.RecordSyncKeyRepository;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 오프라인 상태에서 쌓인 챌린지/운동 기록을 한 번의 요청으로 반영한다.
+ * 모든 항목을 먼저 검증한 뒤, 운동 기록은 JDBC batch 한 번으로, 챌린지 기록은 기록 버퍼를 통해 반영하고 항목별 결과를 반환한다.
+ * 같은 idempotencyKey로 다시 보낸 항목은 DUPLICATE로 건너뛴다.
+ * idempotencyKey는 record_sync_key 테이블(PK: 회원 + 키)에 보관하며, 운동 기록은 키 선점과 같은 트랜잭션으로 저장한다.
+ * 키 보관 기간(sync.record.idempotency-retention-days)보다 오래된 기록은 받지 않으므로 보관 기간이 지나도 중복 반영되지 않는다.
+ */
+@Slf4j
+@Service
+public class RecordSyncService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int CLEANUP_CHUNK_SIZE = 10000;
+    private static final String CHALLENGE = "CHALLENGE";
+    private static final String EXERCISE = "EXERCISE";
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final ChallengeService challengeService;
+    private final ExerciseRecordService exerciseRecordService;
+    private final ExerciseRepository exerciseRepository;
+    private final RecordSyncKeyRepository recordSyncKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneId zoneId;
+    private final int maxItems;
+    private final int retentionDays;
+
+    public RecordSyncService(UserDetailsServiceImpl userDetailsService, ChallengeService challengeService,
+                             ExerciseRecordService exerciseRecordService, ExerciseRepository exerciseRepository,
+                             RecordSyncKeyRepository recordSyncKeyRepository, TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher, ZoneId zoneId,
+                             @Value("${sync.record.max-items:200}") int maxItems,
+                             @Value("${sync.record.idempotency-retention-days:30}") int retentionDays) {
+        this.userDetailsService = userDetailsService;
+        this.challengeService = challengeService;
+        this.exerciseRecordService = exerciseRecordService;
+        this.exerciseRepository = exerciseRepository;
+        this.recordSyncKeyRepository = recordSyncKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.zoneId = zoneId;
+        this.maxItems = maxItems;
+        this.retentionDays = retentionDays;
+    }
+
+    public RecordSyncResponse sync(RecordSyncRequest request) {
+        List<RecordSyncItem> items = request.getItems() == null ? List.of() : request.getItems();
+        if (items.size() > maxItems) {
+            throw new RecordSyncException("한 번에 동기화할 수 있는 기록은 최대 " + maxItems + "건입니다.");
+        }
+
+        Member member = userDetailsService.getMemberByContextHolder();
+        RecordSyncResult[] results = new RecordSyncResult[items.size()];
+
+        // 1. 검증 (운동 정보는 한 번의 IN 쿼리로 조회)
+        Map<Integer, Exercise> exercises = exerciseRepository.findAllById(items.stream()
+                        .map(RecordSyncItem::getExerciseId).filter(Objects::nonNull).distinct().toList()).stream()
+                .collect(Collectors.toMap(Exercise::getId, Function.identity()));
+        Set<String> seenKeys = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            RecordSyncItem item = items.get(i);
+            String error = validate(item, exercises);
+            if (error != null) {
+                results[i] = result(i, item, RecordSyncStatus.INVALID, error);
+            } else if (!seenKeys.add(item.getIdempotencyKey())) {
+                results[i] = result(i, item, RecordSyncStatus.DUPLICATE, "이미 처리된 기록입니다.");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // 2. 운동 기록: 키 선점과 batch insert를 한 트랜잭션으로 처리 (저장에 실패하면 선점도 취소됨)
+        List<Integer> exerciseIndexes = accepted.stream()
+                .filter(i -> EXERCISE.equals(items.get(i).getType())).toList();
+        if (!exerciseIndexes.isEmpty()) {
+            try {
+                List<Integer> created = transactionTemplate.execute(status -> {
+                    List<Integer> claimed = claim(member, items, exerciseIndexes, results);
+                    exerciseRecordService.createExerciseRecords(claimed.stream()
+                            .map(i -> toExerciseRecord(member, items.get(i), exercises))
+                            .toList());
+                    return claimed;
+                });
+                created.forEach(i -> results[i] = result(i, items.get(i), RecordSyncStatus.CREATED, null));
+            } catch (RuntimeException e) {
+                log.error("운동 기록 동기화 실패 (memberId: {}, {}건)", member.getId(), exerciseIndexes.size(), e);
+                exerciseIndexes.forEach(i -> results[i] = result(i, items.get(i), RecordSyncStatus.FAILED,
+                        "운동 기록 저장에 실패했습니다."));
+            }
+        }
+
+        // 3. 챌린지 기록: 키를 선점한 뒤 기록 시각 순서대로 버퍼에 반영 (DB 반영은 버퍼 flush 시 일괄 처리)
+        List<Integer> challengeIndexes = accepted.stream()
+                .filter(i -> CHALLENGE.equals(items.get(i).getType()))
+                .sorted(Comparator.comparing(i -> items.get(i).getRecordedAt()))
+                .toList();
+        String claimId = UUID.randomUUID().toString();
+        List<Integer> claimedChallenges;
+        try {
+            claimedChallenges = claim(member, items, challengeIndexes, results, claimId);
+        } catch (DataAccessException e) {
+            // 중복 여부를 확인할 수 없으면 반영하지 않음 (클라이언트가 다시 보내면 처리됨)
+            log.error("챌린지 기록 동기화 키 선점 실패 (memberId: {}, {}건)", member.getId(), challengeIndexes.size(), e);
+            challengeIndexes.forEach(i -> results[i] = result(i, items.get(i), RecordSyncStatus.FAILED,
+                    "챌린지 기록 저장에 실패했습니다."));
+            claimedChallenges = List.of();
+        }
+        List<String> released = new ArrayList<>();
+        for (int i : claimedChallenges) {
+            RecordSyncItem item = items.get(i);
+            try {
+                challengeService.recordChallenge(member.getId(), item.getChallengeId(), item.getCount(),
+                        item.getDuration(), item.getDistance(), recordedDate(item));
+                results[i] = result(i, item, RecordSyncStatus.CREATED, null);
+            } catch (IllegalStateException | ChallengeNotFoundException e) {
+                released.add(item.getIdempotencyKey());
+                results[i] = result(i, item, RecordSyncStatus.INVALID, e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("챌린지 기록 동기화 실패 (memberId: {}, key: {})", member.getId(), item.getIdempotencyKey(), e);
+                released.add(item.getIdempotencyKey());
+                results[i] = result(i, item, RecordSyncStatus.FAILED, "챌린지 기록 저장에 실패했습니다.");
+            }
+        }
+        release(member, released, claimId);
+
+        publishActivityEvents(member, results, items);
+
+        List<RecordSyncResult> resultList = Arrays.asList(results);
+        return RecordSyncResponse.builder()
+                .created(count(resultList, RecordSyncStatus.CREATED))
+                .duplicated(count(resultList, RecordSyncStatus.DUPLICATE))
+                .rejected(count(resultList, RecordSyncStatus.INVALID) + count(resultList, RecordSyncStatus.FAILED))
+                .results(resultList)
+                .build();
+    }
+
+    private String validate(RecordSyncItem item, Map<Integer, Exercise> exercises) {
+        if (item.getIdempotencyKey() == null || item.getIdempotencyKey().isBlank()) {
+            return "idempotencyKey가 없습니다.";
+        }
+        if (item.getIdempotencyKey().length() > MAX_KEY_LENGTH) {
+            return "idempotencyKey는 최대 " + MAX_KEY_LENGTH + "자입니다.";
+        }
+        if (item.getRecordedAt() == null) {
+            return "recordedAt이 없습니다.";
+        }
+        LocalDate today = LocalDate.now(zoneId);
+        if (recordedDate(item).isAfter(today)) {
+            return "미래 날짜의 기록은 저장할 수 없습니다.";
+        }
+        if (recordedDate(item).isBefore(today.minusDays(retentionDays))) {
+            return retentionDays + "일이 지난 기록은 동기화할 수 없습니다.";
+        }
+        if (CHALLENGE.equals(item.getType())) {
+            if (item.getChallengeId() == null) {
+                return "challengeId가 없습니다.";
+            }
+            if (item.getCount() == null && item.getDuration() == null && item.getDistance() == null) {
+                return "count, duration, distance가 모두 null이면 안됩니다.";
+            }
+            return null;
+        }
+        if (EXERCISE.equals(item.getType())) {
+            if (item.getExerciseId() == null || !exercises.containsKey(item.getExerciseId())) {
+                return "운동을 찾지 못함";
+            }
+            return null;
+        }
+        return "지원하지 않는 기록 유형입니다: " + item.getType();
+    }
+
+    private List<Integer> claim(Member member, List<RecordSyncItem> items, List<Integer> indexes,
+                                RecordSyncResult[] results) {
+        return claim(member, items, indexes, results, UUID.randomUUID().toString());
+    }
+
+    // idempotencyKey 선점, 이미 처리된 키의 항목은 DUPLICATE로 표시하고 선점한 항목의 index만 반환
+    private List<Integer> claim(Member member, List<RecordSyncItem> items, List<Integer> indexes,
+                                RecordSyncResult[] results, String claimId) {
+        Set<String> claimed = recordSyncKeyRepository.claim(member.getId(),
+                indexes.stream().map(i -> items.get(i).getIdempotencyKey()).toList(), claimId);
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : indexes) {
+            if (claimed.contains(items.get(i).getIdempotencyKey())) {
+                accepted.add(i);
+            } else {
+                results[i] = result(i, items.get(i), RecordSyncStatus.DUPLICATE, "이미 처리된 기록입니다.");
+            }
+        }
+        return accepted;
+    }
+
+    // 반영에 실패한 항목은 다시 보낼 수 있도록 선점 해제
+    private void release(Member member, List<String> keys, String claimId) {
+        try {
+            recordSyncKeyRepository.release(member.getId(), keys, claimId);
+        } catch (DataAccessException e) {
+            log.warn("기록 동기화 키 해제 실패 (memberId: {}, {}건)", member.getId(), keys.size(), e);
+        }
+    }
+
+    // 보관 기간이 지난 idempotencyKey 정리
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgeExpiredKeys() {
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = recordSyncKeyRepository.deleteOlderThanDays(retentionDays + 1, CLEANUP_CHUNK_SIZE);
+            deleted += chunk;
+        } while (chunk == CLEANUP_CHUNK_SIZE);
+        if (deleted > 0) {
+            log.info("기록 동기화 키 {}건 정리 (보관 기간: {}일)", deleted, retentionDays);
+        }
+    }
+
+    // 기기 시각을 서비스 시간대로 변환한 기록 날짜
+    private LocalDate recordedDate(RecordSyncItem item) {
+        return item.getRecordedAt().atZoneSameInstant(zoneId).toLocalDate();
+    }
+
+    private ExerciseRecord toExerciseRecord(Member member, RecordSyncItem item, Map<Integer, Exercise> exercises) {
+        return ExerciseRecord.builder()
+                .member(member)
+                .exercise(exercises.get(item.getExerciseId()))
+                .createdAt(recordedDate(item))
+                .sets(item.getSet())
+                .rep(item.getRep())
+                .weight(item.getWeight())
+                .duration(item.getDuration())
+                .distance(item.getDistance())
+                .build();
+    }
+
+    // 단건 기록 API와 같은 뱃지 이벤트를 동기화 요청당 한 번씩 발행
+    private void publishActivityEvents(Member member, RecordSyncResult[] results, List<RecordSyncItem> items) {
+        boolean exerciseCreated = false;
+        boolean challengeCreated = false;
+        for (RecordSyncResult result : results) {
+            if (result.getStatus() != RecordSyncStatus.CREATED) {
+                continue;
+            }
+            String type = items.get(result.getIndex()).getType();
+            exerciseCreated |= EXERCISE.equals(type);
+            challengeCreated |= CHALLENGE.equals(type);
+        }
+        if (exerciseCreated) {
+            eventPublisher.publishEvent(new ActivityEvent(member, ActivityType.ATTENDANCE));
+            eventPublisher.publishEvent(new ActivityEvent(member, ActivityType.EXERCISE));
+        }
+        if (challengeCreated) {
+            eventPublisher.publishEvent(new ActivityEvent(member, ActivityType.CHALLENGE));
+        }
+    }
+
+    private RecordSyncResult result(int index, RecordSyncItem item, RecordSyncStatus status, String message) {
+        return new RecordSyncResult(index, item.getIdempotencyKey(), status, message);
+    }
+
+    private int count(List<RecordSyncResult> results, RecordSyncStatus status) {
+        return (int) results.stream().filter(result -> result.getStatus() == status).count();
+    }
+}
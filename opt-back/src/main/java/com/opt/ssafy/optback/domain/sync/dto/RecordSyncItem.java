@@ -0,0 +1,29 @@
+package com.opt.ssafy.optback.domain.sync.dto;
+
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 오프라인 상태에서 쌓인 기록 한 건 (type: CHALLENGE 또는 EXERCISE)
+// recordedAt은 기기 시간대를 포함한 ISO-8601 (예: 2025-02-14T21:30:00+09:00), 기록 날짜는 서비스 시간대 기준으로 계산
+@Getter
+@NoArgsConstructor
+public class RecordSyncItem {
+    private String idempotencyKey;
+    private String type;
+    private OffsetDateTime recordedAt;
+
+    // CHALLENGE
+    private Integer challengeId;
+    private Integer count;
+
+    // EXERCISE
+    private Integer exerciseId;
+    private Integer set;
+    private Integer rep;
+    private Integer weight;
+
+    // 공통 (CHALLENGE, EXERCISE)
+    private Integer duration;
+    private Integer distance;
+}
@@ -0,0 +1,11 @@
+package com.opt.ssafy.optback.domain.sync.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class RecordSyncRequest {
+    private List<RecordSyncItem> items;
+}
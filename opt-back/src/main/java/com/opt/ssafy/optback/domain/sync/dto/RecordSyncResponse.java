@@ -0,0 +1,14 @@
+package com.opt.ssafy.optback.domain.sync.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class RecordSyncResponse {
+    private int created;
+    private int duplicated;
+    private int rejected;
+    private List<RecordSyncResult> results;
+}
@@ -0,0 +1,13 @@
+package com.opt.ssafy.optback.domain.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RecordSyncResult {
+    private int index;
+    private String idempotencyKey;
+    private RecordSyncStatus status;
+    private String message;
+}
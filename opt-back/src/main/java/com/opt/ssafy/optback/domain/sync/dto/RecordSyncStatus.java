@@ -0,0 +1,8 @@
+package com.opt.ssafy.optback.domain.sync.dto;
+
+public enum RecordSyncStatus {
+    CREATED,   // 저장 완료
+    DUPLICATE, // 이미 처리된 idempotencyKey
+    INVALID,   // 요청 값 오류
+    FAILED     // 저장 중 오류 (재시도 가능)
+}
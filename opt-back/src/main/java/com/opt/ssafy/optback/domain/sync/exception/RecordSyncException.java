@@ -0,0 +1,7 @@
+package com.opt.ssafy.optback.domain.sync.exception;
+
+public class RecordSyncException extends RuntimeException {
+    public RecordSyncException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.opt.ssafy.optback.domain.sync.repository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 기록 동기화 idempotencyKey 저장소 (record_sync_key, PK: member_id + idempotency_key).
+ * 요청마다 claimId를 발급해 키를 한 번에 저장하고, 같은 claimId로 저장된 키만 이번 요청이 선점한 것으로 본다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecordSyncKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 아직 없는 키만 저장하고, 이번 요청(claimId)이 선점한 키 반환
+    public Set<String> claim(int memberId, List<String> keys, String claimId) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        // 이미 있는 키는 그대로 둠 (다른 요청의 claim_id를 덮어쓰지 않음)
+        jdbcTemplate.batchUpdate("INSERT INTO record_sync_key (member_id, idempotency_key, claim_id) VALUES (?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE member_id = member_id",
+                keys, keys.size(), (ps, key) -> {
+                    ps.setInt(1, memberId);
+                    ps.setString(2, key);
+                    ps.setString(3, claimId);
+                });
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT idempotency_key FROM record_sync_key WHERE member_id = ? AND claim_id = ?",
+                String.class, memberId, claimId));
+    }
+
+    // 반영에 실패한 키 선점 해제 (이번 요청이 선점한 키만)
+    public int release(int memberId, List<String> keys, String claimId) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Object[] args = new Object[keys.size() + 2];
+        args[0] = memberId;
+        args[1] = claimId;
+        for (int i = 0; i < keys.size(); i++) {
+            args[i + 2] = keys.get(i);
+        }
+        return jdbcTemplate.update("DELETE FROM record_sync_key WHERE member_id = ? AND claim_id = ? "
+                + "AND idempotency_key IN (" + String.join(",", Collections.nCopies(keys.size(), "?")) + ")", args);
+    }
+
+    // 보관 기간이 지난 키를 limit건 삭제
+    public int deleteOlderThanDays(int days, int limit) {
+        return jdbcTemplate.update("DELETE FROM record_sync_key WHERE created_at < NOW(6) - INTERVAL ? DAY LIMIT ?",
+                days, limit);
+    }
+}
@@ -0,0 +1,123 @@
+package com.opt.ssafy.optback.global.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 서버 메모리 near cache (최대 개수를 넘으면 가장 오래 사용하지 않은 항목부터 제거, 항목은 TTL까지만 사용).
+ * 조회 도중 같은 key가 evict되면 읽어 온 값은 캐시에 넣지 않는다.
+ * 조회를 시작할 때 key별 버전을 남기고 evict가 그 버전을 지우므로, 다른 key의 evict는 조회 결과에 영향을 주지 않는다.
+ * Redis 채널을 지정하면 evict를 다른 서버에도 알리고, 알림이 유실되어도 TTL이 지나면 다시 조회한다.
+ * 채널 구독은 빈 초기화가 끝난 뒤(ApplicationReadyEvent) 소유한 컴포넌트가 subscribe()를 호출하여 시작한다.
+ */
+@Slf4j
+public class NearCache<K, V> {
+
+    private final String name;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+    // 조회 중인 key의 버전 (evict되면 제거되어 그 조회 결과는 캐시에 넣지 않음)
+    private final Map<K, Long> loading = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final String channel;
+    private final Function<String, K> keyParser;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // 이 서버에서만 evict하는 캐시
+    public NearCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, null, null, null, null);
+    }
+
+    public NearCache(String name, int maxSize, Duration ttl, String channel, Function<String, K> keyParser,
+                     StringRedisTemplate stringRedisTemplate,
+                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        this.name = name;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.channel = channel;
+        this.keyParser = keyParser;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+    }
+
+    public void subscribe() {
+        if (channel == null) {
+            return;
+        }
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> evictLocal(keyParser.apply(new String(message.getBody(),
+                        StandardCharsets.UTF_8))),
+                new ChannelTopic(channel));
+    }
+
+    // 캐시에 없으면 loader로 읽어 넣음 (loader가 null을 반환하면 캐시하지 않음)
+    public V get(K key, Function<K, V> loader) {
+        return get(key, loader, value -> Long.MAX_VALUE);
+    }
+
+    // expiresAt: 값 자체의 만료 시각(epoch ms), TTL보다 이르면 그 시각까지만 사용
+    public V get(K key, Function<K, V> loader, ToLongFunction<V> expiresAt) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.value();
+        }
+
+        Long version = versions.incrementAndGet();
+        loading.put(key, version);
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            loading.remove(key, version);
+            throw e;
+        }
+        synchronized (entries) {
+            if (loading.remove(key, version) && value != null) {
+                entries.put(key, new Entry<>(value, Math.min(now + ttlMillis, expiresAt.applyAsLong(value))));
+            }
+        }
+        return value;
+    }
+
+    // 이 서버와 다른 서버의 캐시에서 제거
+    public void evict(K key) {
+        evictLocal(key);
+        if (channel == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(channel, String.valueOf(key));
+        } catch (DataAccessException e) {
+            log.warn("❌ {} 캐시 무효화 전파 실패 (key: {})", name, key, e);
+        }
+    }
+
+    public void evictLocal(K key) {
+        synchronized (entries) {
+            loading.remove(key);
+            entries.remove(key);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
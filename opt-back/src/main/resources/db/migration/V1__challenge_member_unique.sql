@@ -0,0 +1,23 @@
+-- 한 멤버는 챌린지에 한 번만 참여 (Redis를 사용할 수 없을 때의 중복 참여 방지)
+
+-- 중복 참여 행의 기록은 가장 먼저 참여한 행으로 옮김
+UPDATE challenge_record cr
+    JOIN challenge_member cm ON cr.challenge_member_id = cm.id
+    JOIN (SELECT challenge_id, member_id, MIN(id) AS keep_id
+          FROM challenge_member
+          GROUP BY challenge_id, member_id
+          HAVING COUNT(*) > 1) dup
+    ON dup.challenge_id = cm.challenge_id AND dup.member_id = cm.member_id AND cm.id <> dup.keep_id
+SET cr.challenge_member_id = dup.keep_id;
+
+DELETE cm
+FROM challenge_member cm
+    JOIN challenge_member keep
+    ON keep.challenge_id = cm.challenge_id AND keep.member_id = cm.member_id AND keep.id < cm.id;
+
+-- 중복 행이 빠진 만큼 참여 인원 보정
+UPDATE challenge c
+SET c.current_participants = (SELECT COUNT(*) FROM challenge_member cm WHERE cm.challenge_id = c.id);
+
+ALTER TABLE challenge_member
+    ADD CONSTRAINT uk_challenge_member_challenge_member UNIQUE (challenge_id, member_id);
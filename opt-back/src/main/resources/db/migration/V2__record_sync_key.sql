@@ -0,0 +1,10 @@
+-- 기록 동기화 idempotencyKey (Redis 장애나 TTL 만료와 관계없이 같은 기록이 두 번 반영되지 않도록 DB에 보관)
+CREATE TABLE IF NOT EXISTS record_sync_key
+(
+    member_id       INT          NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    claim_id        CHAR(36)     NOT NULL,
+    created_at      DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (member_id, idempotency_key),
+    KEY idx_record_sync_key_created_at (created_at)
+);
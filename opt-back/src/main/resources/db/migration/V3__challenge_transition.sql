@@ -0,0 +1,28 @@
+-- 챌린지 상태 전환 예약 (START: OPEN → PROGRESS, END: PROGRESS → END)
+-- fire_at은 서비스 시간대(app.time-zone) 기준 시각
+CREATE TABLE IF NOT EXISTS challenge_transition
+(
+    id           INT         NOT NULL AUTO_INCREMENT,
+    challenge_id INT         NOT NULL,
+    type         VARCHAR(10) NOT NULL,
+    fire_at      DATETIME(6) NOT NULL,
+    status       VARCHAR(10) NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_challenge_transition_status_fire_at (status, fire_at),
+    KEY idx_challenge_transition_challenge_id (challenge_id)
+);
+
+-- 이미 만들어진 챌린지의 전환 예약 (시작일/종료일 다음 날 00시 + 기본 분산 시간 60분 이내)
+INSERT INTO challenge_transition (challenge_id, type, fire_at, status)
+SELECT c.id, 'START', TIMESTAMPADD(SECOND, MOD(c.id * 2654435761, 3600), c.start_date + INTERVAL 1 DAY), 'PENDING'
+FROM challenge c
+WHERE c.status = 'OPEN'
+  AND c.start_date IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM challenge_transition t WHERE t.challenge_id = c.id AND t.type = 'START');
+
+INSERT INTO challenge_transition (challenge_id, type, fire_at, status)
+SELECT c.id, 'END', TIMESTAMPADD(SECOND, MOD(c.id * 2654435761, 3600), c.end_date + INTERVAL 1 DAY), 'PENDING'
+FROM challenge c
+WHERE c.status IN ('OPEN', 'PROGRESS')
+  AND c.end_date IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM challenge_transition t WHERE t.challenge_id = c.id AND t.type = 'END');
@@ -0,0 +1,49 @@
+-- 개인 목표 챌린지(NORMAL, SURVIVAL) 멤버별 일자 달성 비트맵 (CompletionBitmap, 8바이트 big-endian word 배열)
+CREATE TABLE IF NOT EXISTS challenge_completion
+(
+    id                  INT            NOT NULL AUTO_INCREMENT,
+    challenge_member_id INT            NOT NULL,
+    challenge_id        INT            NOT NULL,
+    member_id           INT            NOT NULL,
+    days                VARBINARY(256) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_challenge_completion_challenge_member_id (challenge_member_id),
+    KEY idx_challenge_completion_challenge_member (challenge_id, member_id)
+);
+
+-- 진행 중인 챌린지는 지금까지 통과한 기록으로 비트맵을 채움 (비어 있으면 SURVIVAL 멤버가 잘못 탈락함)
+INSERT INTO challenge_completion (challenge_member_id, challenge_id, member_id, days)
+WITH RECURSIVE words (word) AS (SELECT 0
+                                UNION ALL
+                                SELECT word + 1 FROM words WHERE word < 31),
+               passed AS (SELECT DISTINCT cm.id                                   AS challenge_member_id,
+                                          cm.challenge_id,
+                                          cm.member_id,
+                                          DATEDIFF(cr.created_at, c.start_date) AS day_index
+                          FROM challenge_record cr
+                                   JOIN challenge_member cm ON cm.id = cr.challenge_member_id
+                                   JOIN challenge c ON c.id = cm.challenge_id
+                          WHERE c.type <> 'TEAM'
+                            AND c.status IN ('OPEN', 'PROGRESS')
+                            AND cr.is_passed = TRUE
+                            AND cr.created_at >= c.start_date
+                            AND DATEDIFF(cr.created_at, c.start_date) < 2048),
+               members AS (SELECT challenge_member_id, challenge_id, member_id, MAX(day_index) DIV 64 AS last_word
+                           FROM passed
+                           GROUP BY challenge_member_id, challenge_id, member_id),
+               bits AS (SELECT m.challenge_member_id,
+                               w.word,
+                               COALESCE(BIT_OR(CASE WHEN p.day_index DIV 64 = w.word
+                                                        THEN 1 << (p.day_index % 64) END), 0) AS word_bits
+                        FROM members m
+                                 JOIN words w ON w.word <= m.last_word
+                                 JOIN passed p ON p.challenge_member_id = m.challenge_member_id
+                        GROUP BY m.challenge_member_id, w.word)
+SELECT m.challenge_member_id,
+       m.challenge_id,
+       m.member_id,
+       GROUP_CONCAT(UNHEX(LPAD(HEX(b.word_bits), 16, '0')) ORDER BY b.word SEPARATOR '')
+FROM members m
+         JOIN bits b ON b.challenge_member_id = m.challenge_member_id
+WHERE NOT EXISTS (SELECT 1 FROM challenge_completion cc WHERE cc.challenge_member_id = m.challenge_member_id)
+GROUP BY m.challenge_member_id, m.challenge_id, m.member_id;
@@ -0,0 +1,33 @@
+-- 같은 챌린지 멤버의 같은 날짜 기록은 한 행만 유지 (여러 서버가 동시에 반영해도 행이 중복 생성되지 않도록)
+
+-- 중복 행의 값은 가장 먼저 생성된 행에 최댓값으로 합침 (이전 반영 방식이 최댓값 기준이었으므로)
+UPDATE challenge_record cr
+    JOIN (SELECT challenge_member_id, created_at, MIN(id) AS keep_id, MAX(count) AS max_count,
+                 MAX(duration) AS max_duration, MAX(distance) AS max_distance, MAX(is_passed) AS any_passed
+          FROM challenge_record
+          GROUP BY challenge_member_id, created_at
+          HAVING COUNT(*) > 1) dup
+    ON dup.keep_id = cr.id
+SET cr.count     = dup.max_count,
+    cr.duration  = dup.max_duration,
+    cr.distance  = dup.max_distance,
+    cr.is_passed = dup.any_passed;
+
+DELETE cr
+FROM challenge_record cr
+    JOIN challenge_record keep
+    ON keep.challenge_member_id = cr.challenge_member_id AND keep.created_at = cr.created_at AND keep.id < cr.id;
+
+ALTER TABLE challenge_record
+    ADD CONSTRAINT uk_challenge_record_member_day UNIQUE (challenge_member_id, created_at);
+
+-- 버퍼(writer_id)별로 challenge_record.distance에 지금까지 더한 누적값 (같은 스냅샷을 다시 반영해도 한 번만 더해지도록)
+CREATE TABLE IF NOT EXISTS challenge_record_contribution
+(
+    writer_id           CHAR(36)    NOT NULL,
+    challenge_record_id INT         NOT NULL,
+    distance            INT         NOT NULL,
+    updated_at          DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (writer_id),
+    KEY idx_challenge_record_contribution_updated_at (updated_at)
+);
@@ -0,0 +1,159 @@
+package com.opt.ssafy.optback.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opt.ssafy.optback.config.BoundedOutboundSession.OverflowPolicy;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+/**
+ * 전송(drain)은 실행하지 않고 송신 큐에 쌓이는 상태만 확인한다.
+ */
+public class BoundedOutboundSessionTest {
+
+    private static final String CHAT = "/topic/chat-room/1_2";
+    private static final String READ_STATUS = "/topic/chat-room/1_2/read-status/v2";
+
+    private OutboundSessionManager manager;
+    private BoundedOutboundSession session;
+
+    @BeforeEach
+    void setUp() {
+        manager = mock(OutboundSessionManager.class);
+        when(manager.getCoalescer()).thenReturn(new OutboundMessageCoalescer(new ObjectMapper()));
+        when(manager.getMaxQueuedMessages()).thenReturn(3);
+        when(manager.getMaxQueuedBytes()).thenReturn(1_000_000);
+        when(manager.getSendTimeLimitMs()).thenReturn(10_000);
+        when(manager.getOverflowPolicy()).thenReturn(OverflowPolicy.DROP_OLDEST);
+        WebSocketSession delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("session-1");
+        session = new BoundedOutboundSession(delegate, manager);
+    }
+
+    private TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\ncontent-length:"
+                + body.getBytes(StandardCharsets.UTF_8).length + "\n\n" + body + "\u0000");
+    }
+
+    private TextMessage chat(String content) {
+        return frame(CHAT, "{\"content\":\"" + content + "\"}");
+    }
+
+    private TextMessage readStatus(int memberId, String readAt) {
+        return frame(READ_STATUS, "{\"memberId\":" + memberId + ",\"readAt\":\"" + readAt + "\"}");
+    }
+
+    @Test
+    void 같은_멤버의_읽음_상태는_하나로_합친다() throws Exception {
+        // when
+        session.sendMessage(readStatus(1, "10:00"));
+        session.sendMessage(readStatus(1, "10:05"));
+        session.sendMessage(readStatus(2, "10:05"));
+
+        // then
+        assertThat(session.getQueuedMessages()).isEqualTo(2);
+        verify(manager, times(1)).recordCoalesced();
+    }
+
+    @Test
+    void 큐가_가득_차면_합칠_수_있는_프레임부터_버린다() throws Exception {
+        // given
+        session.sendMessage(chat("a"));
+        session.sendMessage(readStatus(1, "10:00"));
+        session.sendMessage(chat("b"));
+
+        // when
+        session.sendMessage(chat("c"));
+
+        // then
+        assertThat(session.getQueuedMessages()).isEqualTo(3);
+        verify(manager, times(1)).recordDropped();
+        verify(manager, times(0)).recordClosed();
+    }
+
+    @Test
+    void 채팅_메시지를_버려야_하면_세션을_종료한다() throws Exception {
+        // given
+        session.sendMessage(chat("a"));
+        session.sendMessage(chat("b"));
+        session.sendMessage(chat("c"));
+
+        // when & then
+        assertThatThrownBy(() -> session.sendMessage(chat("d")))
+                .isInstanceOf(SessionLimitExceededException.class);
+        verify(manager, times(1)).recordClosed();
+        verify(manager, times(0)).recordDropped();
+    }
+
+    @Test
+    void 채팅_메시지만_대기_중이면_새_읽음_상태를_버린다() throws Exception {
+        // given
+        session.sendMessage(chat("a"));
+        session.sendMessage(chat("b"));
+        session.sendMessage(chat("c"));
+
+        // when
+        session.sendMessage(readStatus(1, "10:00"));
+
+        // then
+        assertThat(session.getQueuedMessages()).isEqualTo(3);
+        verify(manager, times(1)).recordDropped();
+        verify(manager, times(0)).recordClosed();
+    }
+
+    @Test
+    void CLOSE_정책이면_한도를_넘을_때_세션을_종료한다() throws Exception {
+        // given
+        when(manager.getOverflowPolicy()).thenReturn(OverflowPolicy.CLOSE);
+        session.sendMessage(readStatus(1, "10:00"));
+        session.sendMessage(readStatus(2, "10:00"));
+        session.sendMessage(readStatus(3, "10:00"));
+
+        // when & then
+        assertThatThrownBy(() -> session.sendMessage(readStatus(4, "10:00")))
+                .isInstanceOf(SessionLimitExceededException.class);
+        verify(manager, times(1)).recordClosed();
+    }
+
+    @Test
+    void 바이트_한도를_넘으면_합칠_수_있는_프레임을_버린다() throws Exception {
+        // given
+        TextMessage status = readStatus(1, "10:00");
+        TextMessage message = chat("a");
+        when(manager.getMaxQueuedBytes()).thenReturn(status.getPayloadLength() + message.getPayloadLength());
+        session.sendMessage(status);
+        session.sendMessage(message);
+
+        // when
+        session.sendMessage(chat("b"));
+
+        // then
+        assertThat(session.getQueuedMessages()).isEqualTo(2);
+        assertThat(session.getQueuedBytes()).isEqualTo(2L * message.getPayloadLength());
+        verify(manager, times(1)).recordDropped();
+    }
+
+    @Test
+    void 종료된_세션에는_더_이상_쌓지_않는다() throws Exception {
+        // given
+        session.sendMessage(chat("a"));
+
+        // when
+        session.discard();
+        session.sendMessage(chat("b"));
+
+        // then
+        assertThat(session.getQueuedMessages()).isZero();
+        assertThat(session.getQueuedBytes()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.opt.ssafy.optback.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+public class OutboundMessageCoalescerTest {
+
+    private static final String READ_STATUS = "/topic/chat-room/1_2/read-status/v2";
+    private static final String CHALLENGE = "/topic/challenge/7";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OutboundMessageCoalescer coalescer = new OutboundMessageCoalescer(objectMapper);
+
+    @Test
+    void 읽음_상태는_멤버별로_합친다() {
+        // when
+        String first = coalescer.key(READ_STATUS, "{\"roomId\":\"1_2\",\"memberId\":1,\"readAt\":\"10:00\"}");
+        String second = coalescer.key(READ_STATUS, "{\"roomId\":\"1_2\",\"memberId\":2,\"readAt\":\"10:00\"}");
+
+        // then
+        assertThat(first).isEqualTo(READ_STATUS + "#1");
+        assertThat(second).isEqualTo(READ_STATUS + "#2");
+    }
+
+    @Test
+    void 채팅_메시지는_합치지_않는다() {
+        assertThat(coalescer.key("/topic/chat-room/1_2", "{\"content\":\"hi\",\"senderId\":1}")).isNull();
+        assertThat(coalescer.key("/topic/chat-room/1_2/read-status", "[{\"id\":\"a\"}]")).isNull();
+        assertThat(coalescer.key(null, "{}")).isNull();
+    }
+
+    @Test
+    void 읽음_상태는_최신_본문으로_교체한다() {
+        // given
+        String previous = "{\"memberId\":1,\"readAt\":\"2025-03-03T10:00\"}";
+        String next = "{\"memberId\":1,\"readAt\":\"2025-03-03T10:05\"}";
+
+        // when & then
+        assertThat(coalescer.merge(READ_STATUS, previous, next)).isEqualTo(next);
+    }
+
+    @Test
+    void 챌린지_진행_상황은_delta를_더하고_최신_값을_사용한다() throws Exception {
+        // given
+        String previous = "{\"progress\":10.0,\"members\":[{\"memberId\":1,\"delta\":3,\"score\":3},"
+                + "{\"memberId\":2,\"delta\":1,\"score\":1}]}";
+        String next = "{\"progress\":12.5,\"members\":[{\"memberId\":1,\"delta\":2,\"score\":5}]}";
+
+        // when
+        JsonNode merged = objectMapper.readTree(coalescer.merge(CHALLENGE, previous, next));
+
+        // then
+        assertThat(merged.path("progress").asDouble()).isEqualTo(12.5);
+        assertThat(merged.path("members")).hasSize(2);
+        assertThat(merged.path("members").get(0).path("memberId").asInt()).isEqualTo(1);
+        assertThat(merged.path("members").get(0).path("delta").asInt()).isEqualTo(5);
+        assertThat(merged.path("members").get(0).path("score").asInt()).isEqualTo(5);
+        assertThat(merged.path("members").get(1).path("delta").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void 챌린지_진행_상황을_읽지_못하면_합치지_않는다() {
+        assertThat(coalescer.merge(CHALLENGE, "{\"members\":[]}", "not json")).isNull();
+        assertThat(coalescer.merge(CHALLENGE, "{\"members\":[]}", "[]")).isNull();
+    }
+}
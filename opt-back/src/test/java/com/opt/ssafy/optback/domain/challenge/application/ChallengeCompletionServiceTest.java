@@ -0,0 +1,84 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.CompletionBitmap;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+public class ChallengeCompletionServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 3);
+
+    // 4주짜리 SURVIVAL 챌린지, 주 3회
+    private final Challenge challenge = Challenge.builder()
+            .type("SURVIVAL")
+            .startDate(START)
+            .endDate(START.plusDays(27))
+            .frequency(3)
+            .build();
+
+    private CompletionBitmap bitmapOf(int... days) {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (int day : days) {
+            bitmap.set(day);
+        }
+        return bitmap;
+    }
+
+    @Test
+    void 남은_날을_모두_달성하면_목표를_채울_수_있으면_탈락하지_않는다() {
+        // given: 첫 주 5일째까지 1회 달성, 남은 2일
+        CompletionBitmap bitmap = bitmapOf(0);
+
+        // when & then
+        assertThat(ChallengeCompletionService.canMeetWeeklyGoal(challenge, bitmap, START.plusDays(4), START))
+                .isTrue();
+    }
+
+    @Test
+    void 남은_날을_모두_달성해도_목표에_못_미치면_탈락한다() {
+        // given: 첫 주 6일째까지 달성 없음, 남은 1일
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+
+        // when & then
+        assertThat(ChallengeCompletionService.canMeetWeeklyGoal(challenge, bitmap, START.plusDays(5), START))
+                .isFalse();
+    }
+
+    @Test
+    void 주_중간에_참여한_멤버는_참여한_주에_탈락하지_않는다() {
+        // given: 둘째 주 6일째에 참여
+        LocalDate joinDate = START.plusDays(12);
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+
+        // when & then
+        assertThat(ChallengeCompletionService.canMeetWeeklyGoal(challenge, bitmap, START.plusDays(12), joinDate))
+                .isTrue();
+        assertThat(ChallengeCompletionService.canMeetWeeklyGoal(challenge, bitmap, START.plusDays(13), joinDate))
+                .isTrue();
+    }
+
+    @Test
+    void 주_중간에_참여한_멤버도_다음_주부터는_평가한다() {
+        // given: 둘째 주에 참여, 셋째 주 6일째까지 달성 없음
+        LocalDate joinDate = START.plusDays(12);
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+
+        // when & then
+        assertThat(ChallengeCompletionService.canMeetWeeklyGoal(challenge, bitmap, START.plusDays(19), joinDate))
+                .isFalse();
+    }
+
+    @Test
+    void 시작_전에_참여한_멤버는_첫_주부터_평가한다() {
+        // given
+        LocalDate joinDate = START.minusDays(3);
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+
+        // when & then
+        assertThat(ChallengeCompletionService.canMeetWeeklyGoal(challenge, bitmap, START.plusDays(5), joinDate))
+                .isFalse();
+    }
+}
@@ -0,0 +1,202 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Change;
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Snapshot;
+import com.opt.ssafy.optback.domain.challenge.entity.Challenge;
+import com.opt.ssafy.optback.domain.challenge.entity.ChallengeMember;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+public class ChallengeRecordBufferTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    @TempDir
+    Path directory;
+
+    private final Challenge challenge = Challenge.builder().id(1).type("NORMAL").exerciseDistance(1000).build();
+    private final ChallengeMember challengeMember = ChallengeMember.builder().id(101).challengeId(1).memberId(7)
+            .status("JOINED").build();
+    private final LocalDate today = LocalDate.now(ZONE);
+
+    private ChallengeRecordJournal journal;
+    private ChallengeRecordWriter writer;
+    private ChallengeRecordBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        journal = new ChallengeRecordJournal(directory.toString(), 5, 65536);
+        writer = mock(ChallengeRecordWriter.class);
+        buffer = new ChallengeRecordBuffer(journal, writer, mock(ChallengeProgressService.class), ZONE, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private PendingChallengeRecord register() {
+        return buffer.putIfAbsent(PendingChallengeRecord.of(challenge, challengeMember, today, null));
+    }
+
+    private Change addDistance(PendingChallengeRecord record, int distance) {
+        return buffer.update(record, pending -> pending.addDistance(distance), change -> {
+        });
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 재시작하면_저널에_남은_기록을_반영하고_세그먼트를_삭제한다() throws IOException {
+        // given: 반영 전에 비정상 종료
+        PendingChallengeRecord record = register();
+        addDistance(record, 10);
+        addDistance(record, 5);
+        journal.close();
+
+        ChallengeRecordJournal restarted = new ChallengeRecordJournal(directory.toString(), 5, 65536);
+        ChallengeRecordWriter restartedWriter = mock(ChallengeRecordWriter.class);
+        when(restartedWriter.write(anyList())).thenReturn(Map.of(record.key(), 1));
+        ChallengeRecordBuffer recovered = new ChallengeRecordBuffer(restarted, restartedWriter,
+                mock(ChallengeProgressService.class), ZONE, 500);
+
+        // when
+        recovered.recover();
+
+        // then: key별 마지막 값 하나만 반영
+        ArgumentCaptor<List<Snapshot>> captor = ArgumentCaptor.forClass(List.class);
+        verify(restartedWriter).write(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(snapshot -> {
+            assertThat(snapshot.distance()).isEqualTo(15);
+            assertThat(snapshot.addedDistance()).isEqualTo(15);
+            assertThat(snapshot.writerId()).isEqualTo(record.getWriterId());
+        });
+        assertThat(segments()).isEmpty();
+        restarted.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 반영에_실패하면_세그먼트를_남기고_다음_flush에서_같은_스냅샷으로_재시도한다() throws IOException {
+        // given
+        PendingChallengeRecord record = register();
+        addDistance(record, 10);
+        when(writer.write(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(Map.of(record.key(), 1));
+
+        // when
+        buffer.flush();
+
+        // then: 세그먼트는 남아 있고 기록은 다시 반영 대상
+        assertThat(segments()).isNotEmpty();
+        assertThat(record.isDirty()).isTrue();
+
+        // when
+        buffer.flush();
+
+        // then
+        ArgumentCaptor<List<Snapshot>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(2)).write(captor.capture());
+        assertThat(captor.getAllValues().get(1)).isEqualTo(captor.getAllValues().get(0));
+        assertThat(record.isDirty()).isFalse();
+        assertThat(record.getRecordId()).isEqualTo(1);
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void 복구에_실패한_세그먼트는_이후_flush에서도_삭제하지_않는다() throws IOException {
+        // given
+        PendingChallengeRecord record = register();
+        addDistance(record, 10);
+        journal.close();
+
+        ChallengeRecordJournal restarted = new ChallengeRecordJournal(directory.toString(), 5, 65536);
+        ChallengeRecordWriter restartedWriter = mock(ChallengeRecordWriter.class);
+        when(restartedWriter.write(anyList())).thenThrow(new DataAccessResourceFailureException("db down"));
+        ChallengeRecordBuffer recovered = new ChallengeRecordBuffer(restarted, restartedWriter,
+                mock(ChallengeProgressService.class), ZONE, 500);
+        recovered.recover();
+        List<Path> unrecovered = segments();
+
+        // when
+        recovered.flush();
+
+        // then
+        assertThat(unrecovered).isNotEmpty();
+        assertThat(segments()).containsAll(unrecovered);
+        restarted.close();
+    }
+
+    @Test
+    void 반영할_기록이_없으면_writer를_호출하지_않고_세그먼트만_정리한다() throws IOException {
+        // given
+        PendingChallengeRecord record = register();
+        addDistance(record, 10);
+        when(writer.write(anyList())).thenReturn(Map.of(record.key(), 1));
+        buffer.flush();
+
+        // when
+        buffer.flush();
+
+        // then
+        verify(writer, times(1)).write(anyList());
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void 버퍼에서_제거된_기록은_변경하지_않는다() {
+        // given
+        PendingChallengeRecord record = register();
+        addDistance(record, 10);
+        when(writer.write(anyList())).thenReturn(Map.of(record.key(), 1));
+
+        // when
+        buffer.evict(pending -> pending.getChallengeMemberId() == challengeMember.getId());
+        Change change = addDistance(record, 5);
+
+        // then
+        assertThat(change).isNull();
+        assertThat(record.getDistance()).isEqualTo(10);
+        assertThat(buffer.get(challenge.getId(), challengeMember.getMemberId(), today)).isNull();
+    }
+
+    @Test
+    void 반영에_실패한_기록은_제거하지_않는다() {
+        // given
+        PendingChallengeRecord record = register();
+        addDistance(record, 10);
+        when(writer.write(anyList())).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        // when
+        buffer.evict(pending -> true);
+
+        // then
+        assertThat(buffer.get(challenge.getId(), challengeMember.getMemberId(), today)).isSameAs(record);
+        assertThat(record.isDirty()).isTrue();
+    }
+}
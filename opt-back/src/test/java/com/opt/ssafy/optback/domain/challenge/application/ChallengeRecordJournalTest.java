@@ -0,0 +1,122 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.opt.ssafy.optback.domain.challenge.application.PendingChallengeRecord.Snapshot;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChallengeRecordJournalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    @TempDir
+    Path directory;
+
+    private ChallengeRecordJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = new ChallengeRecordJournal(directory.toString(), 5, 65536);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private Snapshot snapshot(int memberId, Integer count, Integer addedDistance) {
+        return new Snapshot(PendingChallengeRecord.key(1, memberId, DAY), 1, 100 + memberId, memberId, DAY, null,
+                count, null, addedDistance, "writer-" + memberId, addedDistance);
+    }
+
+    @Test
+    void 재생하면_key별_마지막_값만_반환한다() {
+        // given
+        journal.await(journal.append(snapshot(1, 3, null)));
+        journal.await(journal.append(snapshot(2, 5, null)));
+        journal.await(journal.append(snapshot(1, 7, null)));
+
+        // when
+        List<Snapshot> replayed = journal.replay(journal.rotate());
+
+        // then
+        assertThat(replayed).containsExactlyInAnyOrder(snapshot(1, 7, null), snapshot(2, 5, null));
+    }
+
+    @Test
+    void 잘린_마지막_줄은_건너뛴다() throws IOException {
+        // given: 마지막 줄을 쓰는 도중 비정상 종료된 세그먼트
+        journal.await(journal.append(snapshot(1, 3, 10)));
+        List<Path> segments = journal.rotate();
+        Files.writeString(segments.get(0), "1,101,1,2025-03", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // when
+        List<Snapshot> replayed = journal.replay(segments);
+
+        // then
+        assertThat(replayed).containsExactly(snapshot(1, 3, 10));
+    }
+
+    @Test
+    void 이전_형식의_줄은_writerId_없이_읽는다() throws IOException {
+        // given
+        Path segment = directory.resolve("segment-1.log");
+        Files.writeString(segment, "1,101,1,2025-03-03,7,,,30" + System.lineSeparator(), StandardCharsets.UTF_8);
+
+        // when
+        List<Snapshot> replayed = journal.replay(List.of(segment));
+
+        // then
+        assertThat(replayed).containsExactly(new Snapshot(PendingChallengeRecord.key(1, 1, DAY), 1, 101, 1, DAY, 7,
+                null, null, 30, null, null));
+    }
+
+    @Test
+    void 동시에_기록한_줄을_한꺼번에_fsync하고_모두_완료한다() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> committed = new ArrayList<>();
+
+        // when
+        for (int memberId = 1; memberId <= 200; memberId++) {
+            int id = memberId;
+            committed.add(CompletableFuture.supplyAsync(() -> journal.append(snapshot(id, id, null)), executor)
+                    .thenCompose(future -> future));
+        }
+        CompletableFuture.allOf(committed.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        // then: rotate 전에도 이미 세그먼트에 모두 쓰여 있음
+        List<Path> segments;
+        try (var files = Files.list(directory)) {
+            segments = files.sorted().toList();
+        }
+        assertThat(journal.replay(segments)).hasSize(200);
+    }
+
+    @Test
+    void 종료된_뒤의_기록은_호출한_스레드에서_바로_반영한다() {
+        // given
+        journal.close();
+
+        // when
+        journal.await(journal.append(snapshot(1, 3, null)));
+
+        // then
+        assertThat(journal.replay(journal.rotate())).containsExactly(snapshot(1, 3, null));
+    }
+}
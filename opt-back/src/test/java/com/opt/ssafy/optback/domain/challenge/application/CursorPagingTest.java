@@ -0,0 +1,126 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.opt.ssafy.optback.domain.challenge.dto.CursorPageResponse;
+import com.opt.ssafy.optback.domain.challenge.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+public class CursorPagingTest {
+
+    // id 1 ~ 25
+    private final List<Integer> rows = IntStream.rangeClosed(1, 25).boxed().toList();
+
+    private List<Integer> olderThan(int id, Pageable pageable) {
+        return rows.stream()
+                .filter(row -> row < id)
+                .sorted(Comparator.reverseOrder())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    private List<Integer> newerThan(int id, Pageable pageable) {
+        return rows.stream()
+                .filter(row -> row > id)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    private CursorPageResponse<Integer> scroll(String before, String after, int size) {
+        return CursorPaging.scroll(before, after, size, this::olderThan, this::newerThan, Integer::intValue,
+                page -> page, () -> (long) rows.size());
+    }
+
+    @Test
+    void 첫_페이지는_최신_id부터_조회하고_전체_개수를_포함() {
+        // when
+        CursorPageResponse<Integer> page = scroll(null, null, 10);
+
+        // then
+        assertThat(page.getContent()).containsExactly(25, 24, 23, 22, 21, 20, 19, 18, 17, 16);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.isHasPrevious()).isFalse();
+        assertThat(page.getPrevCursor()).isNull();
+        assertThat(page.getTotalCount()).isEqualTo(25L);
+    }
+
+    @Test
+    void nextCursor로_이어서_조회하면_마지막_페이지에서_hasNext가_false() {
+        // given
+        CursorPageResponse<Integer> first = scroll(null, null, 10);
+        CursorPageResponse<Integer> second = scroll(first.getNextCursor(), null, 10);
+
+        // when
+        CursorPageResponse<Integer> last = scroll(second.getNextCursor(), null, 10);
+
+        // then
+        assertThat(second.getContent()).containsExactly(15, 14, 13, 12, 11, 10, 9, 8, 7, 6);
+        assertThat(second.getTotalCount()).isNull();
+        assertThat(last.getContent()).containsExactly(5, 4, 3, 2, 1);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(last.isHasPrevious()).isTrue();
+    }
+
+    @Test
+    void prevCursor로_조회하면_이전_페이지를_내림차순으로_반환() {
+        // given
+        CursorPageResponse<Integer> first = scroll(null, null, 10);
+        CursorPageResponse<Integer> second = scroll(first.getNextCursor(), null, 10);
+
+        // when
+        CursorPageResponse<Integer> previous = scroll(null, second.getPrevCursor(), 10);
+
+        // then
+        assertThat(previous.getContent()).containsExactly(25, 24, 23, 22, 21, 20, 19, 18, 17, 16);
+        assertThat(previous.isHasPrevious()).isFalse();
+        assertThat(previous.isHasNext()).isTrue();
+    }
+
+    @Test
+    void size는_1에서_MAX_SIZE_사이로_제한() {
+        // when
+        CursorPageResponse<Integer> tooSmall = scroll(null, null, -5);
+        CursorPageResponse<Integer> tooLarge = scroll(null, null, CursorPaging.MAX_SIZE + 1000);
+
+        // then
+        assertThat(tooSmall.getContent()).containsExactly(25);
+        assertThat(tooLarge.getContent()).hasSize(25);
+        assertThat(tooLarge.isHasNext()).isFalse();
+    }
+
+    @Test
+    void 커서_인코딩_디코딩() {
+        // when
+        String cursor = CursorPaging.encode(42);
+
+        // then
+        assertThat(CursorPaging.decode(cursor)).isEqualTo(42);
+    }
+
+    @Test
+    void before와_after를_함께_사용하면_예외() {
+        String cursor = CursorPaging.encode(10);
+
+        assertThatThrownBy(() -> scroll(cursor, cursor, 10)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void 잘못된_커서는_InvalidCursorException() {
+        String wrongPrefix = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("page:3".getBytes(StandardCharsets.UTF_8));
+        String notNumber = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("id:abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorPaging.decode("%%%")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorPaging.decode(wrongPrefix)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorPaging.decode(notNumber)).isInstanceOf(InvalidCursorException.class);
+    }
+}
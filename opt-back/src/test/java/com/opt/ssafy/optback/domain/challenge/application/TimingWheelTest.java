@@ -0,0 +1,79 @@
+package com.opt.ssafy.optback.domain.challenge.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    // 1초 단위, 한 바퀴 60초 (ChallengeTransitionService와 같은 구성)
+    private final TimingWheel<String> wheel = new TimingWheel<>(1000, 60, 0);
+
+    @Test
+    void 만료_시각_전에는_꺼내지지_않는다() {
+        // given
+        wheel.add(5000, "a");
+
+        // when & then
+        assertThat(wheel.advanceTo(4999)).isEmpty();
+        assertThat(wheel.advanceTo(5000)).containsExactly("a");
+        assertThat(wheel.advanceTo(6000)).isEmpty();
+    }
+
+    @Test
+    void 칸_중간의_만료_시각은_다음_칸에서_꺼내진다() {
+        // given
+        wheel.add(4500, "a");
+
+        // when & then
+        assertThat(wheel.advanceTo(4999)).isEmpty();
+        assertThat(wheel.advanceTo(5000)).containsExactly("a");
+    }
+
+    @Test
+    void 이미_지난_항목은_추가하지_않는다() {
+        // given
+        wheel.advanceTo(10_000);
+
+        // when & then
+        assertThat(wheel.add(10_000, "past")).isFalse();
+        assertThat(wheel.add(3000, "past")).isFalse();
+        assertThat(wheel.add(10_001, "future")).isTrue();
+    }
+
+    @Test
+    void 한_바퀴를_넘는_항목은_상위_휠에서_내려와_제시각에_꺼내진다() {
+        // given
+        wheel.add(150_000, "a");
+
+        // when & then
+        assertThat(wheel.advanceTo(120_000)).isEmpty();
+        assertThat(wheel.advanceTo(149_999)).isEmpty();
+        assertThat(wheel.advanceTo(150_000)).containsExactly("a");
+    }
+
+    @Test
+    void 여러_바퀴를_한번에_건너뛰면_지난_항목만_꺼내진다() {
+        // given
+        wheel.add(30_000, "a");
+        wheel.add(7_200_000, "b");
+        wheel.add(7_200_500, "c");
+
+        // when & then
+        assertThat(wheel.advanceTo(7_200_000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.advanceTo(7_200_999)).isEmpty();
+        assertThat(wheel.advanceTo(7_201_000)).containsExactly("c");
+    }
+
+    @Test
+    void 같은_칸의_항목은_함께_꺼내진다() {
+        // given
+        wheel.add(61_000, "a");
+        wheel.add(61_000, "b");
+        wheel.add(62_000, "c");
+
+        // when & then
+        assertThat(wheel.advanceTo(61_000)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.advanceTo(62_000)).containsExactly("c");
+    }
+}
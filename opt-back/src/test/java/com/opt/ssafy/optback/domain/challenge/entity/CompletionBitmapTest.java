@@ -0,0 +1,107 @@
+package com.opt.ssafy.optback.domain.challenge.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class CompletionBitmapTest {
+
+    private CompletionBitmap bitmapOf(int... days) {
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (int day : days) {
+            bitmap.set(day);
+        }
+        return bitmap;
+    }
+
+    @Test
+    void 이미_달성한_날짜는_다시_set하면_false() {
+        // given
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+
+        // when & then
+        assertThat(bitmap.set(3)).isTrue();
+        assertThat(bitmap.set(3)).isFalse();
+        assertThat(bitmap.get(3)).isTrue();
+        assertThat(bitmap.get(2)).isFalse();
+        assertThat(bitmap.get(-1)).isFalse();
+        assertThat(bitmap.get(1000)).isFalse();
+    }
+
+    @Test
+    void 직렬화_후_복원해도_같은_비트를_가진다() {
+        // given
+        CompletionBitmap bitmap = bitmapOf(0, 63, 64, 130);
+
+        // when
+        byte[] bytes = bitmap.toBytes();
+        CompletionBitmap restored = CompletionBitmap.fromBytes(bytes);
+
+        // then
+        assertThat(bytes).hasSize(3 * Long.BYTES);
+        assertThat(restored.get(0)).isTrue();
+        assertThat(restored.get(63)).isTrue();
+        assertThat(restored.get(64)).isTrue();
+        assertThat(restored.get(130)).isTrue();
+        assertThat(restored.count(0, 200)).isEqualTo(4);
+    }
+
+    @Test
+    void 빈_값은_빈_비트맵으로_복원된다() {
+        assertThat(CompletionBitmap.fromBytes(null).count(0, 100)).isZero();
+        assertThat(CompletionBitmap.fromBytes(new byte[0]).streakEndingAt(0)).isZero();
+    }
+
+    @Test
+    void 연속_달성_일수를_센다() {
+        // given
+        CompletionBitmap bitmap = bitmapOf(0, 2, 3, 4);
+
+        // when & then
+        assertThat(bitmap.streakEndingAt(4)).isEqualTo(3);
+        assertThat(bitmap.streakEndingAt(2)).isEqualTo(1);
+        assertThat(bitmap.streakEndingAt(1)).isZero();
+        assertThat(bitmap.streakEndingAt(0)).isEqualTo(1);
+        assertThat(bitmap.streakEndingAt(-1)).isZero();
+    }
+
+    @Test
+    void 연속_달성은_word_경계를_넘어서도_이어진다() {
+        // given: 60 ~ 140일 연속
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (int day = 60; day <= 140; day++) {
+            bitmap.set(day);
+        }
+
+        // when & then
+        assertThat(bitmap.streakEndingAt(140)).isEqualTo(81);
+        assertThat(bitmap.streakEndingAt(127)).isEqualTo(68);
+        assertThat(bitmap.streakEndingAt(63)).isEqualTo(4);
+    }
+
+    @Test
+    void 한_word를_모두_채우면_이전_word까지_센다() {
+        // given: 0 ~ 127일 연속
+        CompletionBitmap bitmap = CompletionBitmap.empty();
+        for (int day = 0; day <= 127; day++) {
+            bitmap.set(day);
+        }
+
+        // when & then
+        assertThat(bitmap.streakEndingAt(127)).isEqualTo(128);
+    }
+
+    @Test
+    void 구간의_달성_일수를_센다() {
+        // given
+        CompletionBitmap bitmap = bitmapOf(1, 5, 63, 64, 70, 200);
+
+        // when & then
+        assertThat(bitmap.count(0, 6)).isEqualTo(2);
+        assertThat(bitmap.count(5, 5)).isEqualTo(1);
+        assertThat(bitmap.count(60, 70)).isEqualTo(3);
+        assertThat(bitmap.count(-10, 300)).isEqualTo(6);
+        assertThat(bitmap.count(6, 62)).isZero();
+        assertThat(bitmap.count(10, 5)).isZero();
+    }
+}
@@ -0,0 +1,150 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import static com.opt.ssafy.optback.domain.chat.service.ChatMessageJournalTest.message;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+public class ChatMessageBufferTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ChatMessageJournal journal;
+    private ChatMessageWriter writer;
+    private ChatMessageRelay relay;
+    private ChatMessageBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        journal = new ChatMessageJournal(directory.toString(), objectMapper, 5, 65536);
+        writer = mock(ChatMessageWriter.class);
+        relay = mock(ChatMessageRelay.class);
+        buffer = new ChatMessageBuffer(journal, writer, relay, 100, 500, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    // 저장 요청된 메시지 id를 batch별로 기록하고, 처음 failures번은 실패 (batch는 버퍼 내부 리스트의 view이므로 호출 시점에 복사)
+    private List<List<String>> recordBatches(ChatMessageWriter target, int failures) {
+        List<List<String>> batches = new ArrayList<>();
+        AtomicInteger remaining = new AtomicInteger(failures);
+        doAnswer(invocation -> {
+            List<ChatMessage> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(ChatMessage::getId).toList());
+            if (remaining.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("db down");
+            }
+            return null;
+        }).when(target).write(anyList());
+        return batches;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    void 재시작하면_저널에_남은_메시지를_id별로_한_번만_저장하고_세그먼트를_삭제한다() throws IOException {
+        // given: 저장 전에 비정상 종료, 같은 메시지가 두 세그먼트에 남음
+        buffer.enqueue(message("a", "안녕하세요"));
+        journal.rotate();
+        buffer.enqueue(message("a", "안녕하세요"));
+        buffer.enqueue(message("b", "반갑습니다"));
+        journal.close();
+
+        ChatMessageJournal restarted = new ChatMessageJournal(directory.toString(), objectMapper, 5, 65536);
+        ChatMessageWriter restartedWriter = mock(ChatMessageWriter.class);
+        List<List<String>> batches = recordBatches(restartedWriter, 0);
+        ChatMessageBuffer recovered = new ChatMessageBuffer(restarted, restartedWriter, relay, 100, 500, 50);
+
+        // when
+        recovered.recover();
+
+        // then
+        assertThat(batches).containsExactly(List.of("a", "b"));
+        assertThat(segments()).isEmpty();
+        restarted.close();
+    }
+
+    @Test
+    void 잘린_마지막_줄이_있어도_나머지_메시지를_복구한다() throws IOException {
+        // given
+        buffer.enqueue(message("a", "안녕하세요"));
+        List<Path> written = journal.rotate();
+        Files.writeString(written.get(0), "{\"id\":\"b\",\"con", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        journal.close();
+
+        ChatMessageJournal restarted = new ChatMessageJournal(directory.toString(), objectMapper, 5, 65536);
+        ChatMessageWriter restartedWriter = mock(ChatMessageWriter.class);
+        List<List<String>> batches = recordBatches(restartedWriter, 0);
+        ChatMessageBuffer recovered = new ChatMessageBuffer(restarted, restartedWriter, relay, 100, 500, 50);
+
+        // when
+        recovered.recover();
+
+        // then
+        assertThat(batches).containsExactly(List.of("a"));
+        assertThat(segments()).isEmpty();
+        restarted.close();
+    }
+
+    @Test
+    void 저장에_실패하면_세그먼트를_남기고_다음_flush에서_같은_메시지를_재시도한다() throws IOException {
+        // given
+        List<List<String>> batches = recordBatches(writer, 1);
+        buffer.enqueue(message("a", "안녕하세요"));
+
+        // when
+        buffer.flush();
+
+        // then: 세그먼트는 남아 있고 저장 완료 알림도 보내지 않음
+        List<Path> retained = segments();
+        assertThat(retained).isNotEmpty();
+        verify(relay, never()).publish(eq("/topic/chat-room/room-1/ack"), any());
+
+        // when: 그 사이 새 메시지가 들어와도 실패한 메시지부터 재시도
+        buffer.enqueue(message("b", "반갑습니다"));
+        buffer.flush();
+
+        // then
+        assertThat(batches).containsExactly(List.of("a"), List.of("a"));
+        assertThat(segments()).doesNotContainAnyElementsOf(retained);
+        verify(relay).publish(eq("/topic/chat-room/room-1/ack"), any());
+
+        // when
+        buffer.flush();
+
+        // then
+        assertThat(batches).containsExactly(List.of("a"), List.of("a"), List.of("b"));
+        assertThat(segments()).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChatMessageJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ChatMessageJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = new ChatMessageJournal(directory.toString(), objectMapper, 5, 65536);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    static ChatMessage message(String id, String content) {
+        return ChatMessage.builder()
+                .id(id)
+                .roomId("room-1")
+                .senderId(1)
+                .receiverId(2)
+                .content(content)
+                .createdAt(LocalDateTime.of(2025, 3, 3, 12, 0))
+                .messageType(ChatMessage.MessageType.CHAT)
+                .isRead(false)
+                .build();
+    }
+
+    @Test
+    void 재생하면_같은_id의_메시지는_하나만_반환한다() {
+        // given: 재시도 등으로 같은 메시지가 두 번 기록됨
+        journal.await(journal.append(message("a", "첫 번째")));
+        journal.await(journal.append(message("b", "두 번째")));
+        journal.await(journal.append(message("a", "첫 번째")));
+
+        // when
+        List<ChatMessage> replayed = journal.replay(journal.rotate());
+
+        // then
+        assertThat(replayed).extracting(ChatMessage::getId).containsExactly("a", "b");
+        assertThat(replayed.get(1).getContent()).isEqualTo("두 번째");
+    }
+
+    @Test
+    void 잘린_마지막_줄은_건너뛴다() throws IOException {
+        // given: 마지막 줄을 쓰는 도중 비정상 종료된 세그먼트
+        journal.await(journal.append(message("a", "안녕하세요")));
+        List<Path> segments = journal.rotate();
+        Files.writeString(segments.get(0), "{\"id\":\"b\",\"roomId\":\"ro", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        // when
+        List<ChatMessage> replayed = journal.replay(segments);
+
+        // then
+        assertThat(replayed).extracting(ChatMessage::getId).containsExactly("a");
+    }
+
+    @Test
+    void rotate하면_fsync_대기_중인_메시지도_이전_세그먼트에_남긴다() {
+        // given: fsync를 기다리지 않은 메시지
+        CompletableFuture<Void> committed = journal.append(message("a", "안녕하세요"));
+
+        // when
+        List<Path> segments = journal.rotate();
+
+        // then
+        assertThat(committed).isCompleted();
+        assertThat(journal.replay(segments)).extracting(ChatMessage::getId).containsExactly("a");
+    }
+
+    @Test
+    void 동시에_기록한_메시지를_한꺼번에_fsync하고_모두_완료한다() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> committed = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            String id = "message-" + i;
+            committed.add(CompletableFuture.supplyAsync(() -> journal.append(message(id, id)), executor)
+                    .thenCompose(future -> future));
+        }
+        CompletableFuture.allOf(committed.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        // then: rotate 전에도 이미 세그먼트에 모두 쓰여 있음
+        List<Path> segments;
+        try (var files = Files.list(directory)) {
+            segments = files.sorted().toList();
+        }
+        assertThat(journal.replay(segments)).hasSize(200);
+    }
+}
@@ -0,0 +1,64 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.opt.ssafy.optback.domain.chat.entity.ChatMessage;
+import com.opt.ssafy.optback.domain.chat.exception.ChatMessageException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+public class MessageCursorTest {
+
+    @Test
+    void 커서_인코딩_디코딩() {
+        // given
+        ObjectId id = new ObjectId();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 2, 14, 9, 30, 15, 123_456_000);
+        ChatMessage message = ChatMessage.builder()
+                .id(id.toHexString())
+                .createdAt(createdAt)
+                .build();
+
+        // when
+        MessageCursor cursor = MessageCursor.decode(MessageCursor.encode(message));
+
+        // then
+        assertThat(cursor.createdAt()).isEqualTo(createdAt);
+        assertThat(cursor.id()).isEqualTo(id);
+    }
+
+    @Test
+    void 커서는_URL에_그대로_사용할_수_있음() {
+        // given
+        ChatMessage message = ChatMessage.builder()
+                .id(new ObjectId().toHexString())
+                .createdAt(LocalDateTime.of(2025, 2, 14, 9, 30))
+                .build();
+
+        // when
+        String cursor = MessageCursor.encode(message);
+
+        // then
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void 잘못된_커서는_ChatMessageException() {
+        String noSeparator = encode("2025-02-14T09:30");
+        String wrongDate = encode("yesterday|" + new ObjectId().toHexString());
+        String wrongId = encode("2025-02-14T09:30|not-an-object-id");
+
+        assertThatThrownBy(() -> MessageCursor.decode("%%%")).isInstanceOf(ChatMessageException.class);
+        assertThatThrownBy(() -> MessageCursor.decode(noSeparator)).isInstanceOf(ChatMessageException.class);
+        assertThatThrownBy(() -> MessageCursor.decode(wrongDate)).isInstanceOf(ChatMessageException.class);
+        assertThatThrownBy(() -> MessageCursor.decode(wrongId)).isInstanceOf(ChatMessageException.class);
+    }
+
+    private String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,243 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * 실제 Redis에 연결한 애플리케이션 컨텍스트 두 개(서버 두 대)로 서버 간 전파를 확인한다.
+ * REDIS_HOST, REDIS_PORT(기본값 localhost:6379)의 Redis에 연결할 수 없으면 건너뛴다.
+ */
+public class RedisChatMessageRelayIntegrationTest {
+
+    private static final String REDIS_HOST = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+    private static final int REDIS_PORT = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        Assumptions.assumeTrue(redisAvailable(), "Redis에 연결할 수 없어 건너뜁니다.");
+        nodeA = start();
+        nodeB = start();
+        awaitSubscribed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void 다른_서버의_구독자에게_전달() throws InterruptedException {
+        // given
+        String destination = destination();
+        registry(nodeB).subscribe("session-b", "sub-0", destination);
+
+        // when
+        relay(nodeA).publish(destination, Map.of("content", "안녕하세요"));
+        relay(nodeA).flush();
+
+        // then
+        Message<?> message = poll(nodeB, destination);
+        assertThat(message).isNotNull();
+        assertThat(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"content\":\"안녕하세요\"}");
+    }
+
+    @Test
+    void 발행한_서버에는_한_번만_전달() throws InterruptedException {
+        // given
+        String destination = destination();
+        registry(nodeA).subscribe("session-a", "sub-0", destination);
+        registry(nodeB).subscribe("session-b", "sub-0", destination);
+
+        // when
+        relay(nodeA).publish(destination, Map.of("content", "hi"));
+        relay(nodeA).flush();
+
+        // then: 다른 서버에 전달된 뒤에도 발행한 서버에는 바로 전달된 한 건만 남음
+        assertThat(poll(nodeB, destination)).isNotNull();
+        assertThat(poll(nodeA, destination)).isNotNull();
+        assertThat(delivered(nodeA).poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void 구독자가_없는_서버에는_전달하지_않음() throws InterruptedException {
+        // given: nodeA에만 구독자
+        String destination = destination();
+        registry(nodeA).subscribe("session-a", "sub-0", destination);
+        registry(nodeB).subscribe("session-b", "sub-0", destination);
+        registry(nodeB).unsubscribe("session-b", "sub-0");
+
+        // when: 확인용 메시지를 같은 batch로 뒤에 보내, 확인용 메시지가 먼저 도착하면 앞의 메시지는 전달되지 않은 것
+        String probe = destination();
+        registry(nodeB).subscribe("session-b", "sub-1", probe);
+        relay(nodeA).publish(destination, Map.of("content", "hi"));
+        relay(nodeA).publish(probe, Map.of("content", "probe"));
+        relay(nodeA).flush();
+
+        // then
+        Message<?> first = delivered(nodeB).poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(first).isNotNull();
+        assertThat(first.getHeaders().get("simpDestination")).isEqualTo(probe);
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(RelayNodeConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties("redis.test.host=" + REDIS_HOST, "redis.test.port=" + REDIS_PORT,
+                        "chat.relay.batch-size=100")
+                .run();
+    }
+
+    // 구독은 비동기로 등록되므로, 확인용 메시지가 상대 서버에 도착할 때까지 다시 보냄
+    private void awaitSubscribed() throws InterruptedException {
+        String probe = destination();
+        registry(nodeB).subscribe("session-probe", "sub-probe", probe);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (System.currentTimeMillis() < deadline) {
+            relay(nodeA).publish(probe, Map.of("content", "probe"));
+            relay(nodeA).flush();
+            if (poll(nodeB, probe, 200) != null) {
+                registry(nodeB).unsubscribe("session-probe", "sub-probe");
+                Thread.sleep(200);
+                delivered(nodeA).clear();
+                delivered(nodeB).clear();
+                return;
+            }
+        }
+        throw new IllegalStateException("Redis 채널 구독이 등록되지 않았습니다.");
+    }
+
+    private Message<?> poll(ConfigurableApplicationContext node, String destination) throws InterruptedException {
+        return poll(node, destination, TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+    }
+
+    // destination으로 전달된 메시지가 올 때까지 기다림 (다른 destination의 메시지는 버림)
+    private Message<?> poll(ConfigurableApplicationContext node, String destination, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining;
+        while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+            Message<?> message = delivered(node).poll(remaining, TimeUnit.MILLISECONDS);
+            if (message != null && destination.equals(message.getHeaders().get("simpDestination"))) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    private String destination() {
+        return "/topic/chat-room/" + UUID.randomUUID();
+    }
+
+    private RedisChatMessageRelay relay(ConfigurableApplicationContext node) {
+        return node.getBean(RedisChatMessageRelay.class);
+    }
+
+    private ChatSubscriptionRegistry registry(ConfigurableApplicationContext node) {
+        return node.getBean(ChatSubscriptionRegistry.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BlockingQueue<Message<?>> delivered(ConfigurableApplicationContext node) {
+        return node.getBean("delivered", BlockingQueue.class);
+    }
+
+    private static boolean redisAvailable() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(REDIS_HOST, REDIS_PORT), 500);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // 서버 한 대: 실제 Redis 연결과 구독 컨테이너, SimpleBroker 대신 전달된 메시지를 모으는 채널
+    @Configuration
+    static class RelayNodeConfig {
+
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory(@Value("${redis.test.host}") String host,
+                                                              @Value("${redis.test.port}") int port) {
+            return new LettuceConnectionFactory(host, port);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            return new StringRedisTemplate(redisConnectionFactory);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer redisMessageListenerContainer(
+                RedisConnectionFactory redisConnectionFactory) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            return container;
+        }
+
+        @Bean
+        public BlockingQueue<Message<?>> delivered() {
+            return new LinkedBlockingQueue<>();
+        }
+
+        @Bean
+        public SimpMessagingTemplate simpMessagingTemplate(BlockingQueue<Message<?>> delivered) {
+            return new SimpMessagingTemplate((message, timeout) -> delivered.offer(message));
+        }
+
+        @Bean
+        public ChatSubscriptionRegistry chatSubscriptionRegistry() {
+            return new ChatSubscriptionRegistry();
+        }
+
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        public RedisChatMessageRelay redisChatMessageRelay(StringRedisTemplate stringRedisTemplate,
+                                                           RedisMessageListenerContainer container,
+                                                           SimpMessagingTemplate simpMessagingTemplate,
+                                                           ChatSubscriptionRegistry chatSubscriptionRegistry,
+                                                           ObjectMapper objectMapper,
+                                                           @Value("${chat.relay.batch-size}") int batchSize) {
+            return new RedisChatMessageRelay(stringRedisTemplate, container, simpMessagingTemplate,
+                    chatSubscriptionRegistry, objectMapper, batchSize);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.opt.ssafy.optback.domain.chat.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * 서버 두 대(nodeA, nodeB)가 같은 Redis 채널을 구독하는 상황을 흉내 내어 서버 간 전파를 확인한다.
+ * StringRedisTemplate.convertAndSend로 발행된 내용을 두 서버의 onMessage로 그대로 넘긴다.
+ */
+public class RedisChatMessageRelayTest {
+
+    private static final String DESTINATION = "/topic/chat-room/1_2";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RedisChatMessageRelay> nodes = new ArrayList<>();
+
+    private SimpMessagingTemplate brokerA;
+    private SimpMessagingTemplate brokerB;
+    private ChatSubscriptionRegistry registryB;
+    private RedisChatMessageRelay nodeA;
+    private RedisChatMessageRelay nodeB;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            DefaultMessage message = new DefaultMessage(
+                    invocation.getArgument(0, String.class).getBytes(StandardCharsets.UTF_8),
+                    invocation.getArgument(1, String.class).getBytes(StandardCharsets.UTF_8));
+            nodes.forEach(node -> node.onMessage(message, null));
+            return 1L;
+        }).when(redis).convertAndSend(anyString(), anyString());
+
+        brokerA = mock(SimpMessagingTemplate.class);
+        brokerB = mock(SimpMessagingTemplate.class);
+        registryB = new ChatSubscriptionRegistry();
+        nodeA = node(redis, brokerA, new ChatSubscriptionRegistry());
+        nodeB = node(redis, brokerB, registryB);
+    }
+
+    @Test
+    void 다른_서버의_구독자에게_전달() {
+        // given
+        registryB.subscribe("session-b", "sub-0", DESTINATION);
+
+        // when
+        nodeA.publish(DESTINATION, Map.of("content", "안녕하세요"));
+        nodeA.flush();
+
+        // then
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(brokerB, times(1)).send(eq(DESTINATION), captor.capture());
+        String payload = new String((byte[]) captor.getValue().getPayload(), StandardCharsets.UTF_8);
+        assertThat(payload).isEqualTo("{\"content\":\"안녕하세요\"}");
+    }
+
+    @Test
+    void 발행한_서버에는_한_번만_전달() {
+        // when
+        nodeA.publish(DESTINATION, Map.of("content", "hi"));
+        nodeA.flush();
+
+        // then
+        verify(brokerA, times(1)).send(eq(DESTINATION), any(Message.class));
+    }
+
+    @Test
+    void 구독자가_없는_서버에는_전달하지_않음() {
+        // given
+        registryB.subscribe("session-b", "sub-0", DESTINATION);
+        registryB.unsubscribe("session-b", "sub-0");
+
+        // when
+        nodeA.publish(DESTINATION, Map.of("content", "hi"));
+        nodeA.flush();
+
+        // then
+        verify(brokerB, never()).send(anyString(), any(Message.class));
+    }
+
+    private RedisChatMessageRelay node(StringRedisTemplate redis, SimpMessagingTemplate broker,
+                                       ChatSubscriptionRegistry registry) {
+        RedisChatMessageRelay relay = new RedisChatMessageRelay(redis, mock(RedisMessageListenerContainer.class),
+                broker, registry, objectMapper, 100);
+        nodes.add(relay);
+        return relay;
+    }
+}
@@ -0,0 +1,181 @@
+package com.opt.ssafy.optback.domain.push.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.opt.ssafy.optback.domain.push.dto.FcmSendResult;
+import com.opt.ssafy.optback.domain.push.entity.PushNotification;
+import com.opt.ssafy.optback.domain.push.repository.FcmTokenRepository;
+import com.opt.ssafy.optback.domain.push.repository.PushNotificationRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class PushDispatcherTest {
+
+    private static final String UNREGISTERED = "{\"error\":{\"code\":404,\"status\":\"NOT_FOUND\",\"details\":"
+            + "[{\"@type\":\"type.googleapis.com/google.firebase.fcm.v1.FcmError\",\"errorCode\":\"UNREGISTERED\"}]}}";
+    private static final String INVALID_DATA = "{\"error\":{\"code\":400,\"status\":\"INVALID_ARGUMENT\",\"details\":"
+            + "[{\"@type\":\"type.googleapis.com/google.rpc.BadRequest\","
+            + "\"fieldViolations\":[{\"field\":\"message.data\"}]}]}}";
+
+    private PushNotificationRepository pushNotificationRepository;
+    private FcmClient fcmClient;
+    private FcmTokenRepository fcmTokenRepository;
+    private FcmTokenCache fcmTokenCache;
+    private PushDispatcher pushDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        pushNotificationRepository = mock(PushNotificationRepository.class);
+        fcmClient = mock(FcmClient.class);
+        fcmTokenRepository = mock(FcmTokenRepository.class);
+        fcmTokenCache = mock(FcmTokenCache.class);
+        pushDispatcher = new PushDispatcher(pushNotificationRepository, fcmClient, fcmTokenRepository, fcmTokenCache,
+                4, 10, 3, 1000, 60000, 60, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pushDispatcher.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PushNotification> savedNotifications() {
+        ArgumentCaptor<List<PushNotification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pushNotificationRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private PushNotification claimed(String id, String token) {
+        return PushNotification.builder()
+                .id(id)
+                .memberId(1)
+                .token(token)
+                .title("뱃지 획득 알림")
+                .body("새로운 뱃지를 획득하였습니다")
+                .status(PushNotification.SENDING)
+                .claimId("claim-" + id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void dispatch(PushNotification notification, FcmSendResult result) throws Exception {
+        when(pushNotificationRepository.claimDue(anyInt(), any(), any())).thenReturn(List.of(notification));
+        when(fcmClient.send(any(), any(), any(), eq(notification.getToken()))).thenReturn(result);
+        pushDispatcher.dispatch();
+    }
+
+    @Test
+    void 회원의_기기마다_알림을_한_건씩_저장() {
+        // when
+        pushDispatcher.enqueue(1, "title", "body", Map.of("badgeId", "3"), List.of("token-a", "token-b", "token-c"));
+
+        // then
+        List<PushNotification> saved = savedNotifications();
+        assertThat(saved).extracting(PushNotification::getToken).containsExactly("token-a", "token-b", "token-c");
+        assertThat(saved).extracting(PushNotification::getStatus).containsOnly(PushNotification.PENDING);
+        assertThat(saved).extracting(PushNotification::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void 기기가_없으면_저장하지_않음() {
+        // when
+        pushDispatcher.enqueue(1, "title", "body", Map.of(), List.of());
+
+        // then
+        verify(pushNotificationRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void 트랜잭션_안에서는_커밋_직전에_저장하고_롤백되면_삭제() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        pushDispatcher.enqueue(1, "title", "body", Map.of(), List.of("token-a", "token-b"));
+        verify(pushNotificationRepository, never()).saveAll(any());
+
+        // when
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // then
+        List<String> ids = savedNotifications().stream().map(PushNotification::getId).toList();
+        verify(pushNotificationRepository).deleteAllById(ids);
+    }
+
+    @Test
+    void 저장에_계속_실패하면_다시_시도한_뒤_예외를_던짐() {
+        // given
+        when(pushNotificationRepository.saveAll(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // when & then
+        assertThatThrownBy(() -> pushDispatcher.enqueue(1, "title", "body", Map.of(), List.of("token-a")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(pushNotificationRepository, times(2)).saveAll(any());
+    }
+
+    @Test
+    void 발송에_성공하면_선점한_알림만_삭제() throws Exception {
+        // when
+        dispatch(claimed("n1", "token-a"), new FcmSendResult(200, null));
+
+        // then
+        verify(pushNotificationRepository, timeout(1000)).deleteClaimed("n1", "claim-n1");
+        verify(fcmTokenRepository, never()).deleteByToken(anyString());
+    }
+
+    @Test
+    void 등록이_해제된_토큰은_토큰과_알림을_삭제() throws Exception {
+        // when
+        dispatch(claimed("n1", "token-a"), new FcmSendResult(404, UNREGISTERED));
+
+        // then
+        verify(pushNotificationRepository, timeout(1000)).deleteClaimed("n1", "claim-n1");
+        verify(fcmTokenRepository).deleteByToken("token-a");
+        verify(fcmTokenCache).evict(1);
+    }
+
+    @Test
+    void 메시지_오류는_토큰을_유지하고_실패로_남김() throws Exception {
+        // when
+        dispatch(claimed("n1", "token-a"), new FcmSendResult(400, INVALID_DATA));
+
+        // then
+        verify(pushNotificationRepository, timeout(1000)).markFailed(eq("n1"), eq("claim-n1"), eq(1), anyString());
+        verify(fcmTokenRepository, never()).deleteByToken(anyString());
+        verify(fcmTokenCache, never()).evict(anyInt());
+    }
+
+    @Test
+    void 요청_한도_초과는_다시_예약() throws Exception {
+        // when
+        dispatch(claimed("n1", "token-a"), new FcmSendResult(429, "{\"error\":{\"status\":\"RESOURCE_EXHAUSTED\"}}"));
+
+        // then
+        verify(pushNotificationRepository, timeout(1000)).reschedule(eq("n1"), eq("claim-n1"), eq(1), any(),
+                anyString());
+        verify(fcmTokenRepository, never()).deleteByToken(anyString());
+    }
+}
@@ -0,0 +1,82 @@
+package com.opt.ssafy.optback.domain.push.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.opt.ssafy.optback.domain.auth.application.UserDetailsServiceImpl;
+import com.opt.ssafy.optback.domain.member.entity.Member;
+import com.opt.ssafy.optback.domain.push.entity.FcmToken;
+import com.opt.ssafy.optback.domain.push.repository.FcmTokenRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+public class PushServiceTest {
+
+    private FcmTokenRepository fcmTokenRepository;
+    private FcmTokenCache fcmTokenCache;
+    private PushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+        when(userDetailsService.getMemberByContextHolder()).thenReturn(Member.builder().id(2).build());
+        fcmTokenRepository = mock(FcmTokenRepository.class);
+        fcmTokenCache = mock(FcmTokenCache.class);
+        pushService = new PushService(userDetailsService, fcmTokenRepository, mock(PushDispatcher.class),
+                fcmTokenCache);
+    }
+
+    private FcmToken token(int memberId, String token) {
+        return FcmToken.builder().memberId(memberId).token(token).build();
+    }
+
+    @Test
+    void 다른_회원이_등록한_토큰이면_이전_회원의_토큰을_지우고_새_회원에게_등록한다() {
+        // given: 같은 기기에서 회원 1이 로그인했었음
+        when(fcmTokenRepository.findAllByToken("token-a")).thenReturn(List.of(token(1, "token-a")));
+
+        // when
+        pushService.save("token-a");
+
+        // then
+        InOrder order = inOrder(fcmTokenRepository);
+        order.verify(fcmTokenRepository).deleteByToken("token-a");
+        ArgumentCaptor<FcmToken> saved = ArgumentCaptor.forClass(FcmToken.class);
+        order.verify(fcmTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getMemberId()).isEqualTo(2);
+        verify(fcmTokenCache).evict(1);
+        verify(fcmTokenCache).evict(2);
+    }
+
+    @Test
+    void 이미_이_회원에게만_등록된_토큰이면_저장하지_않는다() {
+        // given
+        when(fcmTokenRepository.findAllByToken("token-a")).thenReturn(List.of(token(2, "token-a")));
+
+        // when
+        pushService.save("token-a");
+
+        // then
+        verify(fcmTokenRepository, never()).deleteByToken(anyString());
+        verify(fcmTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void 토큰을_삭제하면_회원의_캐시도_제거한다() {
+        // when
+        pushService.deleteTokens(2);
+
+        // then
+        verify(fcmTokenRepository).deleteAllByMemberId(2);
+        verify(fcmTokenCache).evict(2);
+    }
+}
@@ -0,0 +1,77 @@
+package com.opt.ssafy.optback.domain.push.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class FcmSendResultTest {
+
+    private static final String FCM_ERROR = "{\"@type\":\"type.googleapis.com/google.firebase.fcm.v1.FcmError\","
+            + "\"errorCode\":\"%s\"}";
+    private static final String TOKEN_VIOLATION = "{\"@type\":\"type.googleapis.com/google.rpc.BadRequest\","
+            + "\"fieldViolations\":[{\"field\":\"%s\",\"description\":\"Invalid value\"}]}";
+
+    private FcmSendResult result(int status, String errorStatus, String message, String... details) {
+        return new FcmSendResult(status, "{\"error\":{\"code\":" + status + ",\"message\":\"" + message
+                + "\",\"status\":\"" + errorStatus + "\",\"details\":[" + String.join(",", details) + "]}}");
+    }
+
+    @Test
+    void UNREGISTERED는_무효_토큰() {
+        // given
+        FcmSendResult result = result(404, "NOT_FOUND", "Requested entity was not found.",
+                FCM_ERROR.formatted("UNREGISTERED"));
+
+        // then
+        assertThat(result.isInvalidToken()).isTrue();
+        assertThat(result.isRetryable()).isFalse();
+    }
+
+    @Test
+    void 토큰을_가리키는_INVALID_ARGUMENT는_무효_토큰() {
+        // given
+        FcmSendResult result = result(400, "INVALID_ARGUMENT", "Invalid value",
+                FCM_ERROR.formatted("INVALID_ARGUMENT"), TOKEN_VIOLATION.formatted("message.token"));
+
+        // then
+        assertThat(result.isInvalidToken()).isTrue();
+    }
+
+    @Test
+    void 상세_정보가_없으면_메시지로_토큰_오류를_판단() {
+        // given
+        FcmSendResult tokenError = result(400, "INVALID_ARGUMENT",
+                "The registration token is not a valid FCM registration token");
+        FcmSendResult messageError = result(400, "INVALID_ARGUMENT", "Invalid JSON payload received.");
+
+        // then
+        assertThat(tokenError.isInvalidToken()).isTrue();
+        assertThat(messageError.isInvalidToken()).isFalse();
+    }
+
+    @Test
+    void 메시지_내용이_잘못된_INVALID_ARGUMENT는_토큰을_유지() {
+        // given
+        FcmSendResult result = result(400, "INVALID_ARGUMENT", "Invalid value at 'message.data[0].value'",
+                FCM_ERROR.formatted("INVALID_ARGUMENT"), TOKEN_VIOLATION.formatted("message.data[0].value"));
+
+        // then
+        assertThat(result.isInvalidToken()).isFalse();
+        assertThat(result.isRetryable()).isFalse();
+    }
+
+    @Test
+    void 재시도할_수_있는_오류와_읽을_수_없는_응답은_토큰을_유지() {
+        // given
+        FcmSendResult quotaExceeded = result(429, "RESOURCE_EXHAUSTED", "Quota exceeded",
+                FCM_ERROR.formatted("QUOTA_EXCEEDED"));
+        FcmSendResult unavailable = new FcmSendResult(503, "<html>Service Unavailable</html>");
+
+        // then
+        assertThat(quotaExceeded.isInvalidToken()).isFalse();
+        assertThat(quotaExceeded.isRetryable()).isTrue();
+        assertThat(unavailable.isInvalidToken()).isFalse();
+        assertThat(unavailable.isRetryable()).isTrue();
+        assertThat(new FcmSendResult(200, null).isInvalidToken()).isFalse();
+    }
+}
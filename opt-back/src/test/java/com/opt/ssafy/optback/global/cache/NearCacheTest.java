@@ -0,0 +1,116 @@
+package com.opt.ssafy.optback.global.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+public class NearCacheTest {
+
+    private final NearCache<Integer, String> cache = new NearCache<>("테스트", 100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(int key) {
+        return key + ":" + loads.incrementAndGet();
+    }
+
+    @Test
+    void 캐시된_값은_다시_읽지_않는다() {
+        // given
+        cache.get(1, this::load);
+
+        // when
+        String value = cache.get(1, this::load);
+
+        // then
+        assertThat(value).isEqualTo("1:1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void 조회_도중_같은_key가_evict되면_읽은_값을_캐시하지_않는다() {
+        // given
+        cache.get(1, key -> {
+            cache.evictLocal(1);
+            return load(key);
+        });
+
+        // when
+        String value = cache.get(1, this::load);
+
+        // then
+        assertThat(value).isEqualTo("1:2");
+    }
+
+    @Test
+    void 조회_도중_다른_key가_evict되어도_읽은_값을_캐시한다() {
+        // given
+        cache.get(1, key -> {
+            cache.evictLocal(2);
+            return load(key);
+        });
+
+        // when
+        String value = cache.get(1, this::load);
+
+        // then
+        assertThat(value).isEqualTo("1:1");
+    }
+
+    @Test
+    void null은_캐시하지_않는다() {
+        // given
+        cache.get(1, key -> null);
+
+        // when
+        String value = cache.get(1, this::load);
+
+        // then
+        assertThat(value).isEqualTo("1:1");
+    }
+
+    @Test
+    void 값의_만료_시각이_TTL보다_이르면_그_시각까지만_사용한다() {
+        // given: 이미 만료된 값
+        cache.get(1, this::load, value -> System.currentTimeMillis() - 1);
+
+        // when
+        String value = cache.get(1, this::load);
+
+        // then
+        assertThat(value).isEqualTo("1:2");
+    }
+
+    @Test
+    void evict는_채널로_알리고_채널로_받은_key는_이_서버에서_제거한다() {
+        // given
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        NearCache<Integer, String> replicated = new NearCache<>("테스트", 100, Duration.ofMinutes(10), "test:invalidate",
+                Integer::valueOf, stringRedisTemplate, container);
+        replicated.subscribe();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), any(Topic.class));
+        replicated.get(1, this::load);
+
+        // when
+        replicated.evict(3);
+        listener.getValue().onMessage(new DefaultMessage("test:invalidate".getBytes(StandardCharsets.UTF_8),
+                "1".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        verify(stringRedisTemplate).convertAndSend("test:invalidate", "3");
+        assertThat(replicated.get(1, this::load)).isEqualTo("1:2");
+    }
+}